@@ -0,0 +1,285 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Objects.requireNonNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+
+/**
+ * AdaptiveLimiter.
+ *
+ * <p>Limits the number of requests in flight to each host (scheme and authority) and adapts that limit to the
+ * server's behaviour, additive-increase/multiplicative-decrease style:
+ * <ul>
+ * <li>while responses arrive close to the lowest round-trip time seen for the host and the limit is being used,
+ * the limit grows by about one request per round trip;</li>
+ * <li>when the round-trip time rises above {@code latencyTolerance} times that baseline (queueing on the server,
+ * compaction, GC pauses), the limit shrinks by 10%;</li>
+ * <li>when the server answers 429 or 503, or the exchange fails, the limit is halved.</li>
+ * </ul>
+ * Requests over the limit wait in a per-host FIFO queue. One limiter may be shared by several clients.
+ *
+ * @author christopher-johnson
+ */
+public final class AdaptiveLimiter {
+
+    private static final Logger log = getLogger(AdaptiveLimiter.class);
+
+    /** The default initial per-host limit. */
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+    /** The default minimum per-host limit. */
+    public static final int DEFAULT_MIN_LIMIT = 1;
+
+    /** The default maximum per-host limit. */
+    public static final int DEFAULT_MAX_LIMIT = 1000;
+
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double LATENCY_BACKOFF = 0.9;
+    private static final double DROP_BACKOFF = 0.5;
+    private static final int BASELINE_DRIFT = 100;
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final ConcurrentMap<String, HostLimit> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * Create a limiter with the default settings.
+     */
+    public AdaptiveLimiter() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+    }
+
+    /**
+     * Create a limiter.
+     *
+     * @param initialLimit the limit used for a host before any responses have been observed
+     * @param minLimit     the lowest limit the limiter may shrink to
+     * @param maxLimit     the highest limit the limiter may grow to
+     */
+    public AdaptiveLimiter(final int initialLimit, final int minLimit, final int maxLimit) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max!");
+        }
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * getHosts.
+     *
+     * @return the hosts seen so far, as {@code scheme://authority}
+     */
+    public Set<String> getHosts() {
+        return hosts.keySet();
+    }
+
+    /**
+     * getLimit.
+     *
+     * @param host a host, as {@code scheme://authority}
+     * @return the current number of requests allowed in flight
+     */
+    public int getLimit(final String host) {
+        final HostLimit h = hosts.get(host);
+        return h == null ? initialLimit : h.snapshot()[0];
+    }
+
+    /**
+     * getInFlight.
+     *
+     * @param host a host, as {@code scheme://authority}
+     * @return the number of requests currently in flight
+     */
+    public int getInFlight(final String host) {
+        final HostLimit h = hosts.get(host);
+        return h == null ? 0 : h.snapshot()[1];
+    }
+
+    /**
+     * getQueueDepth.
+     *
+     * @param host a host, as {@code scheme://authority}
+     * @return the number of requests waiting for the limit
+     */
+    public int getQueueDepth(final String host) {
+        final HostLimit h = hosts.get(host);
+        return h == null ? 0 : h.snapshot()[2];
+    }
+
+    static String hostOf(final URI uri) {
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * Acquire a permit for a request to the given URI, completing when the host has capacity. Cancelling the
+     * returned future removes the request from the queue.
+     */
+    CompletableFuture<Permit> acquire(final URI uri) {
+        return hosts.computeIfAbsent(hostOf(requireNonNull(uri, "URI may not be null!")), HostLimit::new)
+                .acquire();
+    }
+
+    /**
+     * A slot for one request. Exactly one of the release methods takes effect.
+     */
+    static final class Permit {
+
+        private final HostLimit host;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(final HostLimit host) {
+            this.host = host;
+        }
+
+        /**
+         * Release after a response.
+         *
+         * @param status   the response status
+         * @param rttNanos the round-trip time
+         */
+        void onResponse(final int status, final long rttNanos) {
+            if (released.compareAndSet(false, true)) {
+                host.release(status == 429 || status == 503, rttNanos);
+            }
+        }
+
+        /**
+         * Release after a failed exchange.
+         */
+        void onFailure() {
+            if (released.compareAndSet(false, true)) {
+                host.release(true, -1);
+            }
+        }
+
+        /**
+         * Release without adjusting the limit, e.g. when the request was cancelled.
+         */
+        void onIgnore() {
+            if (released.compareAndSet(false, true)) {
+                host.release(false, -1);
+            }
+        }
+    }
+
+    private final class HostLimit {
+
+        private final String name;
+        private final Lock lock = new ReentrantLock();
+        private final Deque<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+        private double limit = initialLimit;
+        private int inFlight;
+        private long baseline = Long.MAX_VALUE;
+
+        private HostLimit(final String name) {
+            this.name = name;
+        }
+
+        private int[] snapshot() {
+            lock.lock();
+            try {
+                return new int[] {(int) limit, inFlight, waiters.size()};
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private CompletableFuture<Permit> acquire() {
+            final CompletableFuture<Permit> waiter;
+            lock.lock();
+            try {
+                if (inFlight < (int) limit && waiters.isEmpty()) {
+                    inFlight++;
+                    return CompletableFuture.completedFuture(new Permit(this));
+                }
+                waiter = new CompletableFuture<>();
+                waiters.add(waiter);
+            } finally {
+                lock.unlock();
+            }
+            waiter.whenComplete((permit, ex) -> {
+                if (waiter.isCancelled()) {
+                    lock.lock();
+                    try {
+                        waiters.remove(waiter);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            });
+            return waiter;
+        }
+
+        private void release(final boolean dropped, final long rttNanos) {
+            final List<CompletableFuture<Permit>> granted = new ArrayList<>();
+            lock.lock();
+            try {
+                final boolean saturated = inFlight * 2 >= (int) limit;
+                inFlight--;
+                final double previous = limit;
+                if (dropped) {
+                    limit = Math.max(minLimit, limit * DROP_BACKOFF);
+                } else if (rttNanos >= 0) {
+                    if (rttNanos < baseline) {
+                        baseline = rttNanos;
+                    } else {
+                        baseline += (rttNanos - baseline) / BASELINE_DRIFT;
+                    }
+                    if (rttNanos > baseline * LATENCY_TOLERANCE) {
+                        limit = Math.max(minLimit, limit * LATENCY_BACKOFF);
+                    } else if (saturated) {
+                        limit = Math.min(maxLimit, limit + 1.0 / limit);
+                    }
+                }
+                if ((int) previous != (int) limit) {
+                    log.debug("Concurrency limit for {} is now {}", name, (int) limit);
+                }
+                while (inFlight < (int) limit && !waiters.isEmpty()) {
+                    final CompletableFuture<Permit> waiter = waiters.poll();
+                    if (!waiter.isDone()) {
+                        inFlight++;
+                        granted.add(waiter);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (final CompletableFuture<Permit> waiter : granted) {
+                final Permit permit = new Permit(this);
+                if (!waiter.complete(permit)) {
+                    permit.onIgnore();
+                }
+            }
+        }
+    }
+}
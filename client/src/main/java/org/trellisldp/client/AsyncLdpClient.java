@@ -0,0 +1,768 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+
+import org.apache.commons.rdf.api.IRI;
+
+/**
+ * AsyncLdpClient.
+ *
+ * <p>Non-blocking counterpart of {@link LdpClient}. Every operation returns immediately with a
+ * {@link CompletableFuture}; no thread is held while a request is in flight. Failures complete the
+ * future exceptionally with an {@link LdpClientException}. Cancelling a returned future aborts its request and
+ * releases any permits it holds.
+ *
+ * @author christopher-johnson
+ */
+public interface AsyncLdpClient extends AutoCloseable {
+
+    /**
+     * closeAsync.
+     *
+     * <p>Stops admitting requests, then waits up to {@code drainTimeout} for those in flight before cancelling
+     * any that remain and shutting down the threads and connections owned by this client. Requests made after
+     * closing fail with an {@link LdpClientRejectedException}. Calling it again returns the same future.
+     *
+     * @param drainTimeout how long to wait for requests in flight before cancelling them
+     * @return a future that completes when the client has shut down
+     */
+    CompletableFuture<Void> closeAsync(Duration drainTimeout);
+
+    /**
+     * close.
+     *
+     * <p>Closes the client as {@link #closeAsync} does with a 30 second drain timeout, and waits for it.
+     */
+    @Override
+    void close();
+
+    /**
+     * withTimeout.
+     *
+     * <p>Returns a view of this client in which every operation must complete within {@code timeout}, from the
+     * call until the response has been read, including any time spent waiting for admission. An operation that
+     * misses its deadline is cancelled and fails with an {@link LdpClientTimeoutException}. The view shares this
+     * client's connections and lifecycle, so closing either closes both.
+     *
+     * @param timeout the deadline of each operation
+     * @return a client applying the deadline
+     */
+    AsyncLdpClient withTimeout(Duration timeout);
+
+    /**
+     * batch.
+     *
+     * <p>Opens a {@link BatchScope} whose tasks succeed or fail together: the first failure cancels every other
+     * request of the scope. A scope opened from a scope's client is nested in it and fails with it.
+     *
+     * @param <T> the result type of the tasks
+     * @return a new scope
+     */
+    <T> BatchScope<T> batch();
+
+    /**
+     * batch.
+     *
+     * <p>Opens a {@link BatchScope} as {@link #batch()} does, which also fails with an
+     * {@link LdpClientTimeoutException} if it is still running when {@code deadline} has passed.
+     *
+     * @param <T>      the result type of the tasks
+     * @param deadline the time allowed for the whole batch
+     * @return a new scope
+     */
+    <T> BatchScope<T> batch(Duration deadline);
+
+    /**
+     * head.
+     *
+     * @param identifier a resource identifier
+     * @return a future of the headers as a {@link Map}
+     */
+    CompletableFuture<Map<String, List<String>>> head(final IRI identifier);
+
+    /**
+     * getJson.
+     *
+     * @param identifier a resource identifier
+     * @return a future of the body as a {@link String}
+     */
+    CompletableFuture<String> getJson(final IRI identifier);
+
+    /**
+     * getDefaultType.
+     *
+     * @param identifier a resource identifier
+     * @return a future of the body as a {@link String}
+     */
+    CompletableFuture<String> getDefaultType(final IRI identifier);
+
+    /**
+     * getWithContentType.
+     *
+     * @param identifier  a resource identifier
+     * @param contentType a content type (text/turtle, application/n-triples or application/ld+json)
+     * @return a future of the body as a {@link String}
+     */
+    CompletableFuture<String> getWithContentType(final IRI identifier, final String contentType);
+
+    /**
+     * getAcceptDatetime.
+     *
+     * @param identifier a resource identifier
+     * @param timestamp  an epoch millisecond
+     * @return a future of the headers as a {@link Map}
+     */
+    CompletableFuture<Map<String, List<String>>> getAcceptDatetime(final IRI identifier, String timestamp);
+
+    /**
+     * getTimeMapLinkDefaultFormat.
+     *
+     * @param identifier a resource identifier
+     * @return a future of the body as a {@link String}
+     */
+    CompletableFuture<String> getTimeMapLinkDefaultFormat(IRI identifier);
+
+    /**
+     * getTimeMapJsonProfile.
+     *
+     * @param identifier a resource identifier
+     * @param profile    a JSON-LD profile
+     * @return a future of the body as a {@link String}
+     * @see <a href="https://www.w3.org/ns/json-ld">The JSON-LD Vocabulary</a>
+     */
+    CompletableFuture<String> getTimeMapJsonProfile(IRI identifier, String profile);
+
+    /**
+     * getVersionJson.
+     *
+     * @param identifier a resource identifier
+     * @param profile    a JSON-LD profile
+     * @param timestamp  an epoch millisecond
+     * @return a future of the body as a {@link String}
+     * @see <a href="https://www.w3.org/ns/json-ld">The JSON-LD Vocabulary</a>
+     */
+    CompletableFuture<String> getVersionJson(IRI identifier, String profile, String timestamp);
+
+    /**
+     * getBinary.
+     *
+     * @param identifier a resource identifier
+     * @param file       an output file as an {@link Path}
+     * @return a future of the body as a {@link Path}
+     */
+    CompletableFuture<Path> getBinary(IRI identifier, Path file);
+
+    /**
+     * getBinary.
+     *
+     * <p>The whole body is held in memory; one longer than {@link LdpClientBuilder#maxBinarySize(long)} is
+     * refused. Use {@link #getBinaryStream(IRI)} for large binaries.
+     *
+     * @param identifier a resource identifier
+     * @return a future of the body as a byte[]
+     */
+    CompletableFuture<byte[]> getBinary(IRI identifier);
+
+    /**
+     * getBinaryStream.
+     *
+     * <p>The body is read from the network as the stream is read, so it is never held in memory and a slow reader
+     * slows the transfer down. The stream must be closed to release its connection.
+     *
+     * @param identifier a resource identifier
+     * @return a future of the body as an {@link InputStream}, completed when the response headers arrive
+     */
+    CompletableFuture<InputStream> getBinaryStream(IRI identifier);
+
+    /**
+     * getBinaryChannel.
+     *
+     * <p>Reads the body as {@link #getBinaryStream(IRI)} does. The channel must be closed to release its
+     * connection.
+     *
+     * @param identifier a resource identifier
+     * @return a future of the body as a {@link ReadableByteChannel}, completed when the response headers arrive
+     */
+    CompletableFuture<ReadableByteChannel> getBinaryChannel(IRI identifier);
+
+    /**
+     * getBinaryDigest.
+     *
+     * @param identifier a resource identifier
+     * @param algorithm  a digest algorithm (md5, sha, sha-256 or sha-512)
+     * @return a future of the digest as a {@link String}
+     */
+    CompletableFuture<String> getBinaryDigest(IRI identifier, String algorithm);
+
+    /**
+     * getBinaryVersion.
+     *
+     * @param identifier a resource identifier
+     * @param file       an output file as an {@link Path}
+     * @param timestamp  an epoch millisecond
+     * @return a future of the body as a {@link Path}
+     */
+    CompletableFuture<Path> getBinaryVersion(IRI identifier, Path file, String timestamp);
+
+    /**
+     * getBinaryVersion.
+     *
+     * <p>The whole body is held in memory; one longer than {@link LdpClientBuilder#maxBinarySize(long)} is
+     * refused. Use {@link #getBinaryVersionStream(IRI, String)} for large binaries.
+     *
+     * @param identifier a resource identifier
+     * @param timestamp  an epoch millisecond
+     * @return a future of the body as a byte[]
+     */
+    CompletableFuture<byte[]> getBinaryVersion(IRI identifier, String timestamp);
+
+    /**
+     * getBinaryVersionStream.
+     *
+     * <p>Reads the body as {@link #getBinaryStream(IRI)} does. The stream must be closed to release its
+     * connection.
+     *
+     * @param identifier a resource identifier
+     * @param timestamp  an epoch millisecond
+     * @return a future of the body as an {@link InputStream}, completed when the response headers arrive
+     */
+    CompletableFuture<InputStream> getBinaryVersionStream(IRI identifier, String timestamp);
+
+    /**
+     * getBinaryVersionChannel.
+     *
+     * <p>Reads the body as {@link #getBinaryStream(IRI)} does. The channel must be closed to release its
+     * connection.
+     *
+     * @param identifier a resource identifier
+     * @param timestamp  an epoch millisecond
+     * @return a future of the body as a {@link ReadableByteChannel}, completed when the response headers arrive
+     */
+    CompletableFuture<ReadableByteChannel> getBinaryVersionChannel(IRI identifier, String timestamp);
+
+    /**
+     * getRange.
+     *
+     * @param identifier a resource identifier
+     * @param byterange  a byterange
+     * @return a future of the body as a byte[]
+     */
+    CompletableFuture<byte[]> getRange(final IRI identifier, String byterange);
+
+    /**
+     * getPrefer.
+     *
+     * @param identifier a resource identifier
+     * @param prefer     an LDP preference
+     * @return a future of the body as a {@link String}
+     * @see <a href="https://www.w3.org/TR/ldp/#prefer-parameters">7.2 Preferences on the Prefer
+     * Request Header</a>
+     */
+    CompletableFuture<String> getPrefer(final IRI identifier, String prefer);
+
+    /**
+     * getPreferMinimal.
+     *
+     * @param identifier a resource identifier
+     * @return a future of the body as a {@link String}
+     */
+    CompletableFuture<String> getPreferMinimal(IRI identifier);
+
+    /**
+     * getJsonProfile.
+     *
+     * @param identifier a resource identifier
+     * @param profile    a JSON-LD profile
+     * @return a future of the body as a {@link String}
+     * @see <a href="https://www.w3.org/ns/json-ld">The JSON-LD Vocabulary</a>
+     */
+    CompletableFuture<String> getJsonProfile(IRI identifier, String profile);
+
+    /**
+     * getJsonProfileLDF.
+     *
+     * @param identifier a resource identifier
+     * @param profile    a JSON-LD profile
+     * @param subject    RdfTerm as a {@link String}
+     * @param predicate  RdfTerm as a {@link String}
+     * @param object     RdfTerm as a {@link String}
+     * @return a future of the body as a {@link String}
+     * @see <a href="https://www.w3.org/ns/json-ld">The JSON-LD Vocabulary</a>
+     */
+    CompletableFuture<String> getJsonProfileLDF(IRI identifier, String profile, String subject, String predicate,
+            String object);
+
+    /**
+     * getJsonLDF.
+     *
+     * @param identifier a resource identifier
+     * @param subject    RdfTerm as a {@link String}
+     * @param predicate  RdfTerm as a {@link String}
+     * @param object     RdfTerm as a {@link String}
+     * @return a future of the body as a {@link String}
+     */
+    CompletableFuture<String> getJsonLDF(IRI identifier, String subject, String predicate, String object);
+
+    /**
+     * getAcl.
+     *
+     * @param identifier  a resource identifier
+     * @param contentType a content type as {@link String}
+     * @return a future of the body as a {@link String}
+     */
+    CompletableFuture<String> getAcl(IRI identifier, String contentType);
+
+    /**
+     * getCORS.
+     *
+     * @param identifier a resource identifier
+     * @param origin     a root resource identifier
+     * @return a future of the headers as a {@link Map}
+     */
+    CompletableFuture<Map<String, List<String>>> getCORS(final IRI identifier, final IRI origin);
+
+    /**
+     * getCORSSimple.
+     *
+     * @param identifier a resource identifier
+     * @param origin     a root resource identifier
+     * @return a future of the headers as a {@link Map}
+     */
+    CompletableFuture<Map<String, List<String>>> getCORSSimple(final IRI identifier, final IRI origin);
+
+    /**
+     * getWithMetadata.
+     *
+     * @param identifier a resource identifier
+     * @param metadata   a {@link Map} of headers
+     * @return a future of the body as a {@link String}
+     */
+    CompletableFuture<String> getWithMetadata(IRI identifier, Map<String, String> metadata);
+
+    /**
+     * getBytesWithMetadata.
+     *
+     * @param identifier a resource identifier
+     * @param metadata   a {@link Map} of headers
+     * @return a future of the body as a byte[]
+     */
+    CompletableFuture<byte[]> getBytesWithMetadata(IRI identifier, Map<String, String> metadata);
+
+    /**
+     * getResponse.
+     *
+     * @param identifier identifier
+     * @return a future of the {@link HttpResponse}
+     */
+    CompletableFuture<HttpResponse<String>> getResponse(final IRI identifier);
+
+    /**
+     * getResponseWithHeaders.
+     *
+     * @param identifier a resource identifier
+     * @param metadata   a {@link Map} of headers
+     * @return a future of the body and headers as a {@link Map}
+     */
+    CompletableFuture<Map<String, Map<String, List<String>>>> getResponseWithHeaders(final IRI identifier,
+            final Map<String, String> metadata);
+
+    /**
+     * options.
+     *
+     * @param identifier a resource identifier
+     * @return a future of the headers as a {@link Map}
+     */
+    CompletableFuture<Map<String, List<String>>> options(final IRI identifier);
+
+    /**
+     * initUpgrade.
+     * H2c writes require a "preflight" options to upgrade the 1.1 connection before streams can be read.
+     * Use {@link #warmUp} to prepare connections to several hosts at once.
+     *
+     * @param identifier a resource identifier
+     * @return a future that completes when the upgrade request has finished
+     */
+    CompletableFuture<Void> initUpgrade(final IRI identifier);
+
+    /**
+     * warmUp.
+     *
+     * <p>Opens and validates connections to each host before traffic arrives, so that the first real requests do
+     * not pay for TCP, TLS and protocol negotiation. Each host is sent {@code connectionsPerHost} {@code OPTIONS}
+     * requests: the first alone, which performs the full TLS handshake or h2c upgrade, then the rest concurrently,
+     * which open further HTTP/1.1 connections beside the first and resume its TLS session. Warm-up requests pass
+     * through the same interceptors, admission gates and routes as any other request. With a load balancer, pass
+     * its nodes rather than its logical base URL. Unless {@code connectionsPerHost} is below one the returned
+     * future completes normally; failures are reported in the result.
+     *
+     * @param hosts              the URLs to send warm-up requests to
+     * @param connectionsPerHost the number of warm-up requests per host
+     * @return a future of the outcome per host and the time taken
+     */
+    CompletableFuture<WarmUpResult> warmUp(Collection<URI> hosts, int connectionsPerHost);
+
+    /**
+     * post.
+     *
+     * @param identifier  a resource identifier
+     * @param stream      an {@link InputStream}
+     * @param contentType a content type
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> post(final IRI identifier, final InputStream stream, final String contentType);
+
+    /**
+     * postWithMetadata.
+     *
+     * @param identifier a resource identifier
+     * @param stream     an {@link InputStream}
+     * @param metadata   a {@link Map} of headers
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> postWithMetadata(final IRI identifier, final InputStream stream,
+            final Map<String, String> metadata);
+
+    /**
+     * postWithAuth.
+     *
+     * @param identifier    a resource identifier
+     * @param stream        an {@link InputStream}
+     * @param contentType   a content type
+     * @param authorization an authorization token
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> postWithAuth(final IRI identifier, final InputStream stream, final String contentType,
+            final String authorization);
+
+    /**
+     * postSlug.
+     *
+     * @param identifier  a resource identifier
+     * @param slug        a resource name as a {@link String}
+     * @param stream      an {@link InputStream}
+     * @param contentType a content type
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> postSlug(final IRI identifier, final String slug, final InputStream stream,
+            final String contentType);
+
+    /**
+     * postBinaryWithDigest.
+     *
+     * @param identifier  a resource identifier
+     * @param stream      an {@link InputStream}
+     * @param contentType a content type
+     * @param digest      a digest as a {@link String}
+     * @return a future that completes when the request has finished
+     * @see <a href="https://tools.ietf.org/html/rfc3230#page-9">rfc3230 4.3.2 Digest</a>
+     */
+    CompletableFuture<Void> postBinaryWithDigest(final IRI identifier, final InputStream stream,
+            final String contentType, String digest);
+
+    /**
+     * createBasicContainer.
+     *
+     * @param identifier a resource identifier
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> createBasicContainer(final IRI identifier);
+
+    /**
+     * createDirectContainer.
+     *
+     * @param identifier    a resource identifier
+     * @param slug          a resource name as a {@link String}
+     * @param membershipObj a membership Object identifier
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> createDirectContainer(final IRI identifier, final String slug, IRI membershipObj);
+
+    /**
+     * createDirectContainerWithAuth.
+     *
+     * @param identifier    a resource identifier
+     * @param slug          a resource name as a {@link String}
+     * @param membershipObj a membership Object identifier
+     * @param authorization an authorization token
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> createDirectContainerWithAuth(final IRI identifier, final String slug,
+            IRI membershipObj, String authorization);
+
+    /**
+     * put.
+     *
+     * @param identifier  a resource identifier
+     * @param stream      an {@link InputStream}
+     * @param contentType a content type
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> put(final IRI identifier, final InputStream stream, final String contentType);
+
+    /**
+     * putSupplier.
+     *
+     * @param identifier              a resource identifier
+     * @param fileInputStreamSupplier an {@link Supplier}
+     * @param contentType             a content type
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> putSupplier(final IRI identifier, Supplier<FileInputStream> fileInputStreamSupplier,
+            final String contentType);
+
+    /**
+     * putWithResponse.
+     *
+     * @param identifier  a resource identifier
+     * @param stream      an {@link InputStream}
+     * @param contentType a content type
+     * @return a future of the status as a {@link Boolean}
+     */
+    CompletableFuture<Boolean> putWithResponse(final IRI identifier, final InputStream stream,
+            final String contentType);
+
+    /**
+     * putWithMetadata.
+     *
+     * @param identifier a resource identifier
+     * @param stream     an {@link InputStream}
+     * @param metadata   a {@link Map} of headers
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> putWithMetadata(final IRI identifier, final InputStream stream,
+            final Map<String, String> metadata);
+
+    /**
+     * putWithAuth.
+     *
+     * @param identifier    a resource identifier
+     * @param stream        an {@link InputStream}
+     * @param contentType   a content Type as a {@link String}
+     * @param authorization an authorization token
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> putWithAuth(final IRI identifier, final InputStream stream, final String contentType,
+            final String authorization);
+
+    /**
+     * putIfMatch.
+     *
+     * @param identifier  a resource identifier
+     * @param stream      an {@link InputStream}
+     * @param contentType a content type
+     * @param etag        a strong Etag as a {@link String}
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> putIfMatch(final IRI identifier, final InputStream stream, final String contentType,
+            String etag);
+
+    /**
+     * putBinaryWithDigest.
+     *
+     * @param identifier  a resource identifier
+     * @param stream      an {@link InputStream}
+     * @param contentType a content type
+     * @param digest      a digest as a {@link String}
+     * @return a future that completes when the request has finished
+     * @see <a href="https://tools.ietf.org/html/rfc3230#page-9">rfc3230 4.3.2 Digest</a>
+     */
+    CompletableFuture<Void> putBinaryWithDigest(final IRI identifier, final InputStream stream,
+            final String contentType, String digest);
+
+    /**
+     * putIfUnmodified.
+     *
+     * @param identifier  a resource identifier
+     * @param stream      an {@link InputStream}
+     * @param contentType a content type
+     * @param time        an RFC_1123_DATE_TIME as an {@link String}
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> putIfUnmodified(final IRI identifier, final InputStream stream,
+            final String contentType, final String time);
+
+    /**
+     * delete.
+     *
+     * @param identifier a resource identifier
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> delete(final IRI identifier);
+
+    /**
+     * patch.
+     *
+     * @param identifier a resource identifier
+     * @param stream     an {@link InputStream}
+     * @return a future that completes when the request has finished
+     */
+    CompletableFuture<Void> patch(final IRI identifier, final InputStream stream);
+
+    /**
+     * headResource.
+     *
+     * @param identifier a resource identifier
+     * @param headers    request headers, such as {@code Accept-Datetime}
+     * @return a future completed with the response, whatever its status
+     */
+    CompletableFuture<LdpResponse<Void>> headResource(final IRI identifier, final Map<String, String> headers);
+
+    /**
+     * getResource.
+     *
+     * <p>The body is decoded, in the charset of the response, only when it is first read. One longer than
+     * {@link LdpClientBuilder#maxBinarySize(long)} is refused.
+     *
+     * @param identifier a resource identifier
+     * @param headers    request headers, such as {@code Accept} or {@code Prefer}
+     * @return a future completed with the response, whatever its status
+     */
+    CompletableFuture<LdpResponse<String>> getResource(final IRI identifier, final Map<String, String> headers);
+
+    /**
+     * getResource.
+     *
+     * <p>The body is read by {@code handler}, such as one of {@link LdpBodyHandlers}, so that it can be parsed
+     * from the buffers the client received. The request is never hedged, since the handler may have side effects.
+     *
+     * @param identifier a resource identifier
+     * @param headers    request headers, such as {@code Accept} or {@code Prefer}
+     * @param handler    a handler for the response body
+     * @param <T>        the type of the body
+     * @return a future completed with the response, whatever its status
+     */
+    <T> CompletableFuture<LdpResponse<T>> getResource(final IRI identifier, final Map<String, String> headers,
+            final HttpResponse.BodyHandler<T> handler);
+
+    /**
+     * postResource.
+     *
+     * <p>The response carries the status, {@code ETag} and {@code Location} of the new resource, so no follow-up
+     * request is needed to find them; its body is discarded.
+     *
+     * @param identifier a container identifier
+     * @param stream     an {@link InputStream}
+     * @param headers    request headers, including {@code Content-Type}
+     * @return a future completed with the response, whatever its status
+     */
+    CompletableFuture<LdpResponse<Void>> postResource(final IRI identifier, final InputStream stream,
+            final Map<String, String> headers);
+
+    /**
+     * putResource.
+     *
+     * <p>The response carries the status and {@code ETag} of the resource; its body is discarded.
+     *
+     * @param identifier a resource identifier
+     * @param stream     an {@link InputStream}
+     * @param headers    request headers, including {@code Content-Type}
+     * @return a future completed with the response, whatever its status
+     */
+    CompletableFuture<LdpResponse<Void>> putResource(final IRI identifier, final InputStream stream,
+            final Map<String, String> headers);
+
+    /**
+     * patchResource.
+     *
+     * <p>The response carries the status and {@code ETag} of the resource; its body is discarded.
+     *
+     * @param identifier a resource identifier
+     * @param stream     an {@link InputStream}
+     * @param headers    request headers, including {@code Content-Type}
+     * @return a future completed with the response, whatever its status
+     */
+    CompletableFuture<LdpResponse<Void>> patchResource(final IRI identifier, final InputStream stream,
+            final Map<String, String> headers);
+
+    /**
+     * deleteResource.
+     *
+     * @param identifier a resource identifier
+     * @param headers    request headers, such as {@code If-Match}
+     * @return a future completed with the response, whatever its status
+     */
+    CompletableFuture<LdpResponse<Void>> deleteResource(final IRI identifier, final Map<String, String> headers);
+
+    /**
+     * exists.
+     *
+     * @param identifier a resource identifier
+     * @return a future completed with true if the resource exists, false if the server answers 404 or 410, or
+     *     failed if it answers anything else
+     */
+    CompletableFuture<Boolean> exists(final IRI identifier);
+
+    /**
+     * bulkPut.
+     *
+     * <p>Writes every entry with at most {@code maxInFlight} requests outstanding. Each body supplier is only
+     * invoked when its request is dispatched, so streams need not be opened up front. The returned future
+     * always completes normally; per-resource failures are reported in the results.
+     *
+     * @param bodies      a Map of URI keys with body suppliers
+     * @param contentType a content type
+     * @param maxInFlight the maximum number of concurrent requests
+     * @param listener    a {@link BulkWriteListener} notified as each write finishes
+     * @return a future of the results, in the iteration order of {@code bodies}
+     */
+    CompletableFuture<List<BulkWriteResult>> bulkPut(Map<URI, ? extends Supplier<? extends InputStream>> bodies,
+            String contentType, int maxInFlight, BulkWriteListener listener);
+
+    /**
+     * bulkPut.
+     *
+     * <p>Writes every entry as {@link #bulkPut(Map, String, int, BulkWriteListener)} does, within an overall
+     * deadline. Each request is given the time left in the batch as its own timeout, so requests in flight when
+     * the deadline passes fail with an {@link LdpClientTimeoutException}, and entries not yet sent are reported
+     * as timed out without being sent.
+     *
+     * @param bodies      a Map of URI keys with body suppliers
+     * @param contentType a content type
+     * @param maxInFlight the maximum number of concurrent requests
+     * @param listener    a {@link BulkWriteListener} notified as each write finishes
+     * @param deadline    the time allowed for the whole batch
+     * @return a future of the results, in the iteration order of {@code bodies}
+     */
+    CompletableFuture<List<BulkWriteResult>> bulkPut(Map<URI, ? extends Supplier<? extends InputStream>> bodies,
+            String contentType, int maxInFlight, BulkWriteListener listener, Duration deadline);
+
+    /**
+     * bulkWrite.
+     *
+     * <p>Streams write commands to the server. A command is requested from {@code commands} only while fewer than
+     * {@code maxInFlight} requests are outstanding and the subscriber has demand for its result, so producers are
+     * slowed down when the server or the consumer falls behind. Each subscription to {@code commands} is made when
+     * the returned publisher is subscribed to, and the returned publisher accepts a single subscriber.
+     *
+     * @param commands    a {@link Flow.Publisher} of {@link WriteCommand}s
+     * @param maxInFlight the maximum number of concurrent requests
+     * @return a {@link Flow.Publisher} of results, in completion order
+     */
+    Flow.Publisher<BulkWriteResult> bulkWrite(Flow.Publisher<? extends WriteCommand> commands, int maxInFlight);
+}
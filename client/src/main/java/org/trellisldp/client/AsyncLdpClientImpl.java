@@ -0,0 +1,1431 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpRequest.BodyPublishers.noBody;
+import static java.net.http.HttpRequest.BodyPublishers.ofInputStream;
+import static java.net.http.HttpRequest.BodyPublishers.ofString;
+import static java.net.http.HttpResponse.BodyHandlers.discarding;
+import static java.net.http.HttpResponse.BodyHandlers.ofFile;
+import static java.net.http.HttpResponse.BodyHandlers.ofString;
+import static java.time.Instant.ofEpochMilli;
+import static java.time.ZoneOffset.UTC;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.ws.rs.core.HttpHeaders.ACCEPT;
+import static javax.ws.rs.core.HttpHeaders.AUTHORIZATION;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static javax.ws.rs.core.HttpHeaders.ETAG;
+import static javax.ws.rs.core.HttpHeaders.LINK;
+import static javax.ws.rs.core.HttpHeaders.LOCATION;
+import static org.apache.jena.arq.riot.WebContent.contentTypeJSONLD;
+import static org.apache.jena.arq.riot.WebContent.contentTypeNQuads;
+import static org.apache.jena.arq.riot.WebContent.contentTypeNTriples;
+import static org.apache.jena.arq.riot.WebContent.contentTypeRDFXML;
+import static org.apache.jena.arq.riot.WebContent.contentTypeSPARQLUpdate;
+import static org.apache.jena.arq.riot.WebContent.contentTypeTurtle;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.trellisldp.client.OperationClass.BINARY;
+import static org.trellisldp.client.OperationClass.READ;
+import static org.trellisldp.client.OperationClass.WRITE;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.commons.rdf.api.IRI;
+import org.slf4j.Logger;
+import org.trellisldp.vocabulary.DC;
+import org.trellisldp.vocabulary.LDP;
+
+/**
+ * AsyncLdpClientImpl.
+ *
+ * @author christopher-johnson
+ */
+public class AsyncLdpClientImpl implements AsyncLdpClient {
+
+    private static final Logger log = getLogger(AsyncLdpClientImpl.class);
+    static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(10);
+    private static final LdpClientRejectedException CLOSED = new LdpClientRejectedException("Client is closed");
+    private static final LdpClientRejectedException SCOPE_DONE = new LdpClientRejectedException(
+            "Batch scope is done");
+    private static final Set<String> HEDGEABLE = Set.of("GET", "HEAD");
+    private static final Set<String> RDF_TYPES = Set.of(contentTypeTurtle, contentTypeNTriples, contentTypeJSONLD,
+            contentTypeSPARQLUpdate, contentTypeRDFXML, contentTypeNQuads);
+    private final HttpClient client;
+    private final AdaptiveLimiter limiter;
+    private final RateLimiter rateLimiter;
+    private final HedgingPolicy hedging;
+    private final ReadCoalescer coalescer;
+    private final PriorityLanes lanes;
+    private final Lane lane;
+    private final Duration timeout;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker breaker;
+    private final LoadBalancer balancer;
+    private final BinaryRoute binaryRoute;
+    private final long maxBinarySize;
+    private final ProtocolTracker protocols;
+    private final Interceptor[] interceptors;
+    private final ExecutorService ownedExecutor;
+    private final boolean ownsClient;
+    private final Set<CompletableFuture<?>> inFlight;
+    private final AtomicBoolean closed;
+    private final CompletableFuture<Void> terminated;
+    private final BatchScope<?> scope;
+
+    /**
+     * AsyncLdpClientImpl.
+     *
+     * @param client an {@link HttpClient}, which is left open when this client closes
+     */
+    public AsyncLdpClientImpl(final HttpClient client) {
+        this(client, null, null, null, null, null, null, null, null, null, null, null, Long.MAX_VALUE, null, List.of(),
+                null, false);
+    }
+
+    /**
+     * AsyncLdpClientImpl.
+     *
+     * @param client        an {@link HttpClient}
+     * @param limiter       an {@link AdaptiveLimiter}, or null for no concurrency limit
+     * @param rateLimiter   a {@link RateLimiter}, or null for no request budget
+     * @param hedging       a {@link HedgingPolicy}, or null to never hedge reads
+     * @param coalescer     a {@link ReadCoalescer}, or null to send every read
+     * @param lanes         {@link PriorityLanes}, or null to admit requests without priority
+     * @param lane          the {@link Lane} for every request, or null to choose one by {@link OperationClass}
+     * @param timeout       the deadline of every request, or null for none
+     * @param retryPolicy   a {@link RetryPolicy}, or null to send every request once
+     * @param breaker       a {@link CircuitBreaker}, or null to always send requests
+     * @param balancer      a {@link LoadBalancer}, or null to send requests to the host each identifier names
+     * @param binaryRoute   a {@link BinaryRoute} closed with this client, or null to send binary transfers with
+     *                      {@code client}
+     * @param maxBinarySize the longest binary body read into a byte array
+     * @param protocols     a {@link ProtocolTracker}, or null to leave protocol negotiation to the HTTP client
+     * @param interceptors  the {@link Interceptor}s every request passes through, in order
+     * @param executor      the executor created for this client and shut down when it closes, or null
+     * @param ownsClient    whether {@code client} was created for this client and is closed with it
+     */
+    AsyncLdpClientImpl(final HttpClient client, final AdaptiveLimiter limiter, final RateLimiter rateLimiter,
+            final HedgingPolicy hedging, final ReadCoalescer coalescer, final PriorityLanes lanes, final Lane lane,
+            final Duration timeout, final RetryPolicy retryPolicy, final CircuitBreaker breaker,
+            final LoadBalancer balancer, final BinaryRoute binaryRoute, final long maxBinarySize,
+            final ProtocolTracker protocols, final List<Interceptor> interceptors, final ExecutorService executor,
+            final boolean ownsClient) {
+        this.client = requireNonNull(client, "HTTP client may not be null!");
+        this.limiter = limiter;
+        this.rateLimiter = rateLimiter;
+        this.hedging = hedging;
+        this.coalescer = coalescer;
+        this.lanes = lanes;
+        this.lane = lane;
+        this.timeout = timeout;
+        this.retryPolicy = retryPolicy;
+        this.breaker = breaker;
+        this.balancer = balancer;
+        this.binaryRoute = binaryRoute;
+        this.maxBinarySize = maxBinarySize;
+        this.protocols = protocols;
+        this.interceptors = interceptors.toArray(new Interceptor[0]);
+        this.ownedExecutor = executor;
+        this.ownsClient = ownsClient;
+        this.inFlight = ConcurrentHashMap.newKeySet();
+        this.closed = new AtomicBoolean();
+        this.terminated = new CompletableFuture<>();
+        this.scope = null;
+    }
+
+    /**
+     * A view of {@code parent} with another deadline, whose requests belong to {@code scope}, sharing its
+     * connections, gates and lifecycle.
+     */
+    private AsyncLdpClientImpl(final AsyncLdpClientImpl parent, final Duration timeout, final BatchScope<?> scope) {
+        this.client = parent.client;
+        this.limiter = parent.limiter;
+        this.rateLimiter = parent.rateLimiter;
+        this.hedging = parent.hedging;
+        this.coalescer = parent.coalescer;
+        this.lanes = parent.lanes;
+        this.lane = parent.lane;
+        this.timeout = timeout;
+        this.retryPolicy = parent.retryPolicy;
+        this.breaker = parent.breaker;
+        this.balancer = parent.balancer;
+        this.binaryRoute = parent.binaryRoute;
+        this.maxBinarySize = parent.maxBinarySize;
+        this.protocols = parent.protocols;
+        this.interceptors = parent.interceptors;
+        this.ownedExecutor = parent.ownedExecutor;
+        this.ownsClient = parent.ownsClient;
+        this.inFlight = parent.inFlight;
+        this.closed = parent.closed;
+        this.terminated = parent.terminated;
+        this.scope = scope;
+    }
+
+    @Override
+    public AsyncLdpClientImpl withTimeout(final Duration timeout) {
+        return new AsyncLdpClientImpl(this, positive(timeout), scope);
+    }
+
+    @Override
+    public <T> BatchScope<T> batch() {
+        return new BatchScope<>(scope, child -> new AsyncLdpClientImpl(this, timeout, child), null);
+    }
+
+    @Override
+    public <T> BatchScope<T> batch(final Duration deadline) {
+        return new BatchScope<>(scope, child -> new AsyncLdpClientImpl(this, timeout, child), positive(deadline));
+    }
+
+    static Duration positive(final Duration timeout) {
+        requireNonNull(timeout, "Timeout may not be null!");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive!");
+        }
+        return timeout;
+    }
+
+    HttpClient getHttpClient() {
+        return client;
+    }
+
+    @Override
+    public CompletableFuture<Void> closeAsync(final Duration drainTimeout) {
+        requireNonNull(drainTimeout, "Drain timeout may not be null!");
+        if (!closed.compareAndSet(false, true)) {
+            return terminated;
+        }
+        log.debug("Closing client, draining {} requests", inFlight.size());
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0])).handle((v, ex) -> null)
+                .completeOnTimeout(null, drainTimeout.toNanos(), NANOSECONDS).thenRun(() -> {
+                    if (!inFlight.isEmpty()) {
+                        log.warn("Cancelling {} requests still in flight after {}", inFlight.size(), drainTimeout);
+                        inFlight.forEach(future -> future.cancel(true));
+                    }
+                    if (balancer != null) {
+                        balancer.detach(client);
+                    }
+                    if (ownedExecutor != null) {
+                        ownedExecutor.shutdownNow();
+                    }
+                    if (ownsClient) {
+                        closeClient(client);
+                    }
+                    if (binaryRoute != null) {
+                        closeClient(binaryRoute.getClient());
+                    }
+                    terminated.complete(null);
+                });
+        return terminated;
+    }
+
+    @Override
+    public void close() {
+        closeAsync(DEFAULT_DRAIN_TIMEOUT).join();
+    }
+
+    /**
+     * Close an HTTP client, which releases its connections if it can be closed, as every client can from Java 21.
+     */
+    private static void closeClient(final HttpClient client) {
+        if (client instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) client).close();
+            } catch (Exception ex) {
+                log.warn("Unable to close HTTP client: {}", ex.getMessage());
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Classify a request for budgeting: safe methods are reads, and writes are RDF writes unless their content
+     * type is not an RDF syntax.
+     */
+    static OperationClass classify(final HttpRequest req) {
+        switch (req.method()) {
+            case "GET":
+            case "HEAD":
+            case "OPTIONS":
+                return READ;
+            default:
+                return req.headers().firstValue(CONTENT_TYPE).map(type -> type.split(";")[0].trim())
+                        .filter(type -> !RDF_TYPES.contains(type)).map(type -> BINARY).orElse(WRITE);
+        }
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> dispatch(final Supplier<RequestSpec<T>> request) {
+        return dispatch(request, timeout);
+    }
+
+    /**
+     * Send a request through the pipeline every operation shares: the spec is created and the request built from
+     * it, admitted and tracked against {@code timeout}, handed through the interceptors, then sent by
+     * {@link #route}. The spec is supplied rather than passed so that its arguments, such as a body handler or a
+     * header value derived from the caller's input, are evaluated here too: any failure, including a null or
+     * invalid argument, completes the result with an {@link LdpClientException}.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> dispatch(final Supplier<RequestSpec<T>> request,
+            final Duration timeout) {
+        try {
+            final RequestSpec<T> spec = request.get();
+            final HttpRequest req = timed(spec.build(), timeout);
+            return release(req, track(() -> intercept(spec, req, 0), timeout, spec.getTarget()));
+        } catch (Exception ex) {
+            return failed(ex);
+        }
+    }
+
+    /**
+     * Hand a request to the interceptor at {@code index}, or route it once every interceptor has proceeded. With no
+     * interceptors registered this is a single branch, without a chain being allocated.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> intercept(final RequestSpec<T> spec, final HttpRequest req,
+            final int index) {
+        if (index == interceptors.length) {
+            return route(spec, req);
+        }
+        return requireNonNull(interceptors[index].intercept(new Link<>(spec, req, index)),
+                "Interceptor returned no response!");
+    }
+
+    /**
+     * Send a request, sharing the exchange of an identical read already in flight if a coalescer is configured
+     * and the spec allows it.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<HttpResponse<T>> route(final RequestSpec<T> spec, final HttpRequest req) {
+        if (coalescer == null || !spec.isShared()) {
+            return retry(spec, req);
+        }
+        final RequestSpec<String> read = (RequestSpec<String>) spec;
+        return (CompletableFuture<HttpResponse<T>>) (CompletableFuture<?>) coalescer.join(req, () -> retry(read,
+                req));
+    }
+
+    /**
+     * Admit a request unless the client is closed, and track it until it completes so that {@link #close} can
+     * drain or cancel it. A request still pending when its timeout elapses is cancelled and fails with an
+     * {@link LdpClientTimeoutException}. A request sent by a client bound to a {@link BatchScope} is enlisted in
+     * it, so that the scope's failure cancels it.
+     */
+    private <T> CompletableFuture<T> track(final Supplier<CompletableFuture<T>> request, final Duration timeout,
+            final Object target) {
+        if (closed.get()) {
+            return CompletableFuture.failedFuture(CLOSED);
+        }
+        if (scope != null && scope.isDone()) {
+            return CompletableFuture.failedFuture(SCOPE_DONE);
+        }
+        final CompletableFuture<T> future = deadline(request.get(), timeout, target);
+        inFlight.add(future);
+        future.whenComplete((result, ex) -> inFlight.remove(future));
+        if (scope != null) {
+            scope.register(future);
+        }
+        return future;
+    }
+
+    private static <T> CompletableFuture<T> deadline(final CompletableFuture<T> future, final Duration timeout,
+            final Object target) {
+        if (timeout == null) {
+            return future;
+        }
+        final CompletableFuture<T> timer = future.copy().orTimeout(timeout.toNanos(), NANOSECONDS);
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        timer.whenComplete((value, ex) -> {
+            if (ex instanceof TimeoutException) {
+                future.cancel(true);
+                result.completeExceptionally(new LdpClientTimeoutException(
+                        "Request to " + target + " timed out after " + timeout));
+            } else if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(value);
+            }
+        });
+        result.whenComplete((value, ex) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Copy a request with a timeout, so that the HTTP client itself abandons an exchange that outlives the
+     * deadline.
+     */
+    static HttpRequest timed(final HttpRequest req, final Duration timeout) {
+        if (timeout == null || req.timeout().isPresent()) {
+            return req;
+        }
+        return copy(req, req.uri(), timeout);
+    }
+
+    /**
+     * Copy a request, addressing it to {@code uri} and giving it {@code timeout} unless that is null.
+     */
+    static HttpRequest copy(final HttpRequest req, final URI uri, final Duration timeout) {
+        return copy(req, uri, timeout, null);
+    }
+
+    /**
+     * Copy a request as {@link #copy(HttpRequest, URI, Duration)} does, sending it with {@code version} unless
+     * that is null.
+     */
+    static HttpRequest copy(final HttpRequest req, final URI uri, final Duration timeout,
+            final HttpClient.Version version) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(uri).expectContinue(req.expectContinue())
+                .method(req.method(), req.bodyPublisher().orElseGet(HttpRequest.BodyPublishers::noBody));
+        if (timeout != null) {
+            builder.timeout(timeout);
+        } else {
+            req.timeout().ifPresent(builder::timeout);
+        }
+        if (version != null) {
+            builder.version(version);
+        } else {
+            req.version().ifPresent(builder::version);
+        }
+        req.headers().map().forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+        return builder.build();
+    }
+
+    /**
+     * Send a request, sending it again after a retryable failure if a policy is configured and the request is
+     * idempotent. Cancelling the result cancels the current attempt or the wait before the next one.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> retry(final RequestSpec<T> spec, final HttpRequest req) {
+        if (retryPolicy == null || !RetryPolicy.isIdempotent(req)) {
+            return hedge(spec, req);
+        }
+        retryPolicy.onRequest();
+        final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        final AtomicReference<CompletableFuture<?>> current = new AtomicReference<>();
+        result.whenComplete((response, ex) -> {
+            if (result.isCancelled()) {
+                current.get().cancel(true);
+            }
+        });
+        attempt(spec, req, 1, result, current);
+        return result;
+    }
+
+    private <T> void attempt(final RequestSpec<T> spec, final HttpRequest req, final int attempt,
+            final CompletableFuture<HttpResponse<T>> result, final AtomicReference<CompletableFuture<?>> current) {
+        final CompletableFuture<HttpResponse<T>> future = hedge(spec, req);
+        current.set(future);
+        if (result.isDone()) {
+            future.cancel(true);
+            return;
+        }
+        future.whenComplete((response, ex) -> {
+            final long delay = result.isDone() ? -1 : retryPolicy.backoff(attempt, response, ex);
+            if (delay < 0) {
+                if (ex != null) {
+                    result.completeExceptionally(ex);
+                } else {
+                    result.complete(response);
+                }
+                return;
+            }
+            log.debug("Retrying {} request to {} after {}, attempt {}", spec.getOperation(), spec.getTarget(),
+                    response != null ? response.statusCode() : ex.getMessage(), attempt + 1);
+            if (response != null) {
+                discard(response);
+            }
+            final CompletableFuture<Void> wait = new CompletableFuture<>();
+            current.set(wait);
+            wait.thenRun(() -> attempt(spec, req, attempt + 1, result, current));
+            CompletableFuture.delayedExecutor(delay, NANOSECONDS).execute(() -> wait.complete(null));
+            if (result.isDone()) {
+                wait.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Release the body of a response that is not returned to the caller, so that a streaming body does not hold
+     * its connection open.
+     */
+    private static void discard(final HttpResponse<?> response) {
+        final Object body = response.body();
+        if (body instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) body).close();
+            } catch (Exception ex) {
+                log.debug("Could not close discarded response body: {}", ex.getMessage());
+            }
+        } else if (body instanceof Flow.Publisher) {
+            ((Flow.Publisher<?>) body).subscribe(new Flow.Subscriber<Object>() {
+                @Override
+                public void onSubscribe(final Flow.Subscription subscription) {
+                    subscription.cancel();
+                }
+
+                @Override
+                public void onNext(final Object item) {
+                    // cancelled on subscription
+                }
+
+                @Override
+                public void onError(final Throwable throwable) {
+                    // nothing to release
+                }
+
+                @Override
+                public void onComplete() {
+                    // nothing to release
+                }
+            });
+        }
+    }
+
+    /**
+     * Delete the spooled copy of a replayable request body once the request has finished.
+     */
+    private static <T> CompletableFuture<T> release(final HttpRequest req, final CompletableFuture<T> future) {
+        req.bodyPublisher().filter(ReplayableBody.class::isInstance).map(ReplayableBody.class::cast)
+                .ifPresent(body -> future.whenComplete((result, ex) -> {
+                    try {
+                        body.close();
+                    } catch (IOException e) {
+                        log.warn("Unable to delete spooled request body: {}", e.getMessage());
+                    }
+                }));
+        return future;
+    }
+
+    /**
+     * A publisher for a request body read from {@code stream}, replayable if requests may be retried or a 307 or
+     * 308 redirect followed.
+     */
+    private HttpRequest.BodyPublisher replayable(final Supplier<? extends InputStream> stream) {
+        return retryPolicy == null && client.followRedirects() == HttpClient.Redirect.NEVER ? ofInputStream(stream)
+                : new ReplayableBody(stream, ReplayableBody.MEMORY_LIMIT);
+    }
+
+    /**
+     * Send a request, hedging it if a policy is configured and the request is a GET or HEAD: once the policy's
+     * delay passes without a response a duplicate is sent, the first response wins and the other exchange is
+     * cancelled. Specs marked {@link RequestSpec#once} are never hedged: file downloads use this, since a hedge
+     * would write the same file twice.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> hedge(final RequestSpec<T> spec, final HttpRequest req) {
+        if (hedging == null || spec.isOnce() || !HEDGEABLE.contains(req.method())) {
+            return admit(spec, req);
+        }
+        final String host = AdaptiveLimiter.hostOf(req.uri());
+        final long delay = hedging.onRequest(host);
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        final List<CompletableFuture<HttpResponse<T>>> attempts = new CopyOnWriteArrayList<>();
+        final AtomicBoolean answered = new AtomicBoolean();
+        final Consumer<Boolean> attempt = hedge -> {
+            final CompletableFuture<HttpResponse<T>> future = admit(spec, req);
+            attempts.add(future);
+            future.whenComplete((response, ex) -> {
+                if (response != null) {
+                    if (answered.compareAndSet(false, true)) {
+                        hedging.onResponse(host, System.nanoTime() - start, hedge);
+                    }
+                    result.complete(response);
+                } else if (attempts.stream().allMatch(CompletableFuture::isDone)) {
+                    result.completeExceptionally(ex);
+                }
+            });
+            if (result.isDone()) {
+                future.cancel(true);
+            }
+        };
+        attempt.accept(false);
+        if (delay >= 0 && !result.isDone()) {
+            CompletableFuture.delayedExecutor(delay, NANOSECONDS).execute(() -> {
+                if (!result.isDone() && hedging.tryHedge()) {
+                    log.debug("Hedging {} request to {}", spec.getOperation(), spec.getTarget());
+                    attempt.accept(true);
+                }
+            });
+        }
+        result.whenComplete((response, ex) -> attempts.forEach(future -> future.cancel(true)));
+        return result;
+    }
+
+    /**
+     * Send a request without blocking, logging the outcome and mapping any failure to an
+     * {@link LdpClientException}. If a load balancer is configured and the request is addressed to its logical
+     * base, the request is first rewritten to the node it selects, which counts it as a write only if its method
+     * is unsafe, so that binary downloads are spread like other reads. The request then passes through each
+     * configured gate in turn: it fails fast if the circuit for its host is open, waits for a slot in its priority
+     * lane, is admitted against the rate limiter's budget, then waits for a concurrency permit whose outcome feeds
+     * back into the limit. A gate whose queue is full rejects the request.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> admit(final RequestSpec<T> spec, final HttpRequest req) {
+        final LoadBalancer.Node node = balancer == null ? null : balancer.select(req.uri(), classify(req) != READ);
+        if (node == null) {
+            return guard(spec, req);
+        }
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpResponse<T>> future;
+        try {
+            future = guard(spec, copy(req, node.rewrite(req.uri()), null));
+        } catch (RuntimeException ex) {
+            node.abandon();
+            throw ex;
+        }
+        future.whenComplete((response, ex) -> {
+            if (future.isCancelled() || ex instanceof LdpClientRejectedException) {
+                node.abandon();
+            } else {
+                node.complete(System.nanoTime() - start, ex != null || response.statusCode() >= 500);
+            }
+        });
+        return future;
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> guard(final RequestSpec<T> spec, final HttpRequest req) {
+        if (breaker != null) {
+            final String host = AdaptiveLimiter.hostOf(req.uri());
+            if (breaker.shouldProbe(host)) {
+                probe(host, req.uri());
+            }
+            if (!breaker.allows(host)) {
+                return CompletableFuture.failedFuture(new LdpClientCircuitOpenException(
+                        "Circuit for " + host + " is " + breaker.getState(host)));
+            }
+        }
+        return enqueue(spec, req);
+    }
+
+    /**
+     * Send a cheap request to a host whose circuit is half-open, closing the circuit if it answers.
+     */
+    private void probe(final String host, final URI uri) {
+        log.info("Probing {} with {} {}", host, breaker.getProbeMethod(), uri);
+        final HttpRequest req = HttpRequest.newBuilder(uri).method(breaker.getProbeMethod(), noBody())
+                .timeout(PROBE_TIMEOUT).build();
+        try {
+            client.sendAsync(req, discarding()).whenComplete((response, ex) -> breaker.onProbe(host,
+                    response != null && response.statusCode() < 500));
+        } catch (RuntimeException ex) {
+            breaker.onProbe(host, false);
+        }
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> enqueue(final RequestSpec<T> spec, final HttpRequest req) {
+        if (lanes == null) {
+            return rateLimit(spec, req);
+        }
+        return after(lanes.acquire(lane != null ? lane : Lane.of(spec.getOperationClass())), permit -> {
+            final CompletableFuture<HttpResponse<T>> next = rateLimit(spec, req);
+            next.whenComplete((response, ex) -> {
+                if (next.isCancelled()) {
+                    permit.abandon();
+                } else {
+                    permit.release();
+                }
+            });
+            return next;
+        }, PriorityLanes.Permit::abandon);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> rateLimit(final RequestSpec<T> spec, final HttpRequest req) {
+        if (rateLimiter == null) {
+            return limit(spec, req);
+        }
+        return after(rateLimiter.acquire(req.uri(), spec.getOperationClass()), v -> limit(spec, req), v -> { });
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> limit(final RequestSpec<T> spec, final HttpRequest req) {
+        if (limiter == null) {
+            return exchange(spec, req);
+        }
+        return after(limiter.acquire(req.uri()), permit -> {
+            final long start = System.nanoTime();
+            final CompletableFuture<HttpResponse<T>> exchange = exchange(spec, req);
+            exchange.whenComplete((response, ex) -> {
+                if (response != null) {
+                    permit.onResponse(response.statusCode(), System.nanoTime() - start);
+                } else if (exchange.isCancelled()) {
+                    permit.onIgnore();
+                } else {
+                    permit.onFailure();
+                }
+            });
+            return exchange;
+        }, AdaptiveLimiter.Permit::onIgnore);
+    }
+
+    /**
+     * Wait for an admission gate, then start the next stage and relay its outcome. Cancelling the result cancels
+     * whichever of the two is pending; a ticket granted after the result was cancelled, or whose stage fails to
+     * start, is handed to {@code abandon}.
+     */
+    private static <P, T> CompletableFuture<T> after(final CompletableFuture<P> admission,
+            final Function<P, CompletableFuture<T>> next, final Consumer<P> abandon) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        admission.whenComplete((ticket, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(asLdpClientException(failure));
+                return;
+            }
+            if (result.isDone()) {
+                abandon.accept(ticket);
+                return;
+            }
+            final CompletableFuture<T> stage;
+            try {
+                stage = next.apply(ticket);
+            } catch (RuntimeException ex) {
+                abandon.accept(ticket);
+                result.completeExceptionally(asLdpClientException(ex));
+                return;
+            }
+            stage.whenComplete((value, ex) -> {
+                if (ex != null) {
+                    result.completeExceptionally(ex);
+                } else {
+                    result.complete(value);
+                }
+            });
+            result.whenComplete((value, ex) -> {
+                if (result.isCancelled()) {
+                    stage.cancel(true);
+                }
+            });
+        });
+        result.whenComplete((value, ex) -> {
+            if (result.isCancelled()) {
+                admission.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Send a request with the client for its route: binary transfers use their own connections if a
+     * {@link BinaryRoute} is configured. If a {@link ProtocolTracker} is configured, the connection to the
+     * host is upgraded to HTTP/2 first when needed.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> exchange(final RequestSpec<T> spec, final HttpRequest req) {
+        final HttpClient route = binaryRoute != null && binaryRoute.matches(spec.getOperationClass())
+                ? binaryRoute.getClient() : client;
+        if (protocols == null) {
+            return transmit(spec, route, req);
+        }
+        return after(protocols.prepare(route, req), prepared -> transmit(spec, route, prepared), prepared -> { });
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> transmit(final RequestSpec<T> spec, final HttpClient route,
+            final HttpRequest req) {
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpResponse<T>> future = route.sendAsync(req, spec.getHandler());
+        final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        future.whenComplete((response, ex) -> {
+            if (protocols != null) {
+                protocols.onResult(route, req, response, ex);
+            }
+            if (breaker != null) {
+                final String host = AdaptiveLimiter.hostOf(req.uri());
+                if (result.isCancelled()) {
+                    breaker.onCancel(host, System.nanoTime() - start);
+                } else {
+                    breaker.onResult(host, ex != null || response.statusCode() >= 500, System.nanoTime() - start);
+                }
+            }
+            if (ex != null) {
+                result.completeExceptionally(asLdpClientException(ex));
+            } else {
+                log.info("{} {} request to {} returned {}", response.version(), spec.getOperation(), spec.getTarget(),
+                        response.statusCode());
+                result.complete(response);
+            }
+        });
+        result.whenComplete((response, ex) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    static LdpClientException asLdpClientException(final Throwable throwable) {
+        final Throwable ex = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        if (ex instanceof LdpClientException) {
+            return (LdpClientException) ex;
+        }
+        if (ex instanceof HttpTimeoutException) {
+            return new LdpClientTimeoutException(ex.toString(), ex);
+        }
+        return new LdpClientException(ex.toString(), ex, false, false);
+    }
+
+    private static <T> CompletableFuture<T> failed(final Exception ex) {
+        return CompletableFuture.failedFuture(asLdpClientException(ex));
+    }
+
+    /**
+     * Apply {@code fn} to the outcome of {@code source}, as {@link CompletableFuture#thenApply} does, except that
+     * cancelling the result also cancels {@code source}.
+     */
+    private static <T, U> CompletableFuture<U> map(final CompletableFuture<T> source,
+            final Function<? super T, ? extends U> fn) {
+        return relay(source, source.thenApply(fn));
+    }
+
+    /**
+     * Cancel {@code source} when {@code stage}, a stage derived from it, is cancelled. A dependent stage does not
+     * do this by itself, so without it an operation abandoned by its caller would keep its exchange running and
+     * hold its permits until the server answers.
+     */
+    private static <T> CompletableFuture<T> relay(final CompletableFuture<?> source,
+            final CompletableFuture<T> stage) {
+        stage.whenComplete((value, ex) -> {
+            if (stage.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return stage;
+    }
+
+    private static String stringBody(final HttpResponse<String> response) {
+        log.debug("Response Body: {}", response.body());
+        return response.body();
+    }
+
+    private static Map<String, List<String>> headers(final HttpResponse<?> response) {
+        return response.headers().map();
+    }
+
+    private static Void location(final HttpResponse<?> response) {
+        log.info("New Resource Location {}", response.headers().firstValue(LOCATION).orElse(null));
+        return null;
+    }
+
+    private static Void done(final HttpResponse<?> response) {
+        return null;
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<String>>> head(final IRI identifier) {
+        return map(dispatch(() -> RequestSpec.of("HEAD", identifier, discarding())), AsyncLdpClientImpl::headers);
+    }
+
+    @Override
+    public CompletableFuture<String> getJson(final IRI identifier) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, ofString()).headers(ACCEPT, contentTypeJSONLD)
+                .shared()), AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<String> getDefaultType(final IRI identifier) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, ofString()).shared()),
+                AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<String>> getResponse(final IRI identifier) {
+        return dispatch(() -> RequestSpec.of("GET", identifier, ofString()).shared());
+    }
+
+    @Override
+    public CompletableFuture<String> getWithContentType(final IRI identifier, final String contentType) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, ofString()).headers(ACCEPT, contentType).shared()),
+                AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<String>>> getAcceptDatetime(final IRI identifier,
+            final String timestamp) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, discarding()).headers("Accept-Datetime",
+                RFC_1123_DATE_TIME.withZone(UTC).format(ofEpochMilli(Long.parseLong(timestamp))))),
+                AsyncLdpClientImpl::headers);
+    }
+
+    @Override
+    public CompletableFuture<String> getTimeMapLinkDefaultFormat(final IRI identifier) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, "?ext=timemap", ofString()).shared()),
+                AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<String> getTimeMapJsonProfile(final IRI identifier, final String profile) {
+        final String[] headers = new String[]{ACCEPT, contentTypeJSONLD + "; " + "profile=\"" + profile + "\""};
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, "?ext=timemap", ofString()).headers(headers)
+                .shared()), AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<String> getVersionJson(final IRI identifier, final String profile,
+            final String timestamp) {
+        final String[] headers = new String[]{ACCEPT, contentTypeJSONLD + "; " + "profile=\"" + profile + "\""};
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, "?version=" + timestamp, ofString())
+                .headers(headers).shared()), AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<Path> getBinary(final IRI identifier, final Path file) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, ofFile(file)).as(BINARY).once()),
+                HttpResponse::body);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getBinary(final IRI identifier) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, LdpBodyHandlers.ofByteArray(maxBinarySize))
+                .as(BINARY)), HttpResponse::body);
+    }
+
+    @Override
+    public CompletableFuture<InputStream> getBinaryStream(final IRI identifier) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, LdpBodyHandlers.ofInputStream()).as(BINARY)
+                .once()), HttpResponse::body);
+    }
+
+    @Override
+    public CompletableFuture<ReadableByteChannel> getBinaryChannel(final IRI identifier) {
+        return map(getBinaryStream(identifier), Channels::newChannel);
+    }
+
+    @Override
+    public CompletableFuture<String> getBinaryDigest(final IRI identifier, final String algorithm) {
+        return map(dispatch(() -> RequestSpec.of("HEAD", identifier, discarding()).headers("Want-Digest", algorithm)),
+                response -> {
+                    final List<List<String>> res = response.headers().map().entrySet().stream().filter(
+                            h -> h.getKey().equals("digest")).map(Map.Entry::getValue).collect(Collectors.toList());
+                    return res.stream().flatMap(List::stream).findAny().orElse("");
+                });
+    }
+
+    @Override
+    public CompletableFuture<Path> getBinaryVersion(final IRI identifier, final Path file, final String timestamp) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, "?version=" + timestamp, ofFile(file)).as(BINARY)
+                .once()), HttpResponse::body);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getBinaryVersion(final IRI identifier, final String timestamp) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, "?version=" + timestamp,
+                LdpBodyHandlers.ofByteArray(maxBinarySize)).as(BINARY)), HttpResponse::body);
+    }
+
+    @Override
+    public CompletableFuture<InputStream> getBinaryVersionStream(final IRI identifier, final String timestamp) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, "?version=" + timestamp,
+                LdpBodyHandlers.ofInputStream()).as(BINARY).once()), HttpResponse::body);
+    }
+
+    @Override
+    public CompletableFuture<ReadableByteChannel> getBinaryVersionChannel(final IRI identifier,
+            final String timestamp) {
+        return map(getBinaryVersionStream(identifier, timestamp), Channels::newChannel);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getRange(final IRI identifier, final String byterange) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, LdpBodyHandlers.ofByteArray(maxBinarySize))
+                .headers("Range", byterange).as(BINARY)), HttpResponse::body);
+    }
+
+    @Override
+    public CompletableFuture<String> getPrefer(final IRI identifier, final String prefer) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, ofString()).headers("Prefer", prefer).shared()),
+                AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<String> getPreferMinimal(final IRI identifier) {
+        final String[] headers = new String[]{"Prefer", "return=representation; include=\"" + LDP
+                .PreferMinimalContainer.getIRIString() + "\""};
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, ofString()).headers(headers).shared()),
+                AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<String> getJsonProfile(final IRI identifier, final String profile) {
+        final String[] headers = new String[]{ACCEPT, contentTypeJSONLD + "; " + "profile=\"" + profile + "\""};
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, ofString()).headers(headers).shared()),
+                AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<String> getJsonProfileLDF(final IRI identifier, final String profile,
+            final String subject, final String predicate, final String object) {
+        final String[] headers = new String[]{ACCEPT, contentTypeJSONLD + "; profile=\"" + profile + "\""};
+        final String query = LdpClientImpl.buildLDFQuery(subject, predicate, object);
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, query, ofString()).headers(headers).shared()),
+                AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<String> getJsonLDF(final IRI identifier, final String subject, final String predicate,
+            final String object) {
+        final String query = LdpClientImpl.buildLDFQuery(subject, predicate, object);
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, query, ofString())
+                .headers(ACCEPT, contentTypeJSONLD).shared()), AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<String> getAcl(final IRI identifier, final String contentType) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, "?ext=acl", ofString()).headers(ACCEPT, contentType)
+                .shared()), AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<String>>> getCORS(final IRI identifier, final IRI origin) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, discarding())
+                .headers("Origin", origin.getIRIString(), "Access-Control-Request-Method", "PUT",
+                        "Access-Control-Request-Headers", "Content-Type, Link")), AsyncLdpClientImpl::headers);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<String>>> getCORSSimple(final IRI identifier, final IRI origin) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, discarding())
+                .headers("Origin", origin.getIRIString(), "Access-Control-Request-Method", "POST",
+                        "Access-Control-Request-Headers", "Accept")), AsyncLdpClientImpl::headers);
+    }
+
+    @Override
+    public CompletableFuture<String> getWithMetadata(final IRI identifier, final Map<String, String> metadata) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, ofString()).headers(metadata).shared()),
+                AsyncLdpClientImpl::stringBody);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getBytesWithMetadata(final IRI identifier, final Map<String, String> metadata) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, LdpBodyHandlers.ofByteArray(maxBinarySize))
+                .headers(metadata).as(BINARY)), HttpResponse::body);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Map<String, List<String>>>> getResponseWithHeaders(final IRI identifier,
+            final Map<String, String> metadata) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, ofString()).headers(metadata).shared()),
+                response -> {
+                    final Map<String, Map<String, List<String>>> res = new HashMap<>();
+                    res.put(stringBody(response), response.headers().map());
+                    return res;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<String>>> options(final IRI identifier) {
+        return map(dispatch(() -> RequestSpec.of("OPTIONS", identifier, discarding())), AsyncLdpClientImpl::headers);
+    }
+
+    @Override
+    public CompletableFuture<Void> initUpgrade(final IRI identifier) {
+        return map(dispatch(() -> RequestSpec.of("OPTIONS", identifier, discarding()).operation("OPTIONS upgrade")),
+                AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<WarmUpResult> warmUp(final Collection<URI> hosts, final int connectionsPerHost) {
+        if (connectionsPerHost < 1) {
+            return failed(new IllegalArgumentException("At least one connection per host is required!"));
+        }
+        final long start = System.nanoTime();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final Set<CompletableFuture<?>> sent = ConcurrentHashMap.newKeySet();
+        final Function<URI, CompletableFuture<LdpClientException>> send = host -> {
+            final CompletableFuture<LdpClientException> future = warm(host);
+            sent.add(future);
+            if (cancelled.get()) {
+                future.cancel(true);
+            }
+            return future;
+        };
+        final Map<URI, CompletableFuture<List<LdpClientException>>> warming = new LinkedHashMap<>();
+        for (final URI host : hosts) {
+            warming.put(host, send.apply(host).thenCompose(first -> {
+                final List<CompletableFuture<LdpClientException>> all = new ArrayList<>();
+                all.add(CompletableFuture.completedFuture(first));
+                for (int i = 1; first == null && i < connectionsPerHost; i++) {
+                    all.add(send.apply(host));
+                }
+                return CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0])).thenApply(v ->
+                        all.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+            }));
+        }
+        final CompletableFuture<WarmUpResult> result = CompletableFuture.allOf(warming.values()
+                .toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+                    final Map<URI, List<LdpClientException>> outcomes = new LinkedHashMap<>();
+                    warming.forEach((host, future) -> outcomes.put(host, future.join()));
+                    final WarmUpResult warmed = WarmUpResult.of(outcomes, Duration.ofNanos(System.nanoTime()
+                            - start));
+                    log.info("Warm-up finished: {}", warmed);
+                    return warmed;
+                });
+        result.whenComplete((warmed, ex) -> {
+            if (result.isCancelled()) {
+                cancelled.set(true);
+                sent.forEach(future -> future.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Send a single warm-up request through the pipeline, completing with its failure or null if the host answered
+     * below 500.
+     */
+    private CompletableFuture<LdpClientException> warm(final URI host) {
+        final CompletableFuture<HttpResponse<Void>> exchange = dispatch(() -> RequestSpec.of("OPTIONS", host,
+                discarding()).operation("OPTIONS warm-up"), timeout != null ? timeout : PROBE_TIMEOUT);
+        return relay(exchange, exchange.handle((response, ex) -> {
+            if (ex != null) {
+                return asLdpClientException(ex);
+            }
+            return response.statusCode() < 500 ? null : new LdpClientException("Warm-up request to " + host
+                    + " returned " + response.statusCode(), null, false, false);
+        }));
+    }
+
+    @Override
+    public CompletableFuture<Void> post(final IRI identifier, final InputStream stream, final String contentType) {
+        return map(dispatch(() -> RequestSpec.of("POST", identifier, discarding()).headers(CONTENT_TYPE, contentType)
+                .body(replayable(() -> stream))), AsyncLdpClientImpl::location);
+    }
+
+    @Override
+    public CompletableFuture<Void> postWithMetadata(final IRI identifier, final InputStream stream,
+            final Map<String, String> metadata) {
+        return map(dispatch(() -> RequestSpec.of("POST", identifier, discarding()).headers(metadata)
+                .body(replayable(() -> stream))), AsyncLdpClientImpl::location);
+    }
+
+    @Override
+    public CompletableFuture<Void> postWithAuth(final IRI identifier, final InputStream stream,
+            final String contentType, final String authorization) {
+        final String[] headers = new String[]{CONTENT_TYPE, contentType, AUTHORIZATION, authorization};
+        return map(dispatch(() -> RequestSpec.of("POST", identifier, discarding()).operation("AUTHORIZED POST")
+                .headers(headers).body(replayable(() -> stream))), AsyncLdpClientImpl::location);
+    }
+
+    @Override
+    public CompletableFuture<Void> postSlug(final IRI identifier, final String slug, final InputStream stream,
+            final String contentType) {
+        return map(dispatch(() -> RequestSpec.of("POST", identifier, discarding())
+                .headers(CONTENT_TYPE, contentType, "Slug", slug).body(replayable(() -> stream))),
+                AsyncLdpClientImpl::location);
+    }
+
+    @Override
+    public CompletableFuture<Void> postBinaryWithDigest(final IRI identifier, final InputStream stream,
+            final String contentType, final String digest) {
+        return map(dispatch(() -> RequestSpec.of("POST", identifier, discarding())
+                .headers(CONTENT_TYPE, contentType, "Digest", digest).body(replayable(() -> stream))),
+                AsyncLdpClientImpl::location);
+    }
+
+    @Override
+    public CompletableFuture<Void> createBasicContainer(final IRI identifier) {
+        final String[] headers = new String[]{LINK, LDP.BasicContainer + "; rel=\"type\""};
+        return map(dispatch(() -> RequestSpec.of("PUT", identifier, discarding()).operation("PUT create LDP-BC")
+                .headers(headers).body(ofString(""))), AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<Void> createDirectContainer(final IRI identifier, final String slug,
+            final IRI membershipObj) {
+        final String[] headers = new String[]{CONTENT_TYPE, contentTypeTurtle, "Slug", slug, LINK, LDP
+                .DirectContainer + "; rel=\"type\""};
+        final String entity = "<> " + LDP.hasMemberRelation + " " + DC.isPartOf + " ;\n" + LDP.membershipResource
+                + " " + membershipObj;
+        return map(dispatch(() -> RequestSpec.of("POST", identifier, discarding()).operation("POST create LDP-DC")
+                .headers(headers).body(ofString(entity))), AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<Void> createDirectContainerWithAuth(final IRI identifier, final String slug,
+            final IRI membershipObj, final String authorization) {
+        final String[] headers = new String[]{CONTENT_TYPE, contentTypeTurtle, "Slug", slug, LINK, LDP
+                .DirectContainer + "; rel=\"type\"", AUTHORIZATION, authorization};
+        final String entity = "<> " + LDP.hasMemberRelation + " " + DC.isPartOf + " ;\n" + LDP.membershipResource
+                + " " + membershipObj;
+        return map(dispatch(() -> RequestSpec.of("POST", identifier, discarding())
+                .operation("AUTHORIZED POST create LDP-DC").headers(headers).body(ofString(entity))),
+                AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<Void> put(final IRI identifier, final InputStream stream, final String contentType) {
+        return map(dispatch(() -> RequestSpec.of("PUT", identifier, discarding()).headers(CONTENT_TYPE, contentType)
+                .body(replayable(() -> stream))), AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<Void> putSupplier(final IRI identifier,
+            final Supplier<FileInputStream> fileInputStreamSupplier, final String contentType) {
+        return map(dispatch(() -> RequestSpec.of("PUT", identifier, discarding()).headers(CONTENT_TYPE, contentType)
+                .body(ofInputStream(fileInputStreamSupplier))), AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> putWithResponse(final IRI identifier, final InputStream stream,
+            final String contentType) {
+        return map(dispatch(() -> RequestSpec.of("PUT", identifier, discarding()).headers(CONTENT_TYPE, contentType)
+                .body(replayable(() -> stream))), response -> response.statusCode() == 204
+                || response.statusCode() == 201);
+    }
+
+    @Override
+    public CompletableFuture<Void> putWithMetadata(final IRI identifier, final InputStream stream,
+            final Map<String, String> metadata) {
+        return map(dispatch(() -> RequestSpec.of("PUT", identifier, discarding()).headers(metadata)
+                .body(replayable(() -> stream))), AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<Void> putWithAuth(final IRI identifier, final InputStream stream,
+            final String contentType, final String authorization) {
+        return map(dispatch(() -> RequestSpec.of("PUT", identifier, discarding()).operation("AUTHORIZED PUT")
+                .headers(CONTENT_TYPE, contentType, AUTHORIZATION, authorization).body(replayable(() -> stream))),
+                AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<Void> putIfMatch(final IRI identifier, final InputStream stream,
+            final String contentType, final String etag) {
+        return map(dispatch(() -> RequestSpec.of("PUT", identifier, discarding())
+                .operation("PUT (If-Match " + etag + ")").headers(CONTENT_TYPE, contentType, ETAG, etag)
+                .body(replayable(() -> stream))), AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<Void> putBinaryWithDigest(final IRI identifier, final InputStream stream,
+            final String contentType, final String digest) {
+        return map(dispatch(() -> RequestSpec.of("PUT", identifier, discarding())
+                .headers(CONTENT_TYPE, contentType, "Digest", digest).body(replayable(() -> stream))),
+                AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<Void> putIfUnmodified(final IRI identifier, final InputStream stream,
+            final String contentType, final String time) {
+        return map(dispatch(() -> RequestSpec.of("PUT", identifier, discarding())
+                .headers(CONTENT_TYPE, contentType, "If-Unmodified-Since", time).body(replayable(() -> stream))),
+                AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final IRI identifier) {
+        return map(dispatch(() -> RequestSpec.of("DELETE", identifier, discarding())), AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<Void> patch(final IRI identifier, final InputStream stream) {
+        return map(dispatch(() -> RequestSpec.of("PATCH", identifier, discarding())
+                .headers(CONTENT_TYPE, contentTypeSPARQLUpdate).body(replayable(() -> stream))),
+                AsyncLdpClientImpl::done);
+    }
+
+    @Override
+    public CompletableFuture<LdpResponse<Void>> headResource(final IRI identifier,
+            final Map<String, String> headers) {
+        return map(dispatch(() -> RequestSpec.of("HEAD", identifier, discarding()).headers(headers)),
+                LdpResponse::empty);
+    }
+
+    @Override
+    public CompletableFuture<LdpResponse<String>> getResource(final IRI identifier,
+            final Map<String, String> headers) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, LdpBodyHandlers.ofByteArray(maxBinarySize))
+                .headers(headers)), LdpResponse::text);
+    }
+
+    @Override
+    public <T> CompletableFuture<LdpResponse<T>> getResource(final IRI identifier,
+            final Map<String, String> headers, final HttpResponse.BodyHandler<T> handler) {
+        return map(dispatch(() -> RequestSpec.of("GET", identifier, requireNonNull(handler, "Handler may not be null!"))
+                .headers(headers).once()), LdpResponse::of);
+    }
+
+    @Override
+    public CompletableFuture<LdpResponse<Void>> postResource(final IRI identifier, final InputStream stream,
+            final Map<String, String> headers) {
+        return map(dispatch(() -> RequestSpec.of("POST", identifier, discarding()).headers(headers)
+                .body(replayable(() -> stream))), LdpResponse::empty);
+    }
+
+    @Override
+    public CompletableFuture<LdpResponse<Void>> putResource(final IRI identifier, final InputStream stream,
+            final Map<String, String> headers) {
+        return map(dispatch(() -> RequestSpec.of("PUT", identifier, discarding()).headers(headers)
+                .body(replayable(() -> stream))), LdpResponse::empty);
+    }
+
+    @Override
+    public CompletableFuture<LdpResponse<Void>> patchResource(final IRI identifier, final InputStream stream,
+            final Map<String, String> headers) {
+        return map(dispatch(() -> RequestSpec.of("PATCH", identifier, discarding()).headers(headers)
+                .body(replayable(() -> stream))), LdpResponse::empty);
+    }
+
+    @Override
+    public CompletableFuture<LdpResponse<Void>> deleteResource(final IRI identifier,
+            final Map<String, String> headers) {
+        return map(dispatch(() -> RequestSpec.of("DELETE", identifier, discarding()).headers(headers)),
+                LdpResponse::empty);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final IRI identifier) {
+        final CompletableFuture<HttpResponse<Void>> exchange = dispatch(() -> RequestSpec.of("HEAD", identifier,
+                discarding()).operation("HEAD exists"));
+        return relay(exchange, exchange.thenCompose(response -> {
+            final LdpOutcome outcome = LdpOutcome.of(response.statusCode());
+            if (outcome == LdpOutcome.SUCCESS || outcome == LdpOutcome.NOT_FOUND) {
+                return CompletableFuture.completedFuture(outcome == LdpOutcome.SUCCESS);
+            }
+            return CompletableFuture.failedFuture(new LdpClientException("HEAD " + response.uri()
+                    + " returned " + response.statusCode(), null, false, false));
+        }));
+    }
+
+    @Override
+    public CompletableFuture<List<BulkWriteResult>> bulkPut(
+            final Map<URI, ? extends Supplier<? extends InputStream>> bodies, final String contentType,
+            final int maxInFlight, final BulkWriteListener listener) {
+        final Map<String, String> headers = Map.of(CONTENT_TYPE, contentType);
+        return new BulkWriter<Map.Entry<URI, ? extends Supplier<? extends InputStream>>>(bodies.entrySet(),
+                entry -> write("PUT", entry.getKey(), entry.getValue(), headers, timeout), listener)
+                .start(maxInFlight);
+    }
+
+    @Override
+    public CompletableFuture<List<BulkWriteResult>> bulkPut(
+            final Map<URI, ? extends Supplier<? extends InputStream>> bodies, final String contentType,
+            final int maxInFlight, final BulkWriteListener listener, final Duration deadline) {
+        final Map<String, String> headers = Map.of(CONTENT_TYPE, contentType);
+        final long expiry;
+        try {
+            expiry = System.nanoTime() + positive(deadline).toNanos();
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            return failed(ex);
+        }
+        return new BulkWriter<Map.Entry<URI, ? extends Supplier<? extends InputStream>>>(bodies.entrySet(), entry -> {
+            final long remaining = expiry - System.nanoTime();
+            if (remaining <= 0) {
+                return CompletableFuture.completedFuture(BulkWriteResult.failure(entry.getKey(),
+                        new LdpClientTimeoutException("Batch deadline of " + deadline + " passed before sending"),
+                        Duration.ZERO));
+            }
+            final Duration budget = Duration.ofNanos(remaining);
+            return write("PUT", entry.getKey(), entry.getValue(), headers,
+                    timeout != null && timeout.compareTo(budget) < 0 ? timeout : budget);
+        }, listener).start(maxInFlight);
+    }
+
+    @Override
+    public Flow.Publisher<BulkWriteResult> bulkWrite(final Flow.Publisher<? extends WriteCommand> commands,
+            final int maxInFlight) {
+        return new StreamingWriter(commands, command -> write(command.getMethod(), command.getIdentifier(),
+                command.getBody(), command.getHeaders(), timeout), maxInFlight);
+    }
+
+    /**
+     * Issue a single write whose outcome, including any failure, is captured as a {@link BulkWriteResult}.
+     * The response body is discarded. Cancelling the result aborts the write.
+     */
+    CompletableFuture<BulkWriteResult> write(final String method, final URI uri,
+            final Supplier<? extends InputStream> body, final Map<String, String> headers, final Duration timeout) {
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpResponse<Void>> exchange = dispatch(() -> RequestSpec.of(method, uri,
+                discarding()).headers(headers).body(replayable(body)), timeout);
+        return relay(exchange, exchange.handle((response, ex) -> {
+            final Duration latency = Duration.ofNanos(System.nanoTime() - start);
+            if (ex != null) {
+                return BulkWriteResult.failure(uri, asLdpClientException(ex), latency);
+            }
+            return BulkWriteResult.response(uri, response.statusCode(),
+                    response.headers().firstValue(ETAG).orElse(null),
+                    response.headers().firstValue(LOCATION).orElse(null), latency);
+        }));
+    }
+
+    /**
+     * The position of a request in the interceptor chain.
+     */
+    private final class Link<T> implements Interceptor.Chain<T> {
+
+        private final RequestSpec<T> spec;
+        private final HttpRequest req;
+        private final int index;
+
+        private Link(final RequestSpec<T> spec, final HttpRequest req, final int index) {
+            this.spec = spec;
+            this.req = req;
+            this.index = index;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return req;
+        }
+
+        @Override
+        public String operation() {
+            return spec.getOperation();
+        }
+
+        @Override
+        public OperationClass operationClass() {
+            return spec.getOperationClass();
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse<T>> proceed(final HttpRequest request) {
+            return intercept(spec, requireNonNull(request, "Request may not be null!"), index + 1);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+
+/**
+ * BatchScope.
+ *
+ * <p>A group of related requests that succeed or fail together. Each task is forked with a client bound to the
+ * scope, and every request that client sends belongs to the scope, including requests chained after one another
+ * within a task. When a task fails or the scope's deadline passes, the scope fails: every request of the scope
+ * still in flight is cancelled, pending tasks complete with a {@link CancellationException}, and no further task
+ * is started; further requests from the scope's client fail with an {@link LdpClientRejectedException}. The
+ * deadline only runs while a task is pending or before any task is forked: once every task forked so far has
+ * completed it is disarmed, and forking another task arms it again for whatever time is left.
+ * {@link #join} waits for the tasks forked so far and returns their results, or the first failure. Closing the
+ * scope cancels whatever is still running.
+ *
+ * <pre>{@code
+ * try (BatchScope<Void> scope = client.batch(Duration.ofMinutes(1))) {
+ *     scope.fork(c -> c.createBasicContainer(container).thenCompose(v -> c.put(child, body, contentType)));
+ *     scope.fork(c -> c.put(acl, aclBody, contentType));
+ *     scope.join().join();
+ * }
+ * }</pre>
+ *
+ * @param <T> the result type of the tasks
+ * @author christopher-johnson
+ */
+public final class BatchScope<T> implements AutoCloseable {
+
+    private static final Logger log = getLogger(BatchScope.class);
+
+    private final BatchScope<?> parent;
+    private final AsyncLdpClient client;
+    private final List<CompletableFuture<T>> tasks = new CopyOnWriteArrayList<>();
+    private final Set<CompletableFuture<?>> requests = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final Duration deadline;
+    private final long expiry;
+    private final Lock lock = new ReentrantLock();
+    private CompletableFuture<Void> timer;
+
+    /**
+     * Create a scope, with the client bound to it made by {@code view}.
+     */
+    BatchScope(final BatchScope<?> parent, final Function<BatchScope<T>, AsyncLdpClient> view,
+            final Duration deadline) {
+        this.parent = parent;
+        this.client = view.apply(this);
+        this.deadline = deadline;
+        this.expiry = deadline == null ? 0 : System.nanoTime() + deadline.toNanos();
+        arm();
+    }
+
+    /**
+     * client.
+     *
+     * @return the client bound to this scope, whose requests are cancelled when the scope fails
+     */
+    public AsyncLdpClient client() {
+        return client;
+    }
+
+    /**
+     * fork.
+     *
+     * @param task a task sending its requests with the client it is given
+     * @return the task's future, which is cancelled if the scope fails first
+     */
+    public CompletableFuture<T> fork(final Function<AsyncLdpClient, ? extends CompletableFuture<? extends T>> task) {
+        requireNonNull(task, "Task may not be null!");
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        if (isDone()) {
+            result.completeExceptionally(rejection());
+            return result;
+        }
+        lock.lock();
+        try {
+            tasks.add(result);
+            arm();
+        } finally {
+            lock.unlock();
+        }
+        result.whenComplete((value, ex) -> disarmIfIdle());
+        CompletableFuture<? extends T> future;
+        try {
+            future = requireNonNull(task.apply(client), "Task may not return null!");
+        } catch (RuntimeException ex) {
+            future = CompletableFuture.failedFuture(ex);
+        }
+        future.whenComplete((value, ex) -> {
+            if (ex == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(ex);
+                fail(ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * join.
+     *
+     * @return a future of the results of the tasks forked so far, in the order they were forked, or of the first
+     *         failure as an {@link LdpClientException}
+     */
+    public CompletableFuture<List<T>> join() {
+        final List<CompletableFuture<T>> forked = List.copyOf(tasks);
+        return CompletableFuture.allOf(forked.toArray(new CompletableFuture<?>[0])).handle((v, ex) -> {
+            final Throwable first = failure.get();
+            if (first != null) {
+                throw new CompletionException(AsyncLdpClientImpl.asLdpClientException(first));
+            }
+            if (ex != null) {
+                throw new CompletionException(AsyncLdpClientImpl.asLdpClientException(ex));
+            }
+            final List<T> results = new ArrayList<>(forked.size());
+            forked.forEach(task -> results.add(task.join()));
+            return results;
+        });
+    }
+
+    /**
+     * isDone.
+     *
+     * @return whether the scope has failed or been closed
+     */
+    public boolean isDone() {
+        return failure.get() != null || (parent != null && parent.isDone());
+    }
+
+    /**
+     * close.
+     *
+     * <p>Cancels every task and request of the scope that is still running.
+     */
+    @Override
+    public void close() {
+        cancel(new CancellationException("Batch scope closed"));
+    }
+
+    /**
+     * Enlist a request sent by the scope's client, cancelling it at once if the scope is already done.
+     */
+    void register(final CompletableFuture<?> request) {
+        if (parent != null) {
+            parent.register(request);
+        }
+        requests.add(request);
+        request.whenComplete((value, ex) -> requests.remove(request));
+        if (isDone()) {
+            request.cancel(true);
+        }
+    }
+
+    private void fail(final Throwable cause) {
+        final Throwable ex = cause instanceof CompletionException && cause.getCause() != null
+                ? cause.getCause() : cause;
+        if (ex instanceof CancellationException) {
+            return;
+        }
+        final int pending = requests.size();
+        if (cancel(ex) && pending > 0) {
+            log.warn("Batch failed, cancelling {} request(s): {}", pending, ex.toString());
+        }
+    }
+
+    private boolean cancel(final Throwable cause) {
+        if (!failure.compareAndSet(null, cause)) {
+            return false;
+        }
+        requests.forEach(request -> request.cancel(true));
+        tasks.forEach(task -> task.completeExceptionally(rejection()));
+        disarm();
+        return true;
+    }
+
+    /**
+     * Start the deadline timer for the time left, unless it is already running, there is no deadline or the scope
+     * is done. The timer is cancelled when it is completed, which also releases the scope from the delayer.
+     */
+    private void arm() {
+        lock.lock();
+        try {
+            if (deadline == null || isDone() || (timer != null && !timer.isDone())) {
+                return;
+            }
+            timer = new CompletableFuture<>();
+            timer.whenComplete((v, ex) -> {
+                if (ex instanceof TimeoutException) {
+                    fail(new LdpClientTimeoutException("Batch did not complete within " + deadline));
+                }
+            });
+            timer.orTimeout(Math.max(0, expiry - System.nanoTime()), NANOSECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void disarm() {
+        lock.lock();
+        try {
+            if (timer != null) {
+                timer.complete(null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void disarmIfIdle() {
+        lock.lock();
+        try {
+            if (tasks.stream().allMatch(CompletableFuture::isDone)) {
+                disarm();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CancellationException rejection() {
+        final CancellationException ex = new CancellationException("Batch scope is done");
+        final Throwable cause = failure.get();
+        if (cause != null) {
+            ex.initCause(cause);
+        }
+        return ex;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Objects.requireNonNull;
+import static org.trellisldp.client.OperationClass.BINARY;
+
+import java.net.http.HttpClient;
+
+/**
+ * Routes binary transfers, downloads and uploads of non-RDF content alike, to an {@link HttpClient} of their own,
+ * so that they do not share connections, and HTTP/2 flow-control windows, with small RDF requests.
+ *
+ * @author christopher-johnson
+ */
+final class BinaryRoute {
+
+    private final HttpClient client;
+
+    BinaryRoute(final HttpClient client) {
+        this.client = requireNonNull(client, "HTTP client may not be null!");
+    }
+
+    HttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * Whether a request of this class is a binary transfer.
+     */
+    boolean matches(final OperationClass operationClass) {
+        return operationClass == BINARY;
+    }
+}
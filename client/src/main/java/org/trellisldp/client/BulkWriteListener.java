@@ -0,0 +1,42 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+/**
+ * BulkWriteListener.
+ *
+ * <p>Progress callback for bulk writes. It is invoked on the thread that completed the request, possibly
+ * concurrently, so implementations must be thread-safe and should return quickly.
+ *
+ * @author christopher-johnson
+ */
+@FunctionalInterface
+public interface BulkWriteListener {
+
+    /**
+     * A listener that ignores all progress.
+     */
+    BulkWriteListener NONE = (result, completed, total) -> {
+    };
+
+    /**
+     * onResult.
+     *
+     * @param result    the result of the write that just finished
+     * @param completed the number of writes finished so far
+     * @param total     the total number of writes in the batch
+     */
+    void onResult(BulkWriteResult result, int completed, int total);
+}
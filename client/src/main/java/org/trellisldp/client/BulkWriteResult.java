@@ -0,0 +1,126 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * BulkWriteResult.
+ *
+ * <p>The outcome of a single write within a bulk operation.
+ *
+ * @author christopher-johnson
+ */
+public final class BulkWriteResult {
+
+    private final URI identifier;
+    private final int status;
+    private final String etag;
+    private final String location;
+    private final LdpClientException error;
+    private final Duration latency;
+
+    private BulkWriteResult(final URI identifier, final int status, final String etag, final String location,
+            final LdpClientException error, final Duration latency) {
+        this.identifier = requireNonNull(identifier, "Identifier may not be null!");
+        this.status = status;
+        this.etag = etag;
+        this.location = location;
+        this.error = error;
+        this.latency = latency;
+    }
+
+    static BulkWriteResult response(final URI identifier, final int status, final String etag,
+            final String location, final Duration latency) {
+        return new BulkWriteResult(identifier, status, etag, location, null, latency);
+    }
+
+    static BulkWriteResult failure(final URI identifier, final LdpClientException error, final Duration latency) {
+        return new BulkWriteResult(identifier, 0, null, null, requireNonNull(error), latency);
+    }
+
+    /**
+     * getIdentifier.
+     *
+     * @return the target resource
+     */
+    public URI getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * getStatus.
+     *
+     * @return the HTTP status code, or 0 if no response was received
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * getEtag.
+     *
+     * @return the ETag of the written resource, if the server returned one
+     */
+    public Optional<String> getEtag() {
+        return Optional.ofNullable(etag);
+    }
+
+    /**
+     * getLocation.
+     *
+     * @return the Location of the written resource, if the server returned one
+     */
+    public Optional<String> getLocation() {
+        return Optional.ofNullable(location);
+    }
+
+    /**
+     * getError.
+     *
+     * @return the transport failure, if the request did not produce a response
+     */
+    public Optional<LdpClientException> getError() {
+        return Optional.ofNullable(error);
+    }
+
+    /**
+     * getLatency.
+     *
+     * @return the time from dispatch to response or failure
+     */
+    public Duration getLatency() {
+        return latency;
+    }
+
+    /**
+     * isSuccess.
+     *
+     * @return true if a 2xx response was received
+     */
+    public boolean isSuccess() {
+        return status >= 200 && status < 300;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkWriteResult{" + identifier + ", status=" + status + (error != null ? ", error=" + error : "")
+                + ", latency=" + latency.toMillis() + "ms}";
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Objects.requireNonNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+
+/**
+ * Drives a batch of writes with at most a fixed number in flight, pulling the next item only when a slot
+ * frees up. Results are reported in input order.
+ *
+ * @param <T> the type of a work item
+ * @author christopher-johnson
+ */
+final class BulkWriter<T> {
+
+    private static final Logger log = getLogger(BulkWriter.class);
+
+    static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    private final Iterator<? extends T> items;
+    private final int total;
+    private final Function<T, CompletableFuture<BulkWriteResult>> writer;
+    private final BulkWriteListener listener;
+    private final BulkWriteResult[] results;
+    private final Lock lock = new ReentrantLock();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final Set<CompletableFuture<BulkWriteResult>> inFlight = ConcurrentHashMap.newKeySet();
+    private final CompletableFuture<List<BulkWriteResult>> result = new CompletableFuture<>();
+    private int next;
+
+    /**
+     * Create a bulk writer.
+     *
+     * @param items    the work items
+     * @param writer   issues one write; the returned future must not complete exceptionally
+     * @param listener the progress listener
+     */
+    BulkWriter(final Collection<? extends T> items, final Function<T, CompletableFuture<BulkWriteResult>> writer,
+            final BulkWriteListener listener) {
+        this.items = items.iterator();
+        this.total = items.size();
+        this.writer = requireNonNull(writer, "Writer may not be null!");
+        this.listener = requireNonNull(listener, "Listener may not be null!");
+        this.results = new BulkWriteResult[total];
+    }
+
+    CompletableFuture<List<BulkWriteResult>> start(final int maxInFlight) {
+        if (maxInFlight < 1) {
+            return CompletableFuture.failedFuture(AsyncLdpClientImpl.asLdpClientException(
+                    new IllegalArgumentException("At least one request must be allowed in flight!")));
+        }
+        result.whenComplete((list, ex) -> {
+            if (result.isCancelled()) {
+                inFlight.forEach(future -> future.cancel(true));
+            }
+        });
+        if (total == 0) {
+            result.complete(Arrays.asList(results));
+        }
+        for (int lane = 0; lane < Math.min(maxInFlight, total); lane++) {
+            pump();
+        }
+        return result;
+    }
+
+    /**
+     * Keep one slot busy: dispatch the next item and, when it completes, dispatch another. Writes that complete
+     * synchronously are handled in a loop rather than by recursion.
+     */
+    private void pump() {
+        while (!result.isDone()) {
+            final T item;
+            final int index;
+            lock.lock();
+            try {
+                if (!items.hasNext()) {
+                    return;
+                }
+                item = items.next();
+                index = next++;
+            } finally {
+                lock.unlock();
+            }
+            final CompletableFuture<BulkWriteResult> future = writer.apply(item);
+            if (future.isDone()) {
+                record(index, future.join());
+            } else {
+                inFlight.add(future);
+                if (result.isCancelled()) {
+                    // the cancellation may have swept the writes in flight before this one was added
+                    future.cancel(true);
+                }
+                future.thenAccept(r -> {
+                    inFlight.remove(future);
+                    record(index, r);
+                    pump();
+                });
+                return;
+            }
+        }
+    }
+
+    private void record(final int index, final BulkWriteResult r) {
+        results[index] = r;
+        final int done = completed.incrementAndGet();
+        try {
+            listener.onResult(r, done, total);
+        } catch (RuntimeException ex) {
+            log.warn("Bulk write listener failed: {}", ex.getMessage());
+        }
+        if (done == total) {
+            result.complete(Arrays.asList(results));
+        }
+    }
+}
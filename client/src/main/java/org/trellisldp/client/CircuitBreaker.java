@@ -0,0 +1,436 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Objects.requireNonNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+
+/**
+ * CircuitBreaker.
+ *
+ * <p>Stops sending requests to a host that is failing. Each host's circuit tracks the outcome of its most recent
+ * exchanges; a transport failure, a timeout or a 5xx response is a failure, and an exchange taking longer than the
+ * slow-call threshold is slow. Once enough exchanges have been seen, the circuit opens when the failure rate or the
+ * slow-call rate reaches its threshold, and requests to the host then fail at once with an
+ * {@link LdpClientCircuitOpenException} instead of waiting for the host to time out.
+ *
+ * <p>After the open duration the next request to the host moves the circuit to half-open and triggers a single
+ * cheap probe (HEAD or OPTIONS) to the requested resource, while requests keep failing fast. A probe answered with
+ * a status below 500 closes the circuit; anything else opens it again. One breaker may be shared by several
+ * clients.
+ *
+ * @author christopher-johnson
+ */
+public final class CircuitBreaker {
+
+    private static final Logger log = getLogger(CircuitBreaker.class);
+
+    /**
+     * The state of a host's circuit.
+     */
+    public enum State {
+        /** Requests are sent and their outcomes recorded. */
+        CLOSED,
+        /** Requests fail fast. */
+        OPEN,
+        /** Requests fail fast while a probe decides whether to close the circuit. */
+        HALF_OPEN
+    }
+
+    private final int window;
+    private final int minCalls;
+    private final double failureRate;
+    private final long slowCallNanos;
+    private final double slowCallRate;
+    private final long openNanos;
+    private final String probeMethod;
+    private final CircuitBreakerListener listener;
+    private final ConcurrentMap<String, Circuit> hosts = new ConcurrentHashMap<>();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong transitions = new AtomicLong();
+
+    private CircuitBreaker(final Builder builder) {
+        this.window = builder.window;
+        this.minCalls = builder.minCalls;
+        this.failureRate = builder.failureRate;
+        this.slowCallNanos = builder.slowCall.toNanos();
+        this.slowCallRate = builder.slowCallRate;
+        this.openNanos = builder.openDuration.toNanos();
+        this.probeMethod = builder.probeMethod;
+        this.listener = builder.listener;
+    }
+
+    /**
+     * newBuilder.
+     *
+     * @return a new {@link Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * getHosts.
+     *
+     * @return the hosts seen so far, as {@code scheme://authority}
+     */
+    public Set<String> getHosts() {
+        return hosts.keySet();
+    }
+
+    /**
+     * getState.
+     *
+     * @param host a host, as {@code scheme://authority}
+     * @return the state of the host's circuit
+     */
+    public State getState(final String host) {
+        final Circuit circuit = hosts.get(host);
+        return circuit == null ? State.CLOSED : circuit.state();
+    }
+
+    /**
+     * getFailureRate.
+     *
+     * @param host a host, as {@code scheme://authority}
+     * @return the percentage of recent exchanges with the host that failed
+     */
+    public double getFailureRate(final String host) {
+        final Circuit circuit = hosts.get(host);
+        return circuit == null ? 0 : circuit.rate(false);
+    }
+
+    /**
+     * getSlowCallRate.
+     *
+     * @param host a host, as {@code scheme://authority}
+     * @return the percentage of recent exchanges with the host that were slow
+     */
+    public double getSlowCallRate(final String host) {
+        final Circuit circuit = hosts.get(host);
+        return circuit == null ? 0 : circuit.rate(true);
+    }
+
+    /**
+     * getRejected.
+     *
+     * @return the number of requests failed fast because a circuit was not closed
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * getTransitions.
+     *
+     * @return the number of state changes across all hosts
+     */
+    public long getTransitions() {
+        return transitions.get();
+    }
+
+    String getProbeMethod() {
+        return probeMethod;
+    }
+
+    /**
+     * Check whether a request may be sent to a host.
+     */
+    boolean allows(final String host) {
+        final Circuit circuit = hosts.get(host);
+        if (circuit == null || circuit.state() == State.CLOSED) {
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Claim the probe of a host whose open duration has passed, moving its circuit to half-open.
+     */
+    boolean shouldProbe(final String host) {
+        final Circuit circuit = hosts.get(host);
+        return circuit != null && circuit.claimProbe();
+    }
+
+    /**
+     * Record the outcome of an exchange with a host.
+     */
+    void onResult(final String host, final boolean failed, final long latencyNanos) {
+        hosts.computeIfAbsent(host, Circuit::new).record(failed, latencyNanos >= slowCallNanos);
+    }
+
+    /**
+     * Record an exchange that was cancelled, which only counts if it had already been slow.
+     */
+    void onCancel(final String host, final long latencyNanos) {
+        if (latencyNanos >= slowCallNanos) {
+            hosts.computeIfAbsent(host, Circuit::new).record(false, true);
+        }
+    }
+
+    /**
+     * Record the outcome of a probe.
+     */
+    void onProbe(final String host, final boolean healthy) {
+        final Circuit circuit = hosts.get(host);
+        if (circuit != null) {
+            circuit.probed(healthy);
+        }
+    }
+
+    private final class Circuit {
+
+        private final String host;
+        private final Lock lock = new ReentrantLock();
+        private final boolean[] failures = new boolean[window];
+        private final boolean[] slow = new boolean[window];
+        private int next;
+        private int calls;
+        private int failed;
+        private int slowed;
+        private State state = State.CLOSED;
+        private long openedAt;
+
+        private Circuit(final String host) {
+            this.host = host;
+        }
+
+        private State state() {
+            lock.lock();
+            try {
+                return state;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private double rate(final boolean ofSlow) {
+            lock.lock();
+            try {
+                return calls == 0 ? 0 : 100.0 * (ofSlow ? slowed : failed) / calls;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void record(final boolean failure, final boolean slowCall) {
+            State from = null;
+            lock.lock();
+            try {
+                if (state != State.CLOSED) {
+                    return;
+                }
+                if (calls == window) {
+                    failed -= failures[next] ? 1 : 0;
+                    slowed -= slow[next] ? 1 : 0;
+                } else {
+                    calls++;
+                }
+                failures[next] = failure;
+                slow[next] = slowCall;
+                failed += failure ? 1 : 0;
+                slowed += slowCall ? 1 : 0;
+                next = (next + 1) % window;
+                if (calls >= minCalls && (100.0 * failed / calls >= failureRate
+                        || 100.0 * slowed / calls >= slowCallRate)) {
+                    from = transition(State.OPEN);
+                }
+            } finally {
+                lock.unlock();
+            }
+            notify(from, State.OPEN);
+        }
+
+        private boolean claimProbe() {
+            State from = null;
+            lock.lock();
+            try {
+                if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                    from = transition(State.HALF_OPEN);
+                }
+            } finally {
+                lock.unlock();
+            }
+            notify(from, State.HALF_OPEN);
+            return from != null;
+        }
+
+        private void probed(final boolean healthy) {
+            final State to = healthy ? State.CLOSED : State.OPEN;
+            State from = null;
+            lock.lock();
+            try {
+                if (state == State.HALF_OPEN) {
+                    from = transition(to);
+                }
+            } finally {
+                lock.unlock();
+            }
+            notify(from, to);
+        }
+
+        /**
+         * Change state under the lock, returning the previous state.
+         */
+        private State transition(final State to) {
+            final State from = state;
+            state = to;
+            if (to == State.OPEN) {
+                openedAt = System.nanoTime();
+            } else if (to == State.CLOSED) {
+                next = 0;
+                calls = 0;
+                failed = 0;
+                slowed = 0;
+            }
+            transitions.incrementAndGet();
+            return from;
+        }
+
+        private void notify(final State from, final State to) {
+            if (from == null) {
+                return;
+            }
+            log.info("Circuit for {} moved from {} to {}", host, from, to);
+            try {
+                listener.onStateChange(host, from, to);
+            } catch (RuntimeException ex) {
+                log.warn("Circuit breaker listener failed: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static final class Builder {
+
+        private int window = 20;
+        private int minCalls = 10;
+        private double failureRate = 50;
+        private Duration slowCall = Duration.ofSeconds(10);
+        private double slowCallRate = 100;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private String probeMethod = "HEAD";
+        private CircuitBreakerListener listener = CircuitBreakerListener.NONE;
+
+        private Builder() {
+        }
+
+        /**
+         * window.
+         *
+         * @param window   the number of recent exchanges per host the rates are computed over, 20 by default
+         * @param minCalls the number of exchanges needed before the circuit may open, 10 by default
+         * @return this builder
+         */
+        public Builder window(final int window, final int minCalls) {
+            if (window < 1 || minCalls < 1 || minCalls > window) {
+                throw new IllegalArgumentException("Window and minimum calls must be positive, minimum at most "
+                        + "the window!");
+            }
+            this.window = window;
+            this.minCalls = minCalls;
+            return this;
+        }
+
+        /**
+         * failureRate.
+         *
+         * @param failureRate the percentage of failed exchanges at which the circuit opens, 50 by default
+         * @return this builder
+         */
+        public Builder failureRate(final double failureRate) {
+            this.failureRate = percent(failureRate);
+            return this;
+        }
+
+        /**
+         * slowCalls.
+         *
+         * @param threshold the duration from which an exchange counts as slow, 10s by default
+         * @param rate      the percentage of slow exchanges at which the circuit opens, 100 by default
+         * @return this builder
+         */
+        public Builder slowCalls(final Duration threshold, final double rate) {
+            this.slowCall = requireNonNull(threshold, "Slow call threshold may not be null!");
+            this.slowCallRate = percent(rate);
+            return this;
+        }
+
+        /**
+         * openDuration.
+         *
+         * @param openDuration how long a circuit stays open before it is probed, 30s by default
+         * @return this builder
+         */
+        public Builder openDuration(final Duration openDuration) {
+            this.openDuration = requireNonNull(openDuration, "Open duration may not be null!");
+            return this;
+        }
+
+        /**
+         * probeMethod.
+         *
+         * @param probeMethod the method of probe requests, {@code HEAD} (default) or {@code OPTIONS}
+         * @return this builder
+         */
+        public Builder probeMethod(final String probeMethod) {
+            if (!"HEAD".equals(probeMethod) && !"OPTIONS".equals(probeMethod)) {
+                throw new IllegalArgumentException("Probes must use HEAD or OPTIONS!");
+            }
+            this.probeMethod = probeMethod;
+            return this;
+        }
+
+        /**
+         * listener.
+         *
+         * @param listener a {@link CircuitBreakerListener} notified of state changes
+         * @return this builder
+         */
+        public Builder listener(final CircuitBreakerListener listener) {
+            this.listener = requireNonNull(listener, "Listener may not be null!");
+            return this;
+        }
+
+        /**
+         * build.
+         *
+         * @return a new {@link CircuitBreaker}
+         */
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
+
+        private static double percent(final double value) {
+            if (!(value > 0 && value <= 100)) {
+                throw new IllegalArgumentException("Rate must be above 0 and at most 100 percent!");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+/**
+ * CircuitBreakerListener.
+ *
+ * <p>Notified when a host's circuit changes state. It is invoked on the thread that caused the transition, so
+ * implementations must be thread-safe and should return quickly.
+ *
+ * @author christopher-johnson
+ */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+
+    /**
+     * A listener that ignores all transitions.
+     */
+    CircuitBreakerListener NONE = (host, from, to) -> {
+    };
+
+    /**
+     * onStateChange.
+     *
+     * @param host the host, as {@code scheme://authority}
+     * @param from the previous state
+     * @param to   the new state
+     */
+    void onStateChange(String host, CircuitBreaker.State from, CircuitBreaker.State to);
+}
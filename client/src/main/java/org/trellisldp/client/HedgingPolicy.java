@@ -0,0 +1,201 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HedgingPolicy.
+ *
+ * <p>Decides when an idempotent read is duplicated. If no response has arrived after the configured percentile of
+ * recent latencies for the host, a second identical request is sent; whichever response arrives first is used and
+ * the other exchange is cancelled. Hedges are capped at a percentage of all hedgeable requests, so a uniformly
+ * slow server sees at most that much extra load. No hedges are sent for a host until enough responses have been
+ * observed to estimate the percentile.
+ *
+ * @author christopher-johnson
+ */
+public final class HedgingPolicy {
+
+    static final int WINDOW = 256;
+    static final int MIN_SAMPLES = 20;
+
+    private final double percentile;
+    private final double budgetPercent;
+    private final long minDelayNanos;
+    private final ConcurrentMap<String, LatencyWindow> hosts = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+
+    private HedgingPolicy(final double percentile, final double budgetPercent, final long minDelayNanos) {
+        this.percentile = percentile;
+        this.budgetPercent = budgetPercent;
+        this.minDelayNanos = minDelayNanos;
+    }
+
+    /**
+     * newBuilder.
+     *
+     * @return a new {@link Builder} hedging at the 95th percentile with a 5% budget
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * getRequests.
+     *
+     * @return the number of hedgeable requests seen
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * getHedges.
+     *
+     * @return the number of duplicate requests sent
+     */
+    public long getHedges() {
+        return hedges.get();
+    }
+
+    /**
+     * getHedgesWon.
+     *
+     * @return the number of duplicate requests that answered first
+     */
+    public long getHedgesWon() {
+        return hedgesWon.get();
+    }
+
+    /**
+     * getHedgeDelay.
+     *
+     * @param host a host, as {@code scheme://authority}
+     * @return the current delay before a hedge is sent, if enough responses have been observed
+     */
+    public Optional<Duration> getHedgeDelay(final String host) {
+        final long delay = delayNanos(host);
+        return delay < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(delay));
+    }
+
+    /**
+     * Count a hedgeable request and return the delay after which it may be hedged, or -1 if it may not be.
+     */
+    long onRequest(final String host) {
+        requests.incrementAndGet();
+        return delayNanos(host);
+    }
+
+    private long delayNanos(final String host) {
+        final LatencyWindow w = hosts.get(host);
+        final long delay = w == null ? -1 : w.percentile(percentile);
+        return delay < 0 ? -1 : Math.max(minDelayNanos, delay);
+    }
+
+    /**
+     * Reserve room in the budget for one hedge.
+     */
+    boolean tryHedge() {
+        while (true) {
+            final long sent = hedges.get();
+            if (sent + 1 > requests.get() * budgetPercent / 100) {
+                return false;
+            }
+            if (hedges.compareAndSet(sent, sent + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Record the latency of a response.
+     */
+    void onResponse(final String host, final long latencyNanos, final boolean hedgeWon) {
+        hosts.computeIfAbsent(host, h -> new LatencyWindow(WINDOW, MIN_SAMPLES)).add(latencyNanos);
+        if (hedgeWon) {
+            hedgesWon.incrementAndGet();
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static final class Builder {
+
+        private double percentile = 95;
+        private double budgetPercent = 5;
+        private Duration minDelay = Duration.ofMillis(5);
+
+        private Builder() {
+        }
+
+        /**
+         * percentile.
+         *
+         * @param percentile the latency percentile, between 50 and 100, after which a read is hedged
+         * @return this builder
+         */
+        public Builder percentile(final double percentile) {
+            if (!(percentile >= 50 && percentile < 100)) {
+                throw new IllegalArgumentException("Percentile must be at least 50 and below 100!");
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * budget.
+         *
+         * @param budgetPercent the maximum number of hedges as a percentage of hedgeable requests
+         * @return this builder
+         */
+        public Builder budget(final double budgetPercent) {
+            if (!(budgetPercent > 0 && budgetPercent <= 100)) {
+                throw new IllegalArgumentException("Budget must be above 0 and at most 100 percent!");
+            }
+            this.budgetPercent = budgetPercent;
+            return this;
+        }
+
+        /**
+         * minDelay.
+         *
+         * @param minDelay the shortest delay before a hedge, 5ms by default
+         * @return this builder
+         */
+        public Builder minDelay(final Duration minDelay) {
+            this.minDelay = requireNonNull(minDelay, "Minimum delay may not be null!");
+            return this;
+        }
+
+        /**
+         * build.
+         *
+         * @return a new {@link HedgingPolicy}
+         */
+        public HedgingPolicy build() {
+            return new HedgingPolicy(percentile, budgetPercent, minDelay.toNanos());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interceptor.
+ *
+ * <p>Observes or rewrites every request a client sends, once per operation: an interceptor sees the request after
+ * it has been admitted and its deadline started, and before it is retried, hedged, shared with identical reads or
+ * passed through the client's gates. It may change the request, for instance to add a header, then hands it on
+ * with {@link Chain#proceed}; it may also complete the result itself without proceeding, or adapt the response or
+ * failure it gets back. Interceptors run in the order they were registered, on the caller's thread, so they must be
+ * thread-safe and should not block.
+ *
+ * @author christopher-johnson
+ */
+public interface Interceptor {
+
+    /**
+     * intercept.
+     *
+     * @param chain the {@link Chain} for the request
+     * @param <T>   the type of the response body
+     * @return the response, usually that of {@code chain.proceed(request)}
+     */
+    <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain);
+
+    /**
+     * The rest of the pipeline for one request.
+     *
+     * @param <T> the type of the response body
+     */
+    interface Chain<T> {
+
+        /**
+         * request.
+         *
+         * @return the request as it reaches this interceptor
+         */
+        HttpRequest request();
+
+        /**
+         * operation.
+         *
+         * @return the name of the client operation, as logged, such as {@code GET} or {@code PUT create LDP-BC}
+         */
+        String operation();
+
+        /**
+         * operationClass.
+         *
+         * @return the {@link OperationClass} the request is budgeted as
+         */
+        OperationClass operationClass();
+
+        /**
+         * proceed.
+         *
+         * @param request the request to hand to the next interceptor, or to send if this is the last one
+         * @return the response
+         */
+        CompletableFuture<HttpResponse<T>> proceed(HttpRequest request);
+    }
+}
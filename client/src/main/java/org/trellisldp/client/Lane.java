@@ -0,0 +1,49 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+/**
+ * Lane.
+ *
+ * <p>Priority lanes for {@link PriorityLanes}, highest priority first.
+ *
+ * @author christopher-johnson
+ */
+public enum Lane {
+
+    /** Latency-sensitive requests, such as reads made on behalf of a user. */
+    INTERACTIVE,
+
+    /** Transfers of binary (non-RDF) content. */
+    BINARY,
+
+    /** Throughput-oriented requests, such as bulk ingest. */
+    BACKGROUND;
+
+    /**
+     * The default lane of an operation: reads are interactive, RDF writes are background work and binary
+     * requests have a lane of their own.
+     */
+    static Lane of(final OperationClass operationClass) {
+        switch (operationClass) {
+            case READ:
+                return INTERACTIVE;
+            case BINARY:
+                return BINARY;
+            default:
+                return BACKGROUND;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A sliding window of the most recent latency samples, from which percentiles are estimated. A percentile is
+ * recomputed at most once per {@value #RECOMPUTE_EVERY} samples.
+ *
+ * @author christopher-johnson
+ */
+final class LatencyWindow {
+
+    static final int RECOMPUTE_EVERY = 16;
+
+    private final Lock lock = new ReentrantLock();
+    private final long[] samples;
+    private final int minSamples;
+    private long count;
+    private int next;
+    private double cachedPercentile = -1;
+    private long cachedAt;
+    private long cached;
+
+    LatencyWindow(final int size, final int minSamples) {
+        this.samples = new long[size];
+        this.minSamples = minSamples;
+    }
+
+    void add(final long latencyNanos) {
+        lock.lock();
+        try {
+            samples[next] = latencyNanos;
+            next = (next + 1) % samples.length;
+            count++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long count() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Estimate a percentile (nearest rank) of the samples in the window.
+     *
+     * @param percentile a percentile between 0 and 100
+     * @return the latency in nanoseconds, or -1 if fewer than the minimum number of samples have been seen
+     */
+    long percentile(final double percentile) {
+        lock.lock();
+        try {
+            if (count < minSamples) {
+                return -1;
+            }
+            if (percentile != cachedPercentile || count - cachedAt >= RECOMPUTE_EVERY) {
+                final long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+                Arrays.sort(sorted);
+                cached = sorted[Math.max(0, (int) Math.ceil(percentile / 100 * sorted.length) - 1)];
+                cachedPercentile = percentile;
+                cachedAt = count;
+            }
+            return cached;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
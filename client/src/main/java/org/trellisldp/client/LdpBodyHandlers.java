@@ -0,0 +1,281 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * LdpBodyHandlers.
+ *
+ * <p>Body handlers for {@link AsyncLdpClient#getResource(org.apache.commons.rdf.api.IRI, java.util.Map,
+ * BodyHandler)} that hand a parser the buffers the HTTP client received, instead of copying them into one array
+ * or decoding them into a string first, or that bound how much of a large body is held in memory.
+ *
+ * @author christopher-johnson
+ */
+public final class LdpBodyHandlers {
+
+    private LdpBodyHandlers() {
+        // prevent instantiation
+    }
+
+    /**
+     * ofByteBuffers.
+     *
+     * @return a handler that completes with the buffers of the body, in order, once all of it has arrived
+     */
+    public static BodyHandler<List<ByteBuffer>> ofByteBuffers() {
+        return info -> new ByteBuffersSubscriber(Long.MAX_VALUE, -1);
+    }
+
+    /**
+     * ofByteArray.
+     *
+     * <p>Refuses a body longer than {@code maxBytes}: as soon as its {@code Content-Length}, or the part of it
+     * received so far, exceeds the limit the exchange is cancelled and fails with an {@link LdpClientException}.
+     *
+     * @param maxBytes the longest body to read into memory
+     * @return a handler that completes with the body as one array
+     */
+    public static BodyHandler<byte[]> ofByteArray(final long maxBytes) {
+        return info -> BodySubscribers.mapping(new ByteBuffersSubscriber(maxBytes, length(info)),
+                LdpBodyHandlers::toArray);
+    }
+
+    /**
+     * ofPublisher.
+     *
+     * @return a handler that completes, as soon as the headers arrive, with a publisher of the buffers of the body;
+     *     the publisher must be subscribed to, or the connection is not released
+     */
+    public static BodyHandler<Flow.Publisher<List<ByteBuffer>>> ofPublisher() {
+        return BodyHandlers.ofPublisher();
+    }
+
+    /**
+     * ofInputStream.
+     *
+     * @return a handler that completes, as soon as the headers arrive, with a stream that reads the body as it
+     *     arrives; the stream must be closed, or the connection is not released
+     */
+    public static BodyHandler<InputStream> ofInputStream() {
+        return BodyHandlers.ofInputStream();
+    }
+
+    /**
+     * ofSpooledInputStream.
+     *
+     * <p>Reads the whole body before completing, keeping the first {@code memoryLimit} bytes in memory and
+     * spilling the rest to a temporary file, so that the connection is released however slowly the stream is
+     * then read. The file is deleted when the stream is closed.
+     *
+     * @param memoryLimit the number of bytes kept in memory
+     * @return a handler that completes, once all of the body has arrived, with a stream that reads it
+     */
+    public static BodyHandler<InputStream> ofSpooledInputStream(final long memoryLimit) {
+        return info -> new SpoolingSubscriber(memoryLimit);
+    }
+
+    private static long length(final ResponseInfo info) {
+        return info.headers().firstValueAsLong(CONTENT_LENGTH).orElse(-1);
+    }
+
+    private static byte[] toArray(final List<ByteBuffer> buffers) {
+        final byte[] bytes = new byte[Math.toIntExact(buffers.stream().mapToLong(ByteBuffer::remaining).sum())];
+        int offset = 0;
+        for (final ByteBuffer buffer : buffers) {
+            final int length = buffer.remaining();
+            buffer.get(bytes, offset, length);
+            offset += length;
+        }
+        return bytes;
+    }
+
+    private static LdpClientException tooLarge(final long size, final long limit) {
+        return new LdpClientException("Response body of " + size + " bytes exceeds the limit of " + limit
+                + " bytes", null, false, false);
+    }
+
+    /**
+     * Collects the buffers of a body as they are received, without copying them, unless the body is longer than
+     * a limit.
+     */
+    private static final class ByteBuffersSubscriber implements BodySubscriber<List<ByteBuffer>> {
+
+        private final CompletableFuture<List<ByteBuffer>> body = new CompletableFuture<>();
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private final long limit;
+        private final long expected;
+        private Flow.Subscription subscription;
+        private long size;
+
+        private ByteBuffersSubscriber(final long limit, final long expected) {
+            this.limit = limit;
+            this.expected = expected;
+        }
+
+        @Override
+        public CompletionStage<List<ByteBuffer>> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (expected > limit) {
+                subscription.cancel();
+                body.completeExceptionally(tooLarge(expected, limit));
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(final List<ByteBuffer> items) {
+            if (body.isDone()) {
+                return;
+            }
+            for (final ByteBuffer item : items) {
+                size += item.remaining();
+            }
+            if (size > limit) {
+                buffers.clear();
+                subscription.cancel();
+                body.completeExceptionally(tooLarge(size, limit));
+            } else {
+                buffers.addAll(items);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            buffers.clear();
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(Collections.unmodifiableList(buffers));
+        }
+    }
+
+    /**
+     * Reads a body into memory up to a limit and spills the rest to a temporary file.
+     */
+    private static final class SpoolingSubscriber implements BodySubscriber<InputStream> {
+
+        private final CompletableFuture<InputStream> body = new CompletableFuture<>();
+        private final ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private final long memoryLimit;
+        private Flow.Subscription subscription;
+        private FileChannel spool;
+
+        private SpoolingSubscriber(final long memoryLimit) {
+            this.memoryLimit = memoryLimit;
+        }
+
+        @Override
+        public CompletionStage<InputStream> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final List<ByteBuffer> items) {
+            if (body.isDone()) {
+                return;
+            }
+            try {
+                for (final ByteBuffer item : items) {
+                    if (spool == null && memory.size() + item.remaining() <= memoryLimit) {
+                        final byte[] bytes = new byte[item.remaining()];
+                        item.get(bytes);
+                        memory.write(bytes, 0, bytes.length);
+                    } else {
+                        if (spool == null) {
+                            spool = FileChannel.open(Files.createTempFile("ldp-body", ".tmp"), READ, WRITE,
+                                    DELETE_ON_CLOSE);
+                        }
+                        while (item.hasRemaining()) {
+                            spool.write(item);
+                        }
+                    }
+                }
+            } catch (IOException ex) {
+                subscription.cancel();
+                onError(ex);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            close();
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            final InputStream head = new ByteArrayInputStream(memory.toByteArray());
+            if (spool == null) {
+                body.complete(head);
+                return;
+            }
+            try {
+                body.complete(new SequenceInputStream(head, Channels.newInputStream(spool.position(0))));
+            } catch (IOException ex) {
+                onError(ex);
+            }
+        }
+
+        private void close() {
+            if (spool != null) {
+                try {
+                    spool.close();
+                } catch (IOException ex) {
+                    // nothing more can be released
+                }
+            }
+        }
+    }
+}
@@ -18,7 +18,10 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpResponse;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -30,7 +33,42 @@ import org.apache.commons.rdf.api.IRI;
  *
  * @author christopher-johnson
  */
-public interface LdpClient {
+public interface LdpClient extends AutoCloseable {
+
+    /**
+     * async.
+     *
+     * @return the non-blocking {@link AsyncLdpClient} backing this client
+     */
+    AsyncLdpClient async();
+
+    /**
+     * close.
+     *
+     * <p>Stops admitting requests, waits up to 30 seconds for those in flight, cancels any that remain and shuts
+     * down the threads and connections owned by this client. Requests made after closing fail with an
+     * {@link LdpClientRejectedException}.
+     */
+    @Override
+    void close();
+
+    /**
+     * close.
+     *
+     * @param drainTimeout how long to wait for requests in flight before cancelling them
+     */
+    void close(Duration drainTimeout);
+
+    /**
+     * withTimeout.
+     *
+     * <p>Returns a view of this client in which every operation must complete within {@code timeout}, or fail
+     * with an {@link LdpClientTimeoutException}. The view shares this client's connections and lifecycle.
+     *
+     * @param timeout the deadline of each operation
+     * @return a client applying the deadline
+     */
+    LdpClient withTimeout(Duration timeout);
 
     /**
      * head.
@@ -124,12 +162,39 @@ public interface LdpClient {
     /**
      * getBinary.
      *
+     * <p>The whole body is held in memory; one longer than {@link LdpClientBuilder#maxBinarySize(long)} is
+     * refused. Use {@link #getBinaryStream(IRI)} for large binaries.
+     *
      * @param identifier a resource identifier
      * @return body as a byte[]
      * @throws LdpClientException an URISyntaxException, IOException or InterruptedException
      */
     byte[] getBinary(IRI identifier) throws LdpClientException;
 
+    /**
+     * getBinaryStream.
+     *
+     * <p>The body is read from the network as the stream is read, so it is never held in memory and a slow reader
+     * slows the transfer down. The stream must be closed to release its connection.
+     *
+     * @param identifier a resource identifier
+     * @return body as an {@link InputStream}
+     * @throws LdpClientException an URISyntaxException, IOException or InterruptedException
+     */
+    InputStream getBinaryStream(IRI identifier) throws LdpClientException;
+
+    /**
+     * getBinaryChannel.
+     *
+     * <p>Reads the body as {@link #getBinaryStream(IRI)} does. The channel must be closed to release its
+     * connection.
+     *
+     * @param identifier a resource identifier
+     * @return body as a {@link ReadableByteChannel}
+     * @throws LdpClientException an URISyntaxException, IOException or InterruptedException
+     */
+    ReadableByteChannel getBinaryChannel(IRI identifier) throws LdpClientException;
+
     /**
      * getBinaryDigest.
      *
@@ -154,6 +219,9 @@ public interface LdpClient {
     /**
      * getBinaryVersion.
      *
+     * <p>The whole body is held in memory; one longer than {@link LdpClientBuilder#maxBinarySize(long)} is
+     * refused. Use {@link #getBinaryVersionStream(IRI, String)} for large binaries.
+     *
      * @param identifier a resource identifier
      * @param timestamp  an epoch millisecond
      * @return body as a byte[]
@@ -161,6 +229,32 @@ public interface LdpClient {
      */
     byte[] getBinaryVersion(IRI identifier, String timestamp) throws LdpClientException;
 
+    /**
+     * getBinaryVersionStream.
+     *
+     * <p>Reads the body as {@link #getBinaryStream(IRI)} does. The stream must be closed to release its
+     * connection.
+     *
+     * @param identifier a resource identifier
+     * @param timestamp  an epoch millisecond
+     * @return body as an {@link InputStream}
+     * @throws LdpClientException an URISyntaxException, IOException or InterruptedException
+     */
+    InputStream getBinaryVersionStream(IRI identifier, String timestamp) throws LdpClientException;
+
+    /**
+     * getBinaryVersionChannel.
+     *
+     * <p>Reads the body as {@link #getBinaryStream(IRI)} does. The channel must be closed to release its
+     * connection.
+     *
+     * @param identifier a resource identifier
+     * @param timestamp  an epoch millisecond
+     * @return body as a {@link ReadableByteChannel}
+     * @throws LdpClientException an URISyntaxException, IOException or InterruptedException
+     */
+    ReadableByteChannel getBinaryVersionChannel(IRI identifier, String timestamp) throws LdpClientException;
+
     /**
      * getRange.
      *
@@ -319,6 +413,19 @@ public interface LdpClient {
      */
     void initUpgrade(final IRI identifier) throws LdpClientException;
 
+    /**
+     * warmUp.
+     *
+     * <p>Opens and validates connections to each host before traffic arrives, as
+     * {@link AsyncLdpClient#warmUp} does, and waits for it. Failures are reported in the result rather than thrown.
+     *
+     * @param hosts              the URLs to send warm-up requests to
+     * @param connectionsPerHost the number of warm-up requests per host
+     * @return the outcome per host and the time taken
+     * @throws LdpClientException if the calling thread is interrupted or {@code connectionsPerHost} is below one
+     */
+    WarmUpResult warmUp(Collection<URI> hosts, int connectionsPerHost) throws LdpClientException;
+
     /**
      * post.
      *
@@ -518,6 +625,107 @@ public interface LdpClient {
      */
     void patch(final IRI identifier, final InputStream stream) throws LdpClientException;
 
+    /**
+     * headResource.
+     *
+     * @param identifier a resource identifier
+     * @param headers    request headers, such as {@code Accept-Datetime}
+     * @return the response, whatever its status
+     * @throws LdpClientException if the request could not be completed
+     */
+    LdpResponse<Void> headResource(final IRI identifier, final Map<String, String> headers) throws LdpClientException;
+
+    /**
+     * getResource.
+     *
+     * <p>The body is decoded, in the charset of the response, only when it is first read. One longer than
+     * {@link LdpClientBuilder#maxBinarySize(long)} is refused.
+     *
+     * @param identifier a resource identifier
+     * @param headers    request headers, such as {@code Accept} or {@code Prefer}
+     * @return the response, whatever its status
+     * @throws LdpClientException if the request could not be completed
+     */
+    LdpResponse<String> getResource(final IRI identifier, final Map<String, String> headers) throws LdpClientException;
+
+    /**
+     * getResource.
+     *
+     * <p>The body is read by {@code handler}, such as one of {@link LdpBodyHandlers}, so that it can be parsed
+     * from the buffers the client received. The request is never hedged, since the handler may have side effects.
+     *
+     * @param identifier a resource identifier
+     * @param headers    request headers, such as {@code Accept} or {@code Prefer}
+     * @param handler    a handler for the response body
+     * @param <T>        the type of the body
+     * @return the response, whatever its status
+     * @throws LdpClientException if the request could not be completed
+     */
+    <T> LdpResponse<T> getResource(final IRI identifier, final Map<String, String> headers,
+            final HttpResponse.BodyHandler<T> handler) throws LdpClientException;
+
+    /**
+     * postResource.
+     *
+     * <p>The response carries the status, {@code ETag} and {@code Location} of the new resource, so no follow-up
+     * request is needed to find them; its body is discarded.
+     *
+     * @param identifier a container identifier
+     * @param stream     an {@link InputStream}
+     * @param headers    request headers, including {@code Content-Type}
+     * @return the response, whatever its status
+     * @throws LdpClientException if the request could not be completed
+     */
+    LdpResponse<Void> postResource(final IRI identifier, final InputStream stream,
+            final Map<String, String> headers) throws LdpClientException;
+
+    /**
+     * putResource.
+     *
+     * <p>The response carries the status and {@code ETag} of the resource; its body is discarded.
+     *
+     * @param identifier a resource identifier
+     * @param stream     an {@link InputStream}
+     * @param headers    request headers, including {@code Content-Type}
+     * @return the response, whatever its status
+     * @throws LdpClientException if the request could not be completed
+     */
+    LdpResponse<Void> putResource(final IRI identifier, final InputStream stream,
+            final Map<String, String> headers) throws LdpClientException;
+
+    /**
+     * patchResource.
+     *
+     * <p>The response carries the status and {@code ETag} of the resource; its body is discarded.
+     *
+     * @param identifier a resource identifier
+     * @param stream     an {@link InputStream}
+     * @param headers    request headers, including {@code Content-Type}
+     * @return the response, whatever its status
+     * @throws LdpClientException if the request could not be completed
+     */
+    LdpResponse<Void> patchResource(final IRI identifier, final InputStream stream,
+            final Map<String, String> headers) throws LdpClientException;
+
+    /**
+     * deleteResource.
+     *
+     * @param identifier a resource identifier
+     * @param headers    request headers, such as {@code If-Match}
+     * @return the response, whatever its status
+     * @throws LdpClientException if the request could not be completed
+     */
+    LdpResponse<Void> deleteResource(final IRI identifier, final Map<String, String> headers) throws LdpClientException;
+
+    /**
+     * exists.
+     *
+     * @param identifier a resource identifier
+     * @return true if the resource exists, false if the server answers 404 or 410
+     * @throws LdpClientException if the request could not be completed or the server answers any other status
+     */
+    boolean exists(final IRI identifier) throws LdpClientException;
+
     /**
      * asyncPut.
      *
@@ -528,12 +736,48 @@ public interface LdpClient {
      */
     Boolean asyncPut(final IRI identifier, final InputStream stream) throws LdpClientException;
 
+    /**
+     * bulkPut.
+     *
+     * <p>Writes every entry with at most {@code maxInFlight} requests outstanding. Each body supplier is only
+     * invoked when its request is dispatched, so streams need not be opened up front. Per-resource failures are
+     * reported in the results rather than thrown.
+     *
+     * @param bodies      a Map of URI keys with body suppliers
+     * @param contentType a content type
+     * @param maxInFlight the maximum number of concurrent requests
+     * @param listener    a {@link BulkWriteListener} notified as each write finishes
+     * @return the results, in the iteration order of {@code bodies}
+     * @throws LdpClientException if the calling thread is interrupted
+     */
+    List<BulkWriteResult> bulkPut(Map<URI, ? extends Supplier<? extends InputStream>> bodies, String contentType,
+            int maxInFlight, BulkWriteListener listener) throws LdpClientException;
+
+    /**
+     * bulkPut.
+     *
+     * <p>Writes every entry within an overall deadline. Requests still in flight when it passes, and entries not
+     * yet sent, are reported as failing with an {@link LdpClientTimeoutException}.
+     *
+     * @param bodies      a Map of URI keys with body suppliers
+     * @param contentType a content type
+     * @param maxInFlight the maximum number of concurrent requests
+     * @param listener    a {@link BulkWriteListener} notified as each write finishes
+     * @param deadline    the time allowed for the whole batch
+     * @return the results, in the iteration order of {@code bodies}
+     * @throws LdpClientException if the calling thread is interrupted
+     */
+    List<BulkWriteResult> bulkPut(Map<URI, ? extends Supplier<? extends InputStream>> bodies, String contentType,
+            int maxInFlight, BulkWriteListener listener, Duration deadline) throws LdpClientException;
+
     /**
      * joiningCompleteableFuturePut.
      *
      * @param bodies      a Map of URI keys with InputStream values
      * @param contentType a content Type
+     * @deprecated opens every stream up front and discards the outcome; use {@link #bulkPut} instead
      */
+    @Deprecated
     void joiningCompletableFuturePut(Map<URI, InputStream> bodies, final String contentType);
 
 }
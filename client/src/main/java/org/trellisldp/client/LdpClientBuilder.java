@@ -0,0 +1,633 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Redirect.ALWAYS;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+import org.slf4j.Logger;
+
+/**
+ * LdpClientBuilder.
+ *
+ * <p>Builds independent {@link LdpClient} and {@link AsyncLdpClient} instances. Each instance owns its own
+ * {@link HttpClient}, so differently tuned clients (e.g. for ingest and for reads) can coexist in one JVM.
+ *
+ * @author christopher-johnson
+ */
+public final class LdpClientBuilder {
+
+    private static final Logger log = getLogger(LdpClientBuilder.class);
+
+    static final String CONNECTION_POOL_SIZE = "jdk.httpclient.connectionPoolSize";
+    static final String KEEP_ALIVE_TIMEOUT = "jdk.httpclient.keepalive.timeout";
+    static final String CONNECTION_WINDOW_SIZE = "jdk.httpclient.connectionWindowSize";
+    static final String STREAM_WINDOW_SIZE = "jdk.httpclient.windowsize";
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final AtomicBoolean CLIENT_BUILT = new AtomicBoolean();
+
+    private Executor executor;
+    private boolean virtualThreads;
+    private Duration connectTimeout;
+    private Duration requestTimeout;
+    private HttpClient.Version version;
+    private HttpClient.Redirect redirect = ALWAYS;
+    private SSLContext sslContext;
+    private SSLParameters sslParameters;
+    private Integer connectionPoolSize;
+    private Duration keepAlive;
+    private Integer connectionWindowSize;
+    private Integer streamWindowSize;
+    private int shards = 1;
+    private ShardStrategy shardStrategy = ShardStrategy.ROUND_ROBIN;
+    private HttpClient.Version binaryVersion;
+    private Executor binaryExecutor;
+    private long maxBinarySize = Long.MAX_VALUE;
+    private AdaptiveLimiter limiter;
+    private RateLimiter rateLimiter;
+    private HedgingPolicy hedging;
+    private ReadCoalescer coalescer;
+    private PriorityLanes lanes;
+    private Lane lane;
+    private RetryPolicy retryPolicy;
+    private CircuitBreaker breaker;
+    private LoadBalancer balancer;
+    private ProtocolTracker protocols;
+    private final List<Interceptor> interceptors = new ArrayList<>();
+
+    private LdpClientBuilder() {
+    }
+
+    /**
+     * newBuilder.
+     *
+     * @return a new {@link LdpClientBuilder} with default settings
+     */
+    public static LdpClientBuilder newBuilder() {
+        return new LdpClientBuilder();
+    }
+
+    /**
+     * executor.
+     *
+     * <p>The caller keeps ownership of the executor, which is not shut down when the client is closed. When unset,
+     * the client creates its own pool of daemon threads and shuts it down on close.
+     *
+     * @param executor the {@link Executor} for asynchronous tasks
+     * @return this builder
+     */
+    public LdpClientBuilder executor(final Executor executor) {
+        this.executor = requireNonNull(executor, "Executor may not be null!");
+        return this;
+    }
+
+    /**
+     * virtualThreads.
+     *
+     * <p>Runs the client's asynchronous tasks on a virtual-thread-per-task executor instead of a pool of
+     * platform threads. Blocking {@link LdpClient} calls made from virtual threads park rather than pin their
+     * carrier. Virtual threads require a Java 21 or later runtime; {@link #build()} fails on older runtimes.
+     *
+     * @param virtualThreads whether to use virtual threads
+     * @return this builder
+     */
+    public LdpClientBuilder virtualThreads(final boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    /**
+     * connectTimeout.
+     *
+     * @param connectTimeout the maximum time to wait for a connection to be established
+     * @return this builder
+     */
+    public LdpClientBuilder connectTimeout(final Duration connectTimeout) {
+        this.connectTimeout = requireNonNull(connectTimeout, "Connect timeout may not be null!");
+        return this;
+    }
+
+    /**
+     * requestTimeout.
+     *
+     * <p>Gives every operation a deadline, covering admission, connecting and reading the response. An operation
+     * that misses it is cancelled and fails with an {@link LdpClientTimeoutException}. By default operations have
+     * no deadline; {@link LdpClient#withTimeout} overrides it per call site.
+     *
+     * @param requestTimeout the deadline of each operation
+     * @return this builder
+     */
+    public LdpClientBuilder requestTimeout(final Duration requestTimeout) {
+        this.requestTimeout = AsyncLdpClientImpl.positive(requestTimeout);
+        return this;
+    }
+
+    /**
+     * version.
+     *
+     * @param version the preferred {@link HttpClient.Version}
+     * @return this builder
+     */
+    public LdpClientBuilder version(final HttpClient.Version version) {
+        this.version = requireNonNull(version, "Version may not be null!");
+        return this;
+    }
+
+    /**
+     * followRedirects.
+     *
+     * <p>Unless the policy is {@code NEVER}, request bodies read from an {@link java.io.InputStream} are captured
+     * as they are sent so that a 307 or 308 redirect resends the whole body.
+     *
+     * @param redirect the {@link HttpClient.Redirect} policy, {@code ALWAYS} by default
+     * @return this builder
+     */
+    public LdpClientBuilder followRedirects(final HttpClient.Redirect redirect) {
+        this.redirect = requireNonNull(redirect, "Redirect policy may not be null!");
+        return this;
+    }
+
+    /**
+     * sslContext.
+     *
+     * @param sslContext an {@link SSLContext}
+     * @return this builder
+     */
+    public LdpClientBuilder sslContext(final SSLContext sslContext) {
+        this.sslContext = requireNonNull(sslContext, "SSLContext may not be null!");
+        return this;
+    }
+
+    /**
+     * sslParameters.
+     *
+     * @param sslParameters the {@link SSLParameters} (protocols, cipher suites, ALPN)
+     * @return this builder
+     */
+    public LdpClientBuilder sslParameters(final SSLParameters sslParameters) {
+        this.sslParameters = requireNonNull(sslParameters, "SSLParameters may not be null!");
+        return this;
+    }
+
+    /**
+     * connectionPoolSize.
+     *
+     * <p>This is not a per-client setting: it sets the {@value #CONNECTION_POOL_SIZE} system property, which the
+     * JDK reads once, when its connection pool is first initialised, so it applies to the whole JVM and only if
+     * no client has been created yet. Every builder in the process must therefore ask for the same value, and the
+     * first one to set it must be built before any other client. A builder fails to build with an
+     * {@link IllegalStateException}, rather than silently having no effect, if its value conflicts with one
+     * already set, by an earlier builder or on the command line, or if the property is still unset when another
+     * client has already been built. Clients created outside this builder cannot be detected; set the property on
+     * the command line if the application creates any.
+     *
+     * @param connectionPoolSize the maximum number of idle HTTP/1.1 connections kept per client, 0 for no limit
+     * @return this builder
+     */
+    public LdpClientBuilder connectionPoolSize(final int connectionPoolSize) {
+        if (connectionPoolSize < 0) {
+            throw new IllegalArgumentException("Connection pool size may not be negative!");
+        }
+        this.connectionPoolSize = connectionPoolSize;
+        return this;
+    }
+
+    /**
+     * keepAlive.
+     *
+     * <p>Like {@link #connectionPoolSize(int)}, this sets the JVM-wide {@value #KEEP_ALIVE_TIMEOUT} property, and
+     * a conflicting value, or a first value once another client has been built, fails the build. The property
+     * is read in whole seconds, where 0 turns connection reuse off, so a duration shorter than one second is
+     * rejected and a fractional part is rounded up.
+     *
+     * @param keepAlive how long an idle connection is kept in the pool, at least one second
+     * @return this builder
+     */
+    public LdpClientBuilder keepAlive(final Duration keepAlive) {
+        requireNonNull(keepAlive, "Keep-alive may not be null!");
+        if (keepAlive.compareTo(Duration.ofSeconds(1)) < 0) {
+            throw new IllegalArgumentException("Keep-alive must be at least one second!");
+        }
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    /**
+     * windowSize.
+     *
+     * <p>Sets the HTTP/2 flow-control windows the client advertises. Like {@link #connectionPoolSize(int)}, this
+     * sets the JVM-wide {@value #CONNECTION_WINDOW_SIZE} and {@value #STREAM_WINDOW_SIZE} properties, and
+     * conflicting values, or first values once another client has been built, fail the build.
+     *
+     * @param connectionWindowSize the receive window of each connection, in bytes
+     * @param streamWindowSize     the receive window of each stream, in bytes, at most the connection window
+     * @return this builder
+     */
+    public LdpClientBuilder windowSize(final int connectionWindowSize, final int streamWindowSize) {
+        if (streamWindowSize < 1 || connectionWindowSize < streamWindowSize) {
+            throw new IllegalArgumentException("Window sizes must be positive, the stream window at most the "
+                    + "connection window!");
+        }
+        this.connectionWindowSize = connectionWindowSize;
+        this.streamWindowSize = streamWindowSize;
+        return this;
+    }
+
+    /**
+     * shards.
+     *
+     * <p>Spreads requests over {@code count} independent HTTP clients, each with its own connections, so that
+     * traffic to a host is carried by {@code count} HTTP/2 connections instead of one. This lifts the cap set by
+     * the server's concurrent stream limit and a single TCP window, and a lost packet only stalls one shard. More
+     * than one shard may not be combined with a {@link #protocolTracker(ProtocolTracker)}. By default a single
+     * client is used.
+     *
+     * @param count    the number of clients
+     * @param strategy how requests to a host are spread over the clients
+     * @return this builder
+     */
+    public LdpClientBuilder shards(final int count, final ShardStrategy strategy) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one shard is required!");
+        }
+        this.shards = count;
+        this.shardStrategy = requireNonNull(strategy, "Shard strategy may not be null!");
+        return this;
+    }
+
+    /**
+     * binaryConnections.
+     *
+     * <p>Sends binary transfers, that is uploads of non-RDF content and binary downloads, over a connection pool
+     * of their own, so that large uploads and downloads do not fill the connections and HTTP/2 flow-control windows
+     * that small RDF requests rely on. HTTP/1.1 gives every concurrent transfer its own TCP connection. Window
+     * sizes apply per connection and are set JVM-wide with {@link #windowSize(int, int)}. HTTP/2 binary connections
+     * may not be combined with a {@link #protocolTracker(ProtocolTracker)}. By default binary transfers share the
+     * client's connections.
+     *
+     * @param version  the {@link HttpClient.Version} of binary transfers
+     * @param executor the {@link Executor} for the pool's asynchronous tasks, owned by the caller
+     * @return this builder
+     */
+    public LdpClientBuilder binaryConnections(final HttpClient.Version version, final Executor executor) {
+        this.binaryVersion = requireNonNull(version, "Version may not be null!");
+        this.binaryExecutor = requireNonNull(executor, "Executor may not be null!");
+        return this;
+    }
+
+    /**
+     * maxBinarySize.
+     *
+     * <p>Refuses bodies longer than {@code bytes} from the operations that read them whole into memory, such as
+     * {@link LdpClient#getBinary(org.apache.commons.rdf.api.IRI)} and
+     * {@link LdpClient#getResource(org.apache.commons.rdf.api.IRI, java.util.Map)}, failing them with an
+     * {@link LdpClientException} as soon as the {@code Content-Length}, or the part of the body received so far,
+     * exceeds the limit. Larger binaries can be streamed with {@link LdpClient#getBinaryStream}, or spilled to disk
+     * with {@link LdpBodyHandlers#ofSpooledInputStream(long)}. By default there is no limit.
+     *
+     * @param bytes the longest binary body read into memory
+     * @return this builder
+     */
+    public LdpClientBuilder maxBinarySize(final long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Size may not be negative!");
+        }
+        this.maxBinarySize = bytes;
+        return this;
+    }
+
+    /**
+     * adaptiveConcurrency.
+     *
+     * <p>Routes every request through the given limiter, which caps the requests in flight to each host and
+     * adapts the cap to observed latency and 429/503 responses. Keep a reference to the limiter to read its
+     * current limits and queue depths. By default requests are not limited.
+     *
+     * @param limiter an {@link AdaptiveLimiter}
+     * @return this builder
+     */
+    public LdpClientBuilder adaptiveConcurrency(final AdaptiveLimiter limiter) {
+        this.limiter = requireNonNull(limiter, "Limiter may not be null!");
+        return this;
+    }
+
+    /**
+     * rateLimiter.
+     *
+     * <p>Admits every request against the given per-host, per-{@link OperationClass} budget. Requests beyond the
+     * budget wait in a bounded queue and are rejected with an {@link LdpClientRejectedException} when it is full.
+     * By default requests are not rate limited.
+     *
+     * @param rateLimiter a {@link RateLimiter}
+     * @return this builder
+     */
+    public LdpClientBuilder rateLimiter(final RateLimiter rateLimiter) {
+        this.rateLimiter = requireNonNull(rateLimiter, "Rate limiter may not be null!");
+        return this;
+    }
+
+    /**
+     * hedging.
+     *
+     * <p>Hedges GET and HEAD requests according to the given policy, except downloads to a file. Keep a reference
+     * to the policy to read its counters. By default reads are not hedged.
+     *
+     * @param hedging a {@link HedgingPolicy}
+     * @return this builder
+     */
+    public LdpClientBuilder hedging(final HedgingPolicy hedging) {
+        this.hedging = requireNonNull(hedging, "Hedging policy may not be null!");
+        return this;
+    }
+
+    /**
+     * coalescing.
+     *
+     * <p>Lets concurrent identical reads with a {@link String} body share one exchange. Keep a reference to the
+     * coalescer to read its counters. By default every read is sent.
+     *
+     * @param coalescer a {@link ReadCoalescer}
+     * @return this builder
+     */
+    public LdpClientBuilder coalescing(final ReadCoalescer coalescer) {
+        this.coalescer = requireNonNull(coalescer, "Coalescer may not be null!");
+        return this;
+    }
+
+    /**
+     * priorityLanes.
+     *
+     * <p>Admits every request through a lane of the given {@link PriorityLanes}, so that interactive reads are
+     * not queued behind bulk writes or binary transfers. Reads use {@link Lane#INTERACTIVE}, binary requests
+     * {@link Lane#BINARY} and other writes {@link Lane#BACKGROUND}, unless {@link #lane(Lane)} is set. Share one
+     * instance between clients to give them a common budget. By default requests are not prioritised.
+     *
+     * @param lanes {@link PriorityLanes}
+     * @return this builder
+     */
+    public LdpClientBuilder priorityLanes(final PriorityLanes lanes) {
+        this.lanes = requireNonNull(lanes, "Priority lanes may not be null!");
+        return this;
+    }
+
+    /**
+     * lane.
+     *
+     * <p>Places every request of the client in one lane, e.g. {@link Lane#BACKGROUND} for an ingest client.
+     * Only has an effect together with {@link #priorityLanes(PriorityLanes)}.
+     *
+     * @param lane a {@link Lane}
+     * @return this builder
+     */
+    public LdpClientBuilder lane(final Lane lane) {
+        this.lane = requireNonNull(lane, "Lane may not be null!");
+        return this;
+    }
+
+    /**
+     * retry.
+     *
+     * <p>Sends idempotent requests again after transport failures and 429, 502, 503 or 504 responses, as the
+     * policy allows. Request bodies read from an {@link java.io.InputStream} are captured as they are sent, in
+     * memory or spooled to a temporary file, so that a retry or a redirect resends the whole body. Keep a
+     * reference to the policy to read its counters. By default requests are sent once.
+     *
+     * @param retryPolicy a {@link RetryPolicy}
+     * @return this builder
+     */
+    public LdpClientBuilder retry(final RetryPolicy retryPolicy) {
+        this.retryPolicy = requireNonNull(retryPolicy, "Retry policy may not be null!");
+        return this;
+    }
+
+    /**
+     * circuitBreaker.
+     *
+     * <p>Fails requests to a host fast, with an {@link LdpClientCircuitOpenException}, while the breaker's circuit
+     * for that host is open, and probes the host before sending to it again. Keep a reference to the breaker to
+     * read its state. By default requests are always sent.
+     *
+     * @param breaker a {@link CircuitBreaker}
+     * @return this builder
+     */
+    public LdpClientBuilder circuitBreaker(final CircuitBreaker breaker) {
+        this.breaker = requireNonNull(breaker, "Circuit breaker may not be null!");
+        return this;
+    }
+
+    /**
+     * loadBalancer.
+     *
+     * <p>Sends requests addressed to the balancer's logical base URL to one of its nodes instead, and lets the
+     * balancer probe the nodes' health in the background until the client is closed. Keep a reference to the
+     * balancer to read its per-node load. By default requests go to the host each identifier names.
+     *
+     * @param balancer a {@link LoadBalancer}
+     * @return this builder
+     */
+    public LdpClientBuilder loadBalancer(final LoadBalancer balancer) {
+        this.balancer = requireNonNull(balancer, "Load balancer may not be null!");
+        return this;
+    }
+
+    /**
+     * protocolTracker.
+     *
+     * <p>Tracks the protocol negotiated with each host and upgrades cleartext connections to HTTP/2 before the
+     * first write to a host, and again after the connection is lost, so that callers need not call
+     * {@link AsyncLdpClient#initUpgrade}. Hosts that refuse HTTP/2 are sent HTTP/1.1 requests, using the pool
+     * tuned by {@link #connectionPoolSize(int)} and {@link #keepAlive(Duration)}. Keep a reference to the tracker
+     * to read each host's protocol. Only applies to clients preferring HTTP/2, the JDK default. The tracker keeps
+     * one state per host, which an upgrade on one shard would mark as HTTP/2 for all of them, so it may not be
+     * combined with {@link #shards(int, ShardStrategy)}, nor with HTTP/2 {@link #binaryConnections}.
+     *
+     * @param protocols a {@link ProtocolTracker}
+     * @return this builder
+     */
+    public LdpClientBuilder protocolTracker(final ProtocolTracker protocols) {
+        this.protocols = requireNonNull(protocols, "Protocol tracker may not be null!");
+        return this;
+    }
+
+    /**
+     * interceptor.
+     *
+     * <p>Passes every request through {@code interceptor}, after any interceptors added before it. An interceptor
+     * sees each operation once, whatever retries, hedges or shared reads follow, and may rewrite the request or
+     * answer it itself. By default requests are sent as each operation builds them.
+     *
+     * @param interceptor an {@link Interceptor}
+     * @return this builder
+     */
+    public LdpClientBuilder interceptor(final Interceptor interceptor) {
+        interceptors.add(requireNonNull(interceptor, "Interceptor may not be null!"));
+        return this;
+    }
+
+    /**
+     * build.
+     *
+     * @return a new blocking {@link LdpClient}
+     */
+    public LdpClient build() {
+        return new LdpClientImpl(buildAsyncImpl());
+    }
+
+    /**
+     * buildAsync.
+     *
+     * @return a new {@link AsyncLdpClient}
+     */
+    public AsyncLdpClient buildAsync() {
+        return buildAsyncImpl();
+    }
+
+    AsyncLdpClientImpl buildAsyncImpl() {
+        if (virtualThreads && nonNull(executor)) {
+            throw new IllegalStateException("An executor may not be combined with virtual threads!");
+        }
+        if (shards > 1 && nonNull(protocols)) {
+            throw new IllegalStateException("A protocol tracker may not be combined with shards!");
+        }
+        if (binaryVersion == HttpClient.Version.HTTP_2 && nonNull(protocols)) {
+            throw new IllegalStateException("A protocol tracker may not be combined with HTTP/2 binary connections!");
+        }
+        final Map<String, String> properties = new LinkedHashMap<>();
+        if (nonNull(connectionPoolSize)) {
+            properties.put(CONNECTION_POOL_SIZE, String.valueOf(connectionPoolSize));
+        }
+        if (nonNull(keepAlive)) {
+            properties.put(KEEP_ALIVE_TIMEOUT, String.valueOf(keepAlive.getSeconds() + (keepAlive.getNano() > 0
+                    ? 1 : 0)));
+        }
+        if (nonNull(connectionWindowSize)) {
+            properties.put(CONNECTION_WINDOW_SIZE, String.valueOf(connectionWindowSize));
+            properties.put(STREAM_WINDOW_SIZE, String.valueOf(streamWindowSize));
+        }
+        setJvmProperties(properties);
+        final ExecutorService owned;
+        if (nonNull(executor)) {
+            owned = null;
+        } else if (virtualThreads) {
+            owned = newVirtualThreadExecutor();
+        } else {
+            owned = Executors.newCachedThreadPool(task -> {
+                final Thread thread = new Thread(task, "ldp-client-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        try {
+            final HttpClient client = buildHttpClient(nonNull(owned) ? owned : executor);
+            final BinaryRoute binaryRoute = nonNull(binaryVersion) ? new BinaryRoute(buildShard(binaryExecutor,
+                    binaryVersion)) : null;
+            final AsyncLdpClientImpl async = new AsyncLdpClientImpl(client, limiter, rateLimiter, hedging, coalescer,
+                    lanes, lane, requestTimeout, retryPolicy, breaker, balancer, binaryRoute, maxBinarySize, protocols,
+                    interceptors, owned, true);
+            if (nonNull(balancer)) {
+                balancer.attach(client);
+            }
+            return async;
+        } catch (RuntimeException ex) {
+            if (nonNull(owned)) {
+                owned.shutdownNow();
+            }
+            throw ex;
+        }
+    }
+
+    private HttpClient buildHttpClient(final Executor exec) {
+        if (shards == 1) {
+            return buildShard(exec, version);
+        }
+        final List<HttpClient> clients = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            clients.add(buildShard(exec, version));
+        }
+        return new ShardedHttpClient(clients, shardStrategy);
+    }
+
+    private HttpClient buildShard(final Executor exec, final HttpClient.Version version) {
+        final HttpClient.Builder builder = HttpClient.newBuilder().followRedirects(redirect).executor(exec);
+        if (nonNull(connectTimeout)) {
+            builder.connectTimeout(connectTimeout);
+        }
+        if (nonNull(version)) {
+            builder.version(version);
+        }
+        if (nonNull(sslContext)) {
+            builder.sslContext(sslContext);
+        }
+        if (nonNull(sslParameters)) {
+            builder.sslParameters(sslParameters);
+        }
+        final HttpClient client = builder.build();
+        CLIENT_BUILT.set(true);
+        return client;
+    }
+
+    /**
+     * Look up the virtual thread executor reflectively, since this module still targets Java 11.
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later", ex);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to create a virtual thread executor", ex);
+        }
+    }
+
+    /**
+     * Set JVM-wide system properties, or none of them if any is already set to another value, or is unset but
+     * may already have been read by the JDK because a client was built.
+     */
+    private static synchronized void setJvmProperties(final Map<String, String> properties) {
+        properties.forEach((key, value) -> {
+            final String current = System.getProperty(key);
+            if (nonNull(current) && !current.equals(value)) {
+                throw new IllegalStateException(key + " is already set to " + current + " for this JVM, so it "
+                        + "cannot be set to " + value + "!");
+            }
+            if (current == null && CLIENT_BUILT.get()) {
+                throw new IllegalStateException(key + " cannot be set to " + value + " once a client has been "
+                        + "built in this JVM, since the JDK may already have read it!");
+            }
+        });
+        properties.forEach((key, value) -> {
+            if (!value.equals(System.setProperty(key, value))) {
+                log.debug("Set {} to {} for this JVM", key, value);
+            }
+        });
+    }
+}
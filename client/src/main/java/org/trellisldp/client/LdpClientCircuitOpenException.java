@@ -0,0 +1,36 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+/**
+ * LdpClientCircuitOpenException.
+ *
+ * <p>Thrown when a request is failed fast, without being sent, because the {@link CircuitBreaker} for its host is
+ * not closed.
+ *
+ * @author christopher-johnson
+ */
+public class LdpClientCircuitOpenException extends LdpClientRejectedException {
+    private static final long serialVersionUID = 2871936104751392853L;
+
+    /**
+     * Create a new LdpClientCircuitOpenException with a custom message.
+     *
+     * @param message the message
+     */
+    public LdpClientCircuitOpenException(final String message) {
+        super(message);
+    }
+}
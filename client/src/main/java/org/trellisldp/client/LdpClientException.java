@@ -56,4 +56,19 @@ public class LdpClientException extends Exception {
     public LdpClientException(final Throwable cause) {
         super(cause);
     }
+
+    /**
+     * Create a new LdpClientException that may omit its stack trace. The client raises its own failures without
+     * one, since they are routine under load and filling in a stack trace costs more than the rest of the failure;
+     * a transport failure keeps its trace on its cause.
+     *
+     * @param message the message
+     * @param cause the cause
+     * @param enableSuppression whether suppressed exceptions may be added
+     * @param writableStackTrace whether the stack trace is filled in
+     */
+    protected LdpClientException(final String message, final Throwable cause, final boolean enableSuppression,
+            final boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
 }
@@ -0,0 +1,36 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+/**
+ * LdpClientRejectedException.
+ *
+ * <p>Thrown when the client sheds a request locally, without sending it, because its admission queue is full. It
+ * carries no stack trace.
+ *
+ * @author christopher-johnson
+ */
+public class LdpClientRejectedException extends LdpClientException {
+    private static final long serialVersionUID = 4319707546153426207L;
+
+    /**
+     * Create a new LdpClientRejectedException with a custom message.
+     *
+     * @param message the message
+     */
+    public LdpClientRejectedException(final String message) {
+        super(message, null, false, false);
+    }
+}
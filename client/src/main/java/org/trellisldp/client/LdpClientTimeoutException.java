@@ -0,0 +1,46 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+/**
+ * LdpClientTimeoutException.
+ *
+ * <p>Thrown when a request misses its deadline, whether connecting, waiting for a response or waiting in the
+ * client's own admission queues. The request is cancelled. It carries no stack trace.
+ *
+ * @author christopher-johnson
+ */
+public class LdpClientTimeoutException extends LdpClientException {
+    private static final long serialVersionUID = -6530871625393718846L;
+
+    /**
+     * Create a new LdpClientTimeoutException with a custom message.
+     *
+     * @param message the message
+     */
+    public LdpClientTimeoutException(final String message) {
+        super(message, null, false, false);
+    }
+
+    /**
+     * Create a new LdpClientTimeoutException with a custom message and known cause.
+     *
+     * @param message the message
+     * @param cause the cause
+     */
+    public LdpClientTimeoutException(final String message, final Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+/**
+ * LdpOutcome.
+ *
+ * <p>The outcomes of a request that callers are expected to act on, as an {@link LdpResponse} reports them. They
+ * are values, not failures: only a request that could not be completed fails with an {@link LdpClientException}.
+ *
+ * @author christopher-johnson
+ */
+public enum LdpOutcome {
+
+    /** A 2xx response. */
+    SUCCESS,
+
+    /** A 404 or 410 response: the resource does not exist, or no longer does. */
+    NOT_FOUND,
+
+    /** A 409 response: the request conflicts with the state of the resource. */
+    CONFLICT,
+
+    /** A 412 response: a conditional request whose precondition, such as {@code If-Match}, did not hold. */
+    PRECONDITION_FAILED,
+
+    /** A 429 response that was not retried, or was retried too often. */
+    TOO_MANY_REQUESTS,
+
+    /** Any other status, which the caller must inspect. */
+    OTHER;
+
+    /**
+     * of.
+     *
+     * @param status an HTTP status code
+     * @return the outcome of a response with that status
+     */
+    public static LdpOutcome of(final int status) {
+        if (status >= 200 && status < 300) {
+            return SUCCESS;
+        }
+        switch (status) {
+            case 404:
+            case 410:
+                return NOT_FOUND;
+            case 409:
+                return CONFLICT;
+            case 412:
+                return PRECONDITION_FAILED;
+            case 429:
+                return TOO_MANY_REQUESTS;
+            default:
+                return OTHER;
+        }
+    }
+}
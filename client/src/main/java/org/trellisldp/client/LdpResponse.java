@@ -0,0 +1,314 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.Objects.requireNonNull;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static javax.ws.rs.core.HttpHeaders.ETAG;
+import static javax.ws.rs.core.HttpHeaders.LINK;
+import static javax.ws.rs.core.HttpHeaders.LOCATION;
+import static javax.ws.rs.core.HttpHeaders.RETRY_AFTER;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * LdpResponse.
+ *
+ * <p>The response to a single request: its status, the headers LDP clients act on and its body. The body is
+ * materialised the first time it is read, so a caller that only needs the status or the {@code ETag} of a response
+ * never decodes it. Responses to writes carry no body.
+ *
+ * @param <T> the type of the body
+ *
+ * @author christopher-johnson
+ */
+public final class LdpResponse<T> {
+
+    private static final String MEMENTO_DATETIME = "Memento-Datetime";
+
+    private final HttpResponse<?> response;
+    private final Supplier<? extends T> materialise;
+    private final Lock lock = new ReentrantLock();
+    private boolean materialised;
+    private T body;
+
+    private LdpResponse(final HttpResponse<?> response, final Supplier<? extends T> materialise) {
+        this.response = requireNonNull(response, "Response may not be null!");
+        this.materialise = materialise;
+    }
+
+    /**
+     * A response whose body is that of {@code response}.
+     */
+    static <T> LdpResponse<T> of(final HttpResponse<T> response) {
+        return new LdpResponse<>(response, response::body);
+    }
+
+    /**
+     * A response whose body is {@code response}'s body mapped by {@code materialise} when it is first read.
+     */
+    static <B, T> LdpResponse<T> of(final HttpResponse<B> response, final Function<? super B, ? extends T>
+            materialise) {
+        return new LdpResponse<>(response, () -> materialise.apply(response.body()));
+    }
+
+    /**
+     * A response whose body is {@code response}'s bytes decoded as text, in the charset its content type names or
+     * UTF-8.
+     */
+    static LdpResponse<String> text(final HttpResponse<byte[]> response) {
+        return of(response, bytes -> new String(bytes, charset(response.headers())));
+    }
+
+    /**
+     * A response without a body.
+     */
+    static LdpResponse<Void> empty(final HttpResponse<?> response) {
+        return new LdpResponse<>(response, () -> null);
+    }
+
+    /**
+     * getUri.
+     *
+     * @return the URI of the request that produced this response
+     */
+    public URI getUri() {
+        return response.uri();
+    }
+
+    /**
+     * getStatus.
+     *
+     * @return the HTTP status code
+     */
+    public int getStatus() {
+        return response.statusCode();
+    }
+
+    /**
+     * isSuccess.
+     *
+     * @return true if the status is 2xx
+     */
+    public boolean isSuccess() {
+        return getStatus() >= 200 && getStatus() < 300;
+    }
+
+    /**
+     * getOutcome.
+     *
+     * @return the outcome of the request, which a 404, 409, 412 or 429 response reports as a value
+     */
+    public LdpOutcome getOutcome() {
+        return LdpOutcome.of(getStatus());
+    }
+
+    /**
+     * getRetryAfter.
+     *
+     * @return how long the server asked the client to wait before trying again, from a {@code Retry-After} header
+     *     in seconds or as a date, if it sent a valid one
+     */
+    public Optional<Duration> getRetryAfter() {
+        return retryAfter(response.headers());
+    }
+
+    /**
+     * getHeaders.
+     *
+     * @return all response headers
+     */
+    public Map<String, List<String>> getHeaders() {
+        return response.headers().map();
+    }
+
+    /**
+     * getEtag.
+     *
+     * @return the {@code ETag} of the resource, if the server returned one
+     */
+    public Optional<String> getEtag() {
+        return response.headers().firstValue(ETAG);
+    }
+
+    /**
+     * getLocation.
+     *
+     * @return the {@code Location} header resolved against the request URI, if the server returned one
+     */
+    public Optional<URI> getLocation() {
+        return response.headers().firstValue(LOCATION).map(location -> getUri().resolve(location));
+    }
+
+    /**
+     * getLinks.
+     *
+     * @return each link of the {@code Link} headers, as {@code <target>; param=value}
+     */
+    public List<String> getLinks() {
+        final List<String> links = new ArrayList<>();
+        response.headers().allValues(LINK).forEach(value -> split(value, links));
+        return links;
+    }
+
+    /**
+     * getLinks.
+     *
+     * @param rel a link relation, such as {@code type} or {@code timemap}
+     * @return the targets of the links with that relation
+     */
+    public List<String> getLinks(final String rel) {
+        final List<String> targets = new ArrayList<>();
+        for (final String link : getLinks()) {
+            final int end = link.indexOf('>');
+            if (link.startsWith("<") && end > 0 && hasRel(link.substring(end + 1), rel)) {
+                targets.add(link.substring(1, end));
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * getMementoDatetime.
+     *
+     * @return the {@code Memento-Datetime} of a memento, if the server returned a valid one
+     */
+    public Optional<Instant> getMementoDatetime() {
+        return response.headers().firstValue(MEMENTO_DATETIME).flatMap(LdpResponse::date);
+    }
+
+    /**
+     * getBody.
+     *
+     * @return the body, materialised on the first call, or null for a response without one
+     */
+    public T getBody() {
+        lock.lock();
+        try {
+            if (!materialised) {
+                body = materialise.get();
+                materialised = true;
+            }
+            return body;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LdpResponse{" + getUri() + ", status=" + getStatus() + "}";
+    }
+
+    /**
+     * Read a {@code Retry-After} header given either in seconds or as a date, a date in the past meaning no wait.
+     */
+    static Optional<Duration> retryAfter(final HttpHeaders headers) {
+        return headers.firstValue(RETRY_AFTER).flatMap(value -> {
+            try {
+                final Duration wait = Duration.ofSeconds(Long.parseLong(value.trim()));
+                return wait.isNegative() ? Optional.empty() : Optional.of(wait);
+            } catch (NumberFormatException ex) {
+                return date(value).map(date -> {
+                    final Duration wait = Duration.between(Instant.now(), date);
+                    return wait.isNegative() ? Duration.ZERO : wait;
+                });
+            }
+        });
+    }
+
+    private static Optional<Instant> date(final String value) {
+        try {
+            return Optional.of(Instant.from(RFC_1123_DATE_TIME.parse(value.trim())));
+        } catch (DateTimeParseException ex) {
+            return Optional.empty();
+        }
+    }
+
+    static Charset charset(final HttpHeaders headers) {
+        return headers.firstValue(CONTENT_TYPE).flatMap(type -> {
+            for (final String param : type.split(";")) {
+                final String[] pair = param.trim().split("=", 2);
+                if (pair.length == 2 && pair[0].trim().equalsIgnoreCase("charset")) {
+                    try {
+                        return Optional.of(Charset.forName(pair[1].trim().replace("\"", "")));
+                    } catch (IllegalArgumentException ex) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            return Optional.empty();
+        }).orElse(UTF_8);
+    }
+
+    /**
+     * Split a {@code Link} header value into its links, at commas outside URIs and quoted strings.
+     */
+    private static void split(final String value, final List<String> links) {
+        boolean uri = false;
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' && !uri) {
+                quoted = !quoted;
+            } else if (c == '<' && !quoted) {
+                uri = true;
+            } else if (c == '>' && !quoted) {
+                uri = false;
+            } else if (c == ',' && !uri && !quoted) {
+                add(value.substring(start, i), links);
+                start = i + 1;
+            }
+        }
+        add(value.substring(start), links);
+    }
+
+    private static void add(final String link, final List<String> links) {
+        if (!link.isBlank()) {
+            links.add(link.trim());
+        }
+    }
+
+    private static boolean hasRel(final String params, final String rel) {
+        for (final String param : params.split(";")) {
+            final String[] pair = param.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].trim().equalsIgnoreCase("rel")) {
+                for (final String value : pair[1].trim().replace("\"", "").split("\\s+")) {
+                    if (value.equals(rel)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpRequest.BodyPublishers.noBody;
+import static java.net.http.HttpResponse.BodyHandlers.discarding;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * LoadBalancer.
+ *
+ * <p>Spreads requests for one logical base URL over several Trellis nodes serving the same data. Requests whose
+ * scheme and authority match the logical base are rewritten to a node chosen by the configured {@link Strategy};
+ * other requests are sent unchanged. Two healthy nodes are drawn at random and the better one is used, which
+ * avoids herding on a single node when many clients share the same view of the load.
+ *
+ * <p>A node that fails several requests in a row (transport failures or 5xx responses) is ejected for a while, as is
+ * a node that fails a background health probe; a successful probe reinstates it early. If every node is ejected,
+ * requests are spread over all of them. With {@link Builder#pinWrites} writes all go to the first healthy node, in
+ * the configured order, while reads are spread. One balancer may be shared by several clients.
+ *
+ * @author christopher-johnson
+ */
+public final class LoadBalancer {
+
+    private static final Logger log = getLogger(LoadBalancer.class);
+    private static final double EWMA_DECAY = 0.3;
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * How a node is chosen among the healthy ones.
+     */
+    public enum Strategy {
+        /** The node with the fewest requests in flight. */
+        LEAST_OUTSTANDING,
+        /** The node with the lowest recent latency weighted by its requests in flight. */
+        LATENCY_EWMA
+    }
+
+    private final String scheme;
+    private final String authority;
+    private final List<Node> nodes;
+    private final Strategy strategy;
+    private final boolean pinWrites;
+    private final int ejectAfter;
+    private final long ejectNanos;
+    private final long probeIntervalNanos;
+    private final String probePath;
+    private final List<HttpClient> clients = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    private LoadBalancer(final Builder builder) {
+        this.scheme = builder.base.getScheme();
+        this.authority = builder.base.getRawAuthority();
+        final List<Node> all = new ArrayList<>();
+        builder.uris.forEach(uri -> all.add(new Node(uri)));
+        this.nodes = List.copyOf(all);
+        this.strategy = builder.strategy;
+        this.pinWrites = builder.pinWrites;
+        this.ejectAfter = builder.ejectAfter;
+        this.ejectNanos = builder.ejectFor.toNanos();
+        this.probeIntervalNanos = builder.probeInterval == null ? -1 : builder.probeInterval.toNanos();
+        this.probePath = builder.probePath;
+    }
+
+    /**
+     * newBuilder.
+     *
+     * @param base the logical base URL that requests are addressed to
+     * @return a new {@link Builder}
+     */
+    public static Builder newBuilder(final URI base) {
+        return new Builder(base);
+    }
+
+    /**
+     * getNodes.
+     *
+     * @return the nodes, in the configured order
+     */
+    public List<URI> getNodes() {
+        final List<URI> uris = new ArrayList<>();
+        nodes.forEach(node -> uris.add(node.base));
+        return uris;
+    }
+
+    /**
+     * getOutstanding.
+     *
+     * @param node a node
+     * @return the number of requests in flight to the node
+     */
+    public int getOutstanding(final URI node) {
+        return find(node).outstanding.get();
+    }
+
+    /**
+     * getSelected.
+     *
+     * @param node a node
+     * @return the number of requests sent to the node
+     */
+    public long getSelected(final URI node) {
+        return find(node).selected.get();
+    }
+
+    /**
+     * getLatency.
+     *
+     * @param node a node
+     * @return the moving average latency of the node, if it has answered a request
+     */
+    public Optional<Duration> getLatency(final URI node) {
+        final long ewma = find(node).ewma.get();
+        return ewma < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(ewma));
+    }
+
+    /**
+     * isEjected.
+     *
+     * @param node a node
+     * @return whether the node is currently ejected
+     */
+    public boolean isEjected(final URI node) {
+        return find(node).isEjected(System.nanoTime());
+    }
+
+    /**
+     * getEjections.
+     *
+     * @param node a node
+     * @return the number of times the node was ejected
+     */
+    public long getEjections(final URI node) {
+        return find(node).ejections.get();
+    }
+
+    private Node find(final URI base) {
+        return nodes.stream().filter(node -> node.base.equals(base)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown node " + base));
+    }
+
+    /**
+     * Choose the node for a request, or return null if the request is not addressed to the logical base.
+     */
+    Node select(final URI uri, final boolean write) {
+        if (!scheme.equalsIgnoreCase(uri.getScheme()) || !authority.equalsIgnoreCase(uri.getRawAuthority())) {
+            return null;
+        }
+        final long now = System.nanoTime();
+        final List<Node> healthy = new ArrayList<>(nodes.size());
+        for (final Node node : nodes) {
+            if (!node.isEjected(now)) {
+                healthy.add(node);
+            }
+        }
+        final List<Node> candidates = healthy.isEmpty() ? nodes : healthy;
+        final Node chosen;
+        if (write && pinWrites) {
+            chosen = candidates.get(0);
+        } else if (candidates.size() == 1) {
+            chosen = candidates.get(0);
+        } else {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int first = random.nextInt(candidates.size());
+            final int second = (first + 1 + random.nextInt(candidates.size() - 1)) % candidates.size();
+            final Node a = candidates.get(first);
+            final Node b = candidates.get(second);
+            chosen = score(b) < score(a) ? b : a;
+        }
+        chosen.selected.incrementAndGet();
+        chosen.outstanding.incrementAndGet();
+        return chosen;
+    }
+
+    private double score(final Node node) {
+        final int outstanding = node.outstanding.get();
+        if (strategy == Strategy.LEAST_OUTSTANDING) {
+            return outstanding;
+        }
+        final long ewma = node.ewma.get();
+        return (ewma < 0 ? 0 : ewma) * (outstanding + 1.0);
+    }
+
+    /**
+     * Start probing the nodes in the background, using the given client, until every client has detached.
+     */
+    void attach(final HttpClient client) {
+        clients.add(client);
+        if (probeIntervalNanos > 0 && probing.compareAndSet(false, true)) {
+            schedule();
+        }
+    }
+
+    void detach(final HttpClient client) {
+        clients.remove(client);
+    }
+
+    private void schedule() {
+        CompletableFuture.delayedExecutor(probeIntervalNanos, NANOSECONDS).execute(this::probe);
+    }
+
+    /**
+     * Probe every node with the first attached client, then schedule the next round, or stop probing if no client
+     * is attached. The client is read from a snapshot, so one detaching meanwhile cannot fail the round, and the
+     * next round is scheduled whatever happens to this one.
+     */
+    private void probe() {
+        final Iterator<HttpClient> attached = clients.iterator();
+        if (!attached.hasNext()) {
+            probing.set(false);
+            if (!clients.isEmpty() && probing.compareAndSet(false, true)) {
+                schedule();
+            }
+            return;
+        }
+        final HttpClient client = attached.next();
+        final List<CompletableFuture<?>> probes = new ArrayList<>();
+        try {
+            for (final Node node : nodes) {
+                try {
+                    final HttpRequest req = HttpRequest.newBuilder(URI.create(node.prefix + probePath))
+                            .method("HEAD", noBody()).timeout(PROBE_TIMEOUT).build();
+                    probes.add(client.sendAsync(req, discarding()).handle((response, ex) -> {
+                        node.probed(response != null && response.statusCode() < 500);
+                        return null;
+                    }));
+                } catch (RuntimeException ex) {
+                    node.probed(false);
+                }
+            }
+        } finally {
+            CompletableFuture.allOf(probes.toArray(new CompletableFuture<?>[0])).whenComplete((v, ex) -> schedule());
+        }
+    }
+
+    /**
+     * A node, with its load and health.
+     */
+    final class Node {
+
+        private final URI base;
+        private final String prefix;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicLong selected = new AtomicLong();
+        private final AtomicLong ewma = new AtomicLong(-1);
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicLong ejections = new AtomicLong();
+        private volatile long ejectedUntil;
+        private volatile boolean ejected;
+
+        private Node(final URI base) {
+            this.base = base;
+            this.prefix = base.getScheme() + "://" + base.getRawAuthority();
+        }
+
+        /**
+         * Rewrite a URI addressed to the logical base to this node.
+         */
+        URI rewrite(final URI uri) {
+            final String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+            return URI.create(prefix + path + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery()));
+        }
+
+        /**
+         * Record the end of a request sent to this node.
+         */
+        void complete(final long latencyNanos, final boolean failed) {
+            outstanding.decrementAndGet();
+            if (failed) {
+                if (failures.incrementAndGet() >= ejectAfter) {
+                    eject("after " + failures.get() + " consecutive failures");
+                }
+                return;
+            }
+            failures.set(0);
+            ewma.accumulateAndGet(latencyNanos, (avg, sample) -> avg < 0 ? sample
+                    : (long) (avg + EWMA_DECAY * (sample - avg)));
+        }
+
+        /**
+         * Record the end of a request that was abandoned, without judging the node.
+         */
+        void abandon() {
+            outstanding.decrementAndGet();
+        }
+
+        private void probed(final boolean healthy) {
+            if (healthy) {
+                failures.set(0);
+                if (isEjected(System.nanoTime())) {
+                    log.info("Reinstating {} after a successful probe", base);
+                }
+                ejected = false;
+            } else {
+                eject("after a failed probe");
+            }
+        }
+
+        private void eject(final String reason) {
+            final long now = System.nanoTime();
+            final boolean wasEjected = isEjected(now);
+            ejectedUntil = now + ejectNanos;
+            ejected = true;
+            if (!wasEjected) {
+                ejections.incrementAndGet();
+                log.warn("Ejecting {} {}", base, reason);
+            }
+        }
+
+        /**
+         * Whether the node is ejected: a node is ejected until its ejection expires or a probe reinstates it.
+         */
+        private boolean isEjected(final long now) {
+            return ejected && now - ejectedUntil < 0;
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static final class Builder {
+
+        private final URI base;
+        private final List<URI> uris = new ArrayList<>();
+        private Strategy strategy = Strategy.LEAST_OUTSTANDING;
+        private boolean pinWrites;
+        private int ejectAfter = 3;
+        private Duration ejectFor = Duration.ofSeconds(30);
+        private Duration probeInterval = Duration.ofSeconds(10);
+        private String probePath;
+
+        private Builder(final URI base) {
+            this.base = requireNonNull(base, "Base URL may not be null!");
+            if (base.getScheme() == null || base.getRawAuthority() == null) {
+                throw new IllegalArgumentException("Base URL must be absolute: " + base);
+            }
+            this.probePath = base.getRawPath() == null || base.getRawPath().isEmpty() ? "/" : base.getRawPath();
+        }
+
+        /**
+         * node.
+         *
+         * @param node the base URL of a node; only its scheme and authority are used
+         * @return this builder
+         */
+        public Builder node(final URI node) {
+            requireNonNull(node, "Node may not be null!");
+            if (node.getScheme() == null || node.getRawAuthority() == null) {
+                throw new IllegalArgumentException("Node URL must be absolute: " + node);
+            }
+            uris.add(node);
+            return this;
+        }
+
+        /**
+         * strategy.
+         *
+         * @param strategy the {@link Strategy}, {@code LEAST_OUTSTANDING} by default
+         * @return this builder
+         */
+        public Builder strategy(final Strategy strategy) {
+            this.strategy = requireNonNull(strategy, "Strategy may not be null!");
+            return this;
+        }
+
+        /**
+         * pinWrites.
+         *
+         * @param pinWrites whether to send every write to the first healthy node, while spreading reads
+         * @return this builder
+         */
+        public Builder pinWrites(final boolean pinWrites) {
+            this.pinWrites = pinWrites;
+            return this;
+        }
+
+        /**
+         * ejection.
+         *
+         * @param consecutiveFailures the number of failures in a row after which a node is ejected, 3 by default
+         * @param duration            how long a node stays ejected, 30s by default
+         * @return this builder
+         */
+        public Builder ejection(final int consecutiveFailures, final Duration duration) {
+            if (consecutiveFailures < 1) {
+                throw new IllegalArgumentException("At least one failure must be allowed!");
+            }
+            this.ejectAfter = consecutiveFailures;
+            this.ejectFor = requireNonNull(duration, "Ejection duration may not be null!");
+            return this;
+        }
+
+        /**
+         * healthCheck.
+         *
+         * @param interval how often every node is probed with a HEAD request, 10s by default, or null for never
+         * @param path     the path probed, the base URL's path by default
+         * @return this builder
+         */
+        public Builder healthCheck(final Duration interval, final String path) {
+            if (interval != null && (interval.isNegative() || interval.isZero())) {
+                throw new IllegalArgumentException("Health check interval must be positive!");
+            }
+            this.probeInterval = interval;
+            this.probePath = requireNonNull(path, "Path may not be null!");
+            return this;
+        }
+
+        /**
+         * build.
+         *
+         * @return a new {@link LoadBalancer}
+         */
+        public LoadBalancer build() {
+            if (uris.isEmpty()) {
+                throw new IllegalStateException("At least one node is required!");
+            }
+            return new LoadBalancer(this);
+        }
+    }
+}
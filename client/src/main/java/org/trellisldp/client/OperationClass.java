@@ -0,0 +1,34 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+/**
+ * OperationClass.
+ *
+ * <p>Coarse classes of requests that can be budgeted separately.
+ *
+ * @author christopher-johnson
+ */
+public enum OperationClass {
+
+    /** Reads of RDF resources and metadata (GET, HEAD, OPTIONS). */
+    READ,
+
+    /** Writes of RDF resources (PUT, POST, PATCH, DELETE). */
+    WRITE,
+
+    /** Reads and writes of binary (non-RDF) content. */
+    BINARY
+}
@@ -0,0 +1,307 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PriorityLanes.
+ *
+ * <p>Bulkheads for requests of different priority. Every {@link Lane} has its own concurrency budget and bounded
+ * queue, and all lanes share an overall concurrency limit. Whenever a slot frees up it goes to the highest-priority
+ * lane with a waiting request and room in its own budget, so interactive reads are admitted ahead of queued bulk
+ * work. A request that finds its lane's queue full fails at once with an {@link LdpClientRejectedException}.
+ * Latency is measured per lane from admission request to completion, queueing included. One instance may be
+ * shared by several clients, e.g. an ingest client and a UI client.
+ *
+ * @author christopher-johnson
+ */
+public final class PriorityLanes {
+
+    static final int WINDOW = 1024;
+
+    private final int maxConcurrent;
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+    private final Lock lock = new ReentrantLock();
+    private int inFlight;
+
+    private PriorityLanes(final int maxConcurrent, final Map<Lane, int[]> limits) {
+        this.maxConcurrent = maxConcurrent;
+        for (final Lane lane : Lane.values()) {
+            final int[] limit = limits.getOrDefault(lane, new int[] {maxConcurrent, Builder.DEFAULT_MAX_QUEUED});
+            lanes.put(lane, new LaneState(lane, limit[0], limit[1]));
+        }
+    }
+
+    /**
+     * newBuilder.
+     *
+     * @return a new {@link Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * getInFlight.
+     *
+     * @param lane a {@link Lane}
+     * @return the number of admitted requests in the lane that have not completed
+     */
+    public int getInFlight(final Lane lane) {
+        return (int) lanes.get(lane).stats()[0];
+    }
+
+    /**
+     * getQueueDepth.
+     *
+     * @param lane a {@link Lane}
+     * @return the number of requests waiting in the lane
+     */
+    public int getQueueDepth(final Lane lane) {
+        return (int) lanes.get(lane).stats()[1];
+    }
+
+    /**
+     * getRejected.
+     *
+     * @param lane a {@link Lane}
+     * @return the number of requests rejected because the lane's queue was full
+     */
+    public long getRejected(final Lane lane) {
+        return lanes.get(lane).stats()[2];
+    }
+
+    /**
+     * getCompleted.
+     *
+     * @param lane a {@link Lane}
+     * @return the number of requests that completed in the lane
+     */
+    public long getCompleted(final Lane lane) {
+        return lanes.get(lane).latency.count();
+    }
+
+    /**
+     * getLatency.
+     *
+     * @param lane       a {@link Lane}
+     * @param percentile a percentile between 0 and 100
+     * @return the latency at that percentile over the lane's recent requests, if any have completed
+     */
+    public Optional<Duration> getLatency(final Lane lane, final double percentile) {
+        final long nanos = lanes.get(lane).latency.percentile(percentile);
+        return nanos < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(nanos));
+    }
+
+    /**
+     * Admit a request to a lane, completing when it may proceed. Cancelling the returned future removes the
+     * request from the queue.
+     */
+    CompletableFuture<Permit> acquire(final Lane lane) {
+        final LaneState state = lanes.get(requireNonNull(lane, "Lane may not be null!"));
+        final Permit permit = new Permit(state);
+        lock.lock();
+        try {
+            if (state.queue.isEmpty() && inFlight < maxConcurrent && state.inFlight < state.maxConcurrent) {
+                inFlight++;
+                state.inFlight++;
+                permit.granted.complete(permit);
+                return permit.granted;
+            }
+            if (state.queue.size() >= state.maxQueued) {
+                state.rejected++;
+                return CompletableFuture.failedFuture(new LdpClientRejectedException(
+                        "The " + lane + " lane is full with " + state.maxQueued + " requests queued"));
+            }
+            state.queue.add(permit);
+        } finally {
+            lock.unlock();
+        }
+        permit.granted.whenComplete((p, ex) -> {
+            if (permit.granted.isCancelled()) {
+                lock.lock();
+                try {
+                    state.queue.remove(permit);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+        return permit.granted;
+    }
+
+    /**
+     * Free a slot and hand it, and any others that are free, to the highest-priority waiters.
+     */
+    private void release(final LaneState state) {
+        final List<Permit> granted = new ArrayList<>();
+        lock.lock();
+        try {
+            inFlight--;
+            state.inFlight--;
+            for (final LaneState candidate : lanes.values()) {
+                while (inFlight < maxConcurrent && candidate.inFlight < candidate.maxConcurrent
+                        && !candidate.queue.isEmpty()) {
+                    final Permit next = candidate.queue.poll();
+                    if (!next.granted.isDone()) {
+                        inFlight++;
+                        candidate.inFlight++;
+                        granted.add(next);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (final Permit next : granted) {
+            if (!next.granted.complete(next)) {
+                next.abandon();
+            }
+        }
+    }
+
+    /**
+     * A slot in a lane. Releasing it more than once has no effect.
+     */
+    final class Permit {
+
+        private final LaneState state;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final CompletableFuture<Permit> granted = new CompletableFuture<>();
+
+        private Permit(final LaneState state) {
+            this.state = state;
+        }
+
+        Lane getLane() {
+            return state.lane;
+        }
+
+        /**
+         * Release the slot, recording the request's latency.
+         */
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                state.latency.add(System.nanoTime() - start);
+                PriorityLanes.this.release(state);
+            }
+        }
+
+        /**
+         * Release the slot of a request that was abandoned before it was sent.
+         */
+        void abandon() {
+            if (released.compareAndSet(false, true)) {
+                PriorityLanes.this.release(state);
+            }
+        }
+    }
+
+    private final class LaneState {
+
+        private final Lane lane;
+        private final int maxConcurrent;
+        private final int maxQueued;
+        private final Deque<Permit> queue = new ArrayDeque<>();
+        private final LatencyWindow latency = new LatencyWindow(WINDOW, 1);
+        private int inFlight;
+        private long rejected;
+
+        private LaneState(final Lane lane, final int maxConcurrent, final int maxQueued) {
+            this.lane = lane;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+        }
+
+        private long[] stats() {
+            lock.lock();
+            try {
+                return new long[] {inFlight, queue.size(), rejected};
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static final class Builder {
+
+        static final int DEFAULT_MAX_CONCURRENT = 64;
+        static final int DEFAULT_MAX_QUEUED = 1000;
+
+        private int maxConcurrent = DEFAULT_MAX_CONCURRENT;
+        private final Map<Lane, int[]> limits = new EnumMap<>(Lane.class);
+
+        private Builder() {
+        }
+
+        /**
+         * maxConcurrent.
+         *
+         * @param maxConcurrent the number of requests that may be in flight across all lanes, 64 by default
+         * @return this builder
+         */
+        public Builder maxConcurrent(final int maxConcurrent) {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("At least one request must be allowed in flight!");
+            }
+            this.maxConcurrent = maxConcurrent;
+            return this;
+        }
+
+        /**
+         * lane.
+         *
+         * @param lane          a {@link Lane}
+         * @param maxConcurrent the number of requests from this lane that may be in flight
+         * @param maxQueued     the number of requests that may wait in this lane, 1000 by default
+         * @return this builder
+         */
+        public Builder lane(final Lane lane, final int maxConcurrent, final int maxQueued) {
+            requireNonNull(lane, "Lane may not be null!");
+            if (maxConcurrent < 1 || maxQueued < 0) {
+                throw new IllegalArgumentException("A lane needs at least one slot and a non-negative queue!");
+            }
+            limits.put(lane, new int[] {maxConcurrent, maxQueued});
+            return this;
+        }
+
+        /**
+         * build.
+         *
+         * @return a new {@link PriorityLanes}
+         */
+        public PriorityLanes build() {
+            return new PriorityLanes(maxConcurrent, limits);
+        }
+    }
+}
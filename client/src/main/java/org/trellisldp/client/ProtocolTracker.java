@@ -0,0 +1,348 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.net.http.HttpClient.Version.HTTP_2;
+import static java.net.http.HttpRequest.BodyPublishers.noBody;
+import static java.net.http.HttpResponse.BodyHandlers.discarding;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+
+/**
+ * ProtocolTracker.
+ *
+ * <p>Tracks the protocol negotiated with each host (scheme and authority) from the version of its responses, for
+ * clients that prefer HTTP/2. The JDK only upgrades a cleartext connection to h2c on a request without a body, so
+ * before the first request with a body to a host whose protocol is unknown, the tracker sends an {@code OPTIONS}
+ * request to the same resource to perform the upgrade, as {@link AsyncLdpClient#initUpgrade} does. Concurrent
+ * requests to the host share that upgrade. Over TLS the protocol is negotiated by ALPN and only recorded.
+ *
+ * <p>A host that answers a request that could have been upgraded over HTTP/1.1 refuses HTTP/2: its requests are
+ * then sent as HTTP/1.1, so that they are served from the HTTP/1.1 connection pool without further upgrade
+ * attempts, until the recheck interval has passed. A host whose upgrade request fails, with an I/O error or by not
+ * answering within 10 seconds, is treated the same way, so that its requests do not each wait for another attempt.
+ * A host that had been using HTTP/2 and answers over HTTP/1.1, or fails with an I/O error, has lost its connection
+ * and is upgraded again on the next request with a body. One tracker may be shared by several clients.
+ *
+ * @author christopher-johnson
+ */
+public final class ProtocolTracker {
+
+    private static final Logger log = getLogger(ProtocolTracker.class);
+    private static final Duration UPGRADE_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * The protocol state of a host.
+     */
+    public enum State {
+        /** No response has shown which protocol the host speaks, or its connection was lost. */
+        UNKNOWN,
+        /** An upgrade request is in flight. */
+        UPGRADING,
+        /** The host answers over HTTP/2. */
+        HTTP_2,
+        /** The host refused HTTP/2 and is sent HTTP/1.1 requests. */
+        HTTP_1_1
+    }
+
+    private final long recheckNanos;
+    private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+    private final AtomicLong upgrades = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong losses = new AtomicLong();
+
+    private ProtocolTracker(final Builder builder) {
+        this.recheckNanos = builder.recheck.toNanos();
+    }
+
+    /**
+     * newBuilder.
+     *
+     * @return a new {@link Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * getHosts.
+     *
+     * @return the hosts seen so far, as {@code scheme://authority}
+     */
+    public Set<String> getHosts() {
+        return hosts.keySet();
+    }
+
+    /**
+     * getState.
+     *
+     * @param host a host, as {@code scheme://authority}
+     * @return the protocol state of the host
+     */
+    public State getState(final String host) {
+        final Host state = hosts.get(host);
+        return state == null ? State.UNKNOWN : state.current(System.nanoTime());
+    }
+
+    /**
+     * getUpgrades.
+     *
+     * @return the number of upgrade requests sent
+     */
+    public long getUpgrades() {
+        return upgrades.get();
+    }
+
+    /**
+     * getFallbacks.
+     *
+     * @return the number of times a host was found to refuse HTTP/2
+     */
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+
+    /**
+     * getConnectionLosses.
+     *
+     * @return the number of times a host using HTTP/2 lost its connection
+     */
+    public long getConnectionLosses() {
+        return losses.get();
+    }
+
+    /**
+     * Prepare a request for sending with a client, upgrading the connection to its host first if needed. The
+     * result never fails: if the upgrade fails the request is sent as it is.
+     */
+    CompletableFuture<HttpRequest> prepare(final HttpClient client, final HttpRequest req) {
+        if (client.version() != HTTP_2 || req.version().isPresent()) {
+            return CompletableFuture.completedFuture(req);
+        }
+        final Host host = hosts.computeIfAbsent(AdaptiveLimiter.hostOf(req.uri()), Host::new);
+        switch (host.current(System.nanoTime())) {
+            case HTTP_1_1:
+                return CompletableFuture.completedFuture(AsyncLdpClientImpl.copy(req, req.uri(), null, HTTP_1_1));
+            case HTTP_2:
+                return CompletableFuture.completedFuture(req);
+            default:
+                if (!hasBody(req) || !"http".equalsIgnoreCase(req.uri().getScheme())) {
+                    return CompletableFuture.completedFuture(req);
+                }
+                return host.upgrade(client, req).thenApply(v -> host.current(System.nanoTime()) == State.HTTP_1_1
+                        ? AsyncLdpClientImpl.copy(req, req.uri(), null, HTTP_1_1) : req);
+        }
+    }
+
+    /**
+     * Record the outcome of an exchange prepared by this tracker.
+     */
+    void onResult(final HttpClient client, final HttpRequest req, final HttpResponse<?> response,
+            final Throwable failure) {
+        if (client.version() != HTTP_2) {
+            return;
+        }
+        final Host host = hosts.computeIfAbsent(AdaptiveLimiter.hostOf(req.uri()), Host::new);
+        if (response != null) {
+            host.onResponse(response.version(), !hasBody(req) && req.version().isEmpty());
+        } else if (isConnectionLoss(failure)) {
+            host.onLoss();
+        }
+    }
+
+    private static boolean hasBody(final HttpRequest req) {
+        return req.bodyPublisher().map(body -> body.contentLength() != 0).orElse(false);
+    }
+
+    private static boolean isConnectionLoss(final Throwable throwable) {
+        Throwable ex = throwable;
+        while (ex instanceof CompletionException || ex instanceof LdpClientException) {
+            if (ex.getCause() == null) {
+                return false;
+            }
+            ex = ex.getCause();
+        }
+        return ex instanceof IOException && !(ex instanceof HttpTimeoutException);
+    }
+
+    /**
+     * The protocol state of one host, guarded by {@code lock}.
+     */
+    private final class Host {
+
+        private final String name;
+        private final Lock lock = new ReentrantLock();
+        private State state = State.UNKNOWN;
+        private long fallbackAt;
+        private CompletableFuture<Void> upgrade;
+
+        private Host(final String name) {
+            this.name = name;
+        }
+
+        private State current(final long now) {
+            lock.lock();
+            try {
+                if (state == State.HTTP_1_1 && now - fallbackAt >= recheckNanos) {
+                    log.info("Rechecking whether {} supports HTTP/2", name);
+                    state = State.UNKNOWN;
+                }
+                return state;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private CompletableFuture<Void> upgrade(final HttpClient client, final HttpRequest req) {
+            lock.lock();
+            try {
+                if (upgrade != null) {
+                    return upgrade;
+                }
+                state = State.UPGRADING;
+                upgrades.incrementAndGet();
+                log.info("Upgrading the connection to {} with OPTIONS {}", name, req.uri());
+                CompletableFuture<HttpResponse<Void>> exchange;
+                try {
+                    exchange = client.sendAsync(HttpRequest.newBuilder(req.uri()).method("OPTIONS", noBody())
+                            .timeout(UPGRADE_TIMEOUT).build(), discarding());
+                } catch (RuntimeException ex) {
+                    exchange = CompletableFuture.failedFuture(ex);
+                }
+                final CompletableFuture<Void> pending = exchange.handle((response, ex) -> {
+                    finish(response == null ? null : response.version());
+                    return null;
+                });
+                if (!pending.isDone()) {
+                    // an exchange that failed synchronously has already run finish, so its outcome must not be kept
+                    upgrade = pending;
+                }
+                return pending;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void finish(final HttpClient.Version version) {
+            lock.lock();
+            try {
+                upgrade = null;
+                state = State.UNKNOWN;
+                if (version != null) {
+                    onResponse(version, true);
+                } else {
+                    log.warn("Upgrade request to {} failed, falling back to HTTP/1.1", name);
+                    fallBack();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Record the version of a response, to a request that the JDK would have tried to upgrade if
+         * {@code upgradable}.
+         */
+        private void onResponse(final HttpClient.Version version, final boolean upgradable) {
+            lock.lock();
+            try {
+                if (version == HTTP_2) {
+                    if (state != State.HTTP_2) {
+                        log.info("{} negotiated HTTP/2", name);
+                        state = State.HTTP_2;
+                    }
+                } else if (upgradable && state != State.HTTP_1_1 && state != State.UPGRADING) {
+                    log.info("{} refused HTTP/2, falling back to HTTP/1.1", name);
+                    fallBack();
+                } else if (state == State.HTTP_2) {
+                    onLoss();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Send HTTP/1.1 requests to the host until the recheck interval has passed. Called with the lock held.
+         */
+        private void fallBack() {
+            fallbacks.incrementAndGet();
+            state = State.HTTP_1_1;
+            fallbackAt = System.nanoTime();
+        }
+
+        private void onLoss() {
+            lock.lock();
+            try {
+                if (state == State.HTTP_2) {
+                    log.info("Lost the HTTP/2 connection to {}", name);
+                    losses.incrementAndGet();
+                    state = State.UNKNOWN;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static final class Builder {
+
+        private Duration recheck = Duration.ofMinutes(5);
+
+        private Builder() {
+        }
+
+        /**
+         * recheck.
+         *
+         * @param recheck how long a host that refused HTTP/2 is sent HTTP/1.1 requests before it is tried again,
+         *                5 minutes by default
+         * @return this builder
+         */
+        public Builder recheck(final Duration recheck) {
+            this.recheck = AsyncLdpClientImpl.positive(recheck);
+            return this;
+        }
+
+        /**
+         * build.
+         *
+         * @return a new {@link ProtocolTracker}
+         */
+        public ProtocolTracker build() {
+            return new ProtocolTracker(this);
+        }
+    }
+}
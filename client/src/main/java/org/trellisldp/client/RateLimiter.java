@@ -0,0 +1,311 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * RateLimiter.
+ *
+ * <p>Enforces a request budget per host (scheme and authority) and {@link OperationClass} with token buckets.
+ * A request that finds no token waits in a bounded FIFO queue for its bucket; when that queue is full the request
+ * fails immediately with an {@link LdpClientRejectedException} instead of piling up. Operation classes without a
+ * configured rate are not limited. One limiter may be shared by several clients.
+ *
+ * @author christopher-johnson
+ */
+public final class RateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Map<OperationClass, Rate> rates;
+    private final int maxQueued;
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private RateLimiter(final Map<OperationClass, Rate> rates, final int maxQueued) {
+        this.rates = rates;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * newBuilder.
+     *
+     * @return a new {@link Builder} with no rates configured
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * getAdmitted.
+     *
+     * @param host           a host, as {@code scheme://authority}
+     * @param operationClass an {@link OperationClass}
+     * @return the number of requests admitted
+     */
+    public long getAdmitted(final String host, final OperationClass operationClass) {
+        final Bucket b = buckets.get(key(host, operationClass));
+        return b == null ? 0 : b.stats()[0];
+    }
+
+    /**
+     * getRejected.
+     *
+     * @param host           a host, as {@code scheme://authority}
+     * @param operationClass an {@link OperationClass}
+     * @return the number of requests rejected because the queue was full
+     */
+    public long getRejected(final String host, final OperationClass operationClass) {
+        final Bucket b = buckets.get(key(host, operationClass));
+        return b == null ? 0 : b.stats()[1];
+    }
+
+    /**
+     * getWaitTime.
+     *
+     * @param host           a host, as {@code scheme://authority}
+     * @param operationClass an {@link OperationClass}
+     * @return the total time admitted requests spent queued
+     */
+    public Duration getWaitTime(final String host, final OperationClass operationClass) {
+        final Bucket b = buckets.get(key(host, operationClass));
+        return Duration.ofNanos(b == null ? 0 : b.stats()[2]);
+    }
+
+    /**
+     * getQueueDepth.
+     *
+     * @param host           a host, as {@code scheme://authority}
+     * @param operationClass an {@link OperationClass}
+     * @return the number of requests waiting for a token
+     */
+    public int getQueueDepth(final String host, final OperationClass operationClass) {
+        final Bucket b = buckets.get(key(host, operationClass));
+        return b == null ? 0 : (int) b.stats()[3];
+    }
+
+    private static String key(final String host, final OperationClass operationClass) {
+        return operationClass + " " + host;
+    }
+
+    /**
+     * Admit a request, completing when a token is available. The future fails with an
+     * {@link LdpClientRejectedException} if the queue is full. Cancelling the future removes the request from the
+     * queue.
+     */
+    CompletableFuture<Void> acquire(final URI uri, final OperationClass operationClass) {
+        final Rate rate = rates.get(operationClass);
+        if (rate == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return buckets.computeIfAbsent(key(AdaptiveLimiter.hostOf(uri), operationClass),
+                name -> new Bucket(name, rate)).acquire();
+    }
+
+    private static final class Rate {
+        private final double perSecond;
+        private final int burst;
+
+        private Rate(final double perSecond, final int burst) {
+            this.perSecond = perSecond;
+            this.burst = burst;
+        }
+    }
+
+    private static final class Waiter {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final long enqueued = System.nanoTime();
+    }
+
+    private final class Bucket {
+
+        private final String name;
+        private final Rate rate;
+        private final Lock lock = new ReentrantLock();
+        private final Deque<Waiter> queue = new ArrayDeque<>();
+        private double tokens;
+        private long refilled = System.nanoTime();
+        private boolean drainScheduled;
+        private long admitted;
+        private long rejected;
+        private long waitNanos;
+
+        private Bucket(final String name, final Rate rate) {
+            this.name = name;
+            this.rate = rate;
+            this.tokens = rate.burst;
+        }
+
+        private long[] stats() {
+            lock.lock();
+            try {
+                return new long[] {admitted, rejected, waitNanos, queue.size()};
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void refill(final long now) {
+            tokens = Math.min(rate.burst, tokens + (now - refilled) * rate.perSecond / NANOS_PER_SECOND);
+            refilled = now;
+        }
+
+        private CompletableFuture<Void> acquire() {
+            final Waiter waiter;
+            lock.lock();
+            try {
+                refill(System.nanoTime());
+                if (queue.isEmpty() && tokens >= 1) {
+                    tokens -= 1;
+                    admitted++;
+                    return CompletableFuture.completedFuture(null);
+                }
+                if (queue.size() >= maxQueued) {
+                    rejected++;
+                    return CompletableFuture.failedFuture(new LdpClientRejectedException(
+                            "Request budget for " + name + " exhausted and " + maxQueued + " requests queued"));
+                }
+                waiter = new Waiter();
+                queue.add(waiter);
+                scheduleDrain();
+            } finally {
+                lock.unlock();
+            }
+            waiter.future.whenComplete((v, ex) -> {
+                if (waiter.future.isCancelled()) {
+                    lock.lock();
+                    try {
+                        queue.remove(waiter);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            });
+            return waiter.future;
+        }
+
+        /** Must be called with the lock held. */
+        private void scheduleDrain() {
+            if (!drainScheduled) {
+                drainScheduled = true;
+                final long delay = (long) Math.ceil(Math.max(0, 1 - tokens) * NANOS_PER_SECOND / rate.perSecond);
+                CompletableFuture.delayedExecutor(delay, NANOSECONDS).execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            final List<Waiter> granted = new ArrayList<>();
+            lock.lock();
+            try {
+                drainScheduled = false;
+                final long now = System.nanoTime();
+                refill(now);
+                while (tokens >= 1 && !queue.isEmpty()) {
+                    final Waiter waiter = queue.poll();
+                    if (!waiter.future.isDone()) {
+                        tokens -= 1;
+                        admitted++;
+                        waitNanos += now - waiter.enqueued;
+                        granted.add(waiter);
+                    }
+                }
+                if (!queue.isEmpty()) {
+                    scheduleDrain();
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (final Waiter waiter : granted) {
+                if (!waiter.future.complete(null)) {
+                    lock.lock();
+                    try {
+                        tokens = Math.min(rate.burst, tokens + 1);
+                        admitted--;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static final class Builder {
+
+        private final Map<OperationClass, Rate> rates = new EnumMap<>(OperationClass.class);
+        private int maxQueued = 100;
+
+        private Builder() {
+        }
+
+        /**
+         * rate.
+         *
+         * @param operationClass an {@link OperationClass}
+         * @param perSecond      the sustained number of requests per second, per host
+         * @param burst          the number of requests that may be sent at once after an idle period
+         * @return this builder
+         */
+        public Builder rate(final OperationClass operationClass, final double perSecond, final int burst) {
+            requireNonNull(operationClass, "Operation class may not be null!");
+            if (!(perSecond > 0) || burst < 1) {
+                throw new IllegalArgumentException("Rate must be positive and burst at least 1!");
+            }
+            rates.put(operationClass, new Rate(perSecond, burst));
+            return this;
+        }
+
+        /**
+         * maxQueued.
+         *
+         * @param maxQueued the number of requests that may wait for a token per host and operation class, 100 by
+         *                  default; 0 rejects every request that finds no token
+         * @return this builder
+         */
+        public Builder maxQueued(final int maxQueued) {
+            if (maxQueued < 0) {
+                throw new IllegalArgumentException("Queue size may not be negative!");
+            }
+            this.maxQueued = maxQueued;
+            return this;
+        }
+
+        /**
+         * build.
+         *
+         * @return a new {@link RateLimiter}
+         */
+        public RateLimiter build() {
+            return new RateLimiter(new EnumMap<>(rates), maxQueued);
+        }
+    }
+}
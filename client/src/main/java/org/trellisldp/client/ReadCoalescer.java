@@ -0,0 +1,205 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * ReadCoalescer.
+ *
+ * <p>Single-flight coalescing of identical reads. Requests with the same method, URI and headers (including
+ * Accept, Prefer and Authorization) that are issued while an identical request is still in flight share its
+ * exchange and all receive its response. The exchange is cancelled only when every caller has cancelled. Only
+ * reads with a {@link String} body are coalesced. One coalescer may be shared by several clients that use the
+ * same credentials.
+ *
+ * @author christopher-johnson
+ */
+public final class ReadCoalescer {
+
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong exchanges = new AtomicLong();
+
+    /**
+     * getRequests.
+     *
+     * @return the number of reads made through this coalescer
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * getExchanges.
+     *
+     * @return the number of reads actually sent
+     */
+    public long getExchanges() {
+        return exchanges.get();
+    }
+
+    /**
+     * getCoalesced.
+     *
+     * @return the number of reads that shared another read's exchange instead of making their own
+     */
+    public long getCoalesced() {
+        return requests.get() - exchanges.get();
+    }
+
+    /**
+     * getInFlight.
+     *
+     * @return the number of distinct reads currently in flight
+     */
+    public int getInFlight() {
+        return flights.size();
+    }
+
+    static String key(final HttpRequest req) {
+        return req.method() + " " + req.uri() + " " + req.headers().map();
+    }
+
+    /**
+     * Join the in-flight read identical to {@code req}, or start one with {@code exchange}.
+     */
+    CompletableFuture<HttpResponse<String>> join(final HttpRequest req,
+            final Supplier<CompletableFuture<HttpResponse<String>>> exchange) {
+        final String key = key(req);
+        while (true) {
+            Flight flight = flights.get(key);
+            boolean leader = false;
+            if (flight == null) {
+                final Flight created = new Flight(key);
+                flight = flights.putIfAbsent(key, created);
+                if (flight == null) {
+                    flight = created;
+                    leader = true;
+                }
+            }
+            final CompletableFuture<HttpResponse<String>> attached = flight.attach();
+            if (leader) {
+                exchanges.incrementAndGet();
+                flight.start(exchange);
+            }
+            if (attached != null) {
+                requests.incrementAndGet();
+                return attached;
+            }
+        }
+    }
+
+    private final class Flight {
+
+        private final String key;
+        private final CompletableFuture<HttpResponse<String>> result = new CompletableFuture<>();
+        private final Lock lock = new ReentrantLock();
+        private CompletableFuture<HttpResponse<String>> exchange;
+        private int waiters;
+        private boolean abandoned;
+
+        private Flight(final String key) {
+            this.key = key;
+        }
+
+        private void start(final Supplier<CompletableFuture<HttpResponse<String>>> supplier) {
+            final CompletableFuture<HttpResponse<String>> future;
+            try {
+                future = supplier.get();
+            } catch (RuntimeException ex) {
+                flights.remove(key, this);
+                result.completeExceptionally(ex);
+                return;
+            }
+            final boolean cancelled;
+            lock.lock();
+            try {
+                exchange = future;
+                cancelled = abandoned;
+            } finally {
+                lock.unlock();
+            }
+            if (cancelled) {
+                future.cancel(true);
+            }
+            future.whenComplete((response, ex) -> {
+                flights.remove(key, this);
+                if (ex != null) {
+                    result.completeExceptionally(ex);
+                } else {
+                    result.complete(response);
+                }
+            });
+        }
+
+        /**
+         * Attach a caller, returning its own future, or null if every earlier caller has already cancelled.
+         */
+        private CompletableFuture<HttpResponse<String>> attach() {
+            lock.lock();
+            try {
+                if (abandoned) {
+                    return null;
+                }
+                waiters++;
+            } finally {
+                lock.unlock();
+            }
+            final CompletableFuture<HttpResponse<String>> mine = new CompletableFuture<>();
+            result.whenComplete((response, ex) -> {
+                if (ex != null) {
+                    mine.completeExceptionally(ex);
+                } else {
+                    mine.complete(response);
+                }
+            });
+            mine.whenComplete((response, ex) -> {
+                if (mine.isCancelled()) {
+                    detach();
+                }
+            });
+            return mine;
+        }
+
+        private void detach() {
+            final CompletableFuture<HttpResponse<String>> toCancel;
+            lock.lock();
+            try {
+                waiters--;
+                if (waiters > 0 || result.isDone()) {
+                    return;
+                }
+                abandoned = true;
+                toCancel = exchange;
+            } finally {
+                lock.unlock();
+            }
+            flights.remove(key, this);
+            if (toCancel != null) {
+                toCancel.cancel(true);
+            }
+            result.cancel(true);
+        }
+    }
+}
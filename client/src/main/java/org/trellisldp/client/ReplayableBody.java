@@ -0,0 +1,203 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpRequest.BodyPublishers.ofInputStream;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A request body that can be sent more than once, for retries and redirects, although its source stream can only
+ * be read once. The source is opened when the body is first sent and captured as it is read: the first
+ * {@code memoryLimit} bytes are kept in memory and larger bodies are spooled to a temporary file, which is deleted
+ * when the body is closed. A later send replays what was captured, then carries on reading the source.
+ *
+ * @author christopher-johnson
+ */
+final class ReplayableBody implements HttpRequest.BodyPublisher, Closeable {
+
+    static final int MEMORY_LIMIT = 256 * 1024;
+
+    private final Supplier<? extends InputStream> source;
+    private final int memoryLimit;
+    private final Lock lock = new ReentrantLock();
+    private InputStream in;
+    private byte[] memory = new byte[0];
+    private FileChannel spool;
+    private long captured;
+    private boolean exhausted;
+    private boolean closed;
+
+    ReplayableBody(final Supplier<? extends InputStream> source, final int memoryLimit) {
+        this.source = requireNonNull(source, "Body may not be null!");
+        this.memoryLimit = memoryLimit;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+        ofInputStream(this::open).subscribe(subscriber);
+    }
+
+    /**
+     * Open a stream over the whole body.
+     */
+    InputStream open() {
+        return new Replay();
+    }
+
+    boolean isSpooled() {
+        lock.lock();
+        try {
+            return spool != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            memory = null;
+            try {
+                if (in != null) {
+                    in.close();
+                }
+            } finally {
+                if (spool != null) {
+                    spool.close();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int read(final long position, final byte[] b, final int off, final int len) throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Request body is closed");
+            }
+            if (position < captured) {
+                return replay(position, b, off, (int) Math.min(len, captured - position));
+            }
+            if (exhausted) {
+                return -1;
+            }
+            if (in == null) {
+                in = requireNonNull(source.get(), "Body stream may not be null!");
+            }
+            final int n = in.read(b, off, len);
+            if (n < 0) {
+                exhausted = true;
+                in.close();
+                return -1;
+            }
+            capture(b, off, n);
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int replay(final long position, final byte[] b, final int off, final int len) throws IOException {
+        if (spool == null) {
+            System.arraycopy(memory, (int) position, b, off, len);
+            return len;
+        }
+        int n;
+        do {
+            n = spool.read(ByteBuffer.wrap(b, off, len), position);
+        } while (n == 0);
+        return n;
+    }
+
+    private void capture(final byte[] b, final int off, final int len) throws IOException {
+        if (spool == null && captured + len <= memoryLimit) {
+            if (captured + len > memory.length) {
+                memory = Arrays.copyOf(memory, (int) Math.min(memoryLimit, Math.max(captured + len,
+                        memory.length * 2L)));
+            }
+            System.arraycopy(b, off, memory, (int) captured, len);
+        } else {
+            if (spool == null) {
+                spool = FileChannel.open(Files.createTempFile("ldp-body", ".tmp"), READ, WRITE, DELETE_ON_CLOSE);
+                write(ByteBuffer.wrap(memory, 0, (int) captured), 0);
+                memory = null;
+            }
+            write(ByteBuffer.wrap(b, off, len), captured);
+        }
+        captured += len;
+    }
+
+    private void write(final ByteBuffer buffer, final long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            at += spool.write(buffer, at);
+        }
+    }
+
+    /**
+     * A sequential reader over the body, replaying captured bytes before reading more of the source.
+     */
+    private final class Replay extends InputStream {
+
+        private long position;
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            final int n = read(b, 0, 1);
+            return n < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            final int n = ReplayableBody.this.read(position, b, off, len);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+    }
+}
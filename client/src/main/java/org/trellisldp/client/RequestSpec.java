@@ -0,0 +1,195 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpRequest.BodyPublishers.noBody;
+import static java.util.Objects.requireNonNull;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandler;
+import java.util.Map;
+
+import org.apache.commons.rdf.api.IRI;
+
+/**
+ * A request for the dispatch pipeline of {@link AsyncLdpClientImpl}: what to send, how to handle the response body,
+ * and how the pipeline treats the exchange. A spec is filled in by one operation, built once when it is dispatched,
+ * then carried through every stage of the pipeline in place of the request's individual attributes.
+ *
+ * @param <T> the type of the response body
+ *
+ * @author christopher-johnson
+ */
+final class RequestSpec<T> {
+
+    private static final String[] NO_HEADERS = new String[0];
+
+    private final String method;
+    private final IRI identifier;
+    private final String suffix;
+    private final BodyHandler<T> handler;
+    private URI uri;
+    private String operation;
+    private String[] headers = NO_HEADERS;
+    private Map<String, String> metadata;
+    private HttpRequest.BodyPublisher body;
+    private OperationClass operationClass;
+    private boolean once;
+    private boolean shared;
+
+    private RequestSpec(final String method, final IRI identifier, final String suffix, final URI uri,
+            final BodyHandler<T> handler) {
+        this.method = method;
+        this.identifier = identifier;
+        this.suffix = suffix;
+        this.uri = uri;
+        this.handler = handler;
+        this.operation = method;
+    }
+
+    /**
+     * A request to {@code identifier}, with {@code suffix} appended to it.
+     */
+    static <T> RequestSpec<T> of(final String method, final IRI identifier, final String suffix,
+            final BodyHandler<T> handler) {
+        return new RequestSpec<>(method, identifier, suffix, null, handler);
+    }
+
+    /**
+     * A request to {@code identifier}.
+     */
+    static <T> RequestSpec<T> of(final String method, final IRI identifier, final BodyHandler<T> handler) {
+        return of(method, identifier, "", handler);
+    }
+
+    /**
+     * A request to {@code uri}.
+     */
+    static <T> RequestSpec<T> of(final String method, final URI uri, final BodyHandler<T> handler) {
+        return new RequestSpec<>(method, null, null, requireNonNull(uri, "URI may not be null!"), handler);
+    }
+
+    /**
+     * Name the operation as it is logged, the method by default.
+     */
+    RequestSpec<T> operation(final String operation) {
+        this.operation = operation;
+        return this;
+    }
+
+    /**
+     * Set headers, as alternating names and values.
+     */
+    RequestSpec<T> headers(final String... headers) {
+        this.headers = headers;
+        return this;
+    }
+
+    /**
+     * Set headers from a map of names to values.
+     */
+    RequestSpec<T> headers(final Map<String, String> metadata) {
+        this.metadata = metadata;
+        return this;
+    }
+
+    RequestSpec<T> body(final HttpRequest.BodyPublisher body) {
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * Budget the request as {@code operationClass} instead of classifying it by method and content type.
+     */
+    RequestSpec<T> as(final OperationClass operationClass) {
+        this.operationClass = operationClass;
+        return this;
+    }
+
+    /**
+     * Never hedge the request, since its body handler has side effects.
+     */
+    RequestSpec<T> once() {
+        this.once = true;
+        return this;
+    }
+
+    /**
+     * Let the request share the exchange of an identical read in flight, if a coalescer is configured. Only
+     * requests whose body is read as a {@link String} may be shared.
+     */
+    RequestSpec<T> shared() {
+        this.shared = true;
+        return this;
+    }
+
+    /**
+     * Build the request, resolving its URI and, unless it was set, its {@link OperationClass}.
+     */
+    HttpRequest build() throws URISyntaxException {
+        if (uri == null) {
+            requireNonNull(identifier, "Identifier may not be null!");
+            uri = new URI(identifier.getIRIString() + suffix);
+        }
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        if (headers.length > 0) {
+            builder.headers(headers);
+        }
+        if (metadata != null) {
+            metadata.forEach(builder::header);
+        }
+        if (body == null && "GET".equals(method)) {
+            builder.GET();
+        } else if (body == null && "DELETE".equals(method)) {
+            builder.DELETE();
+        } else {
+            builder.method(method, body != null ? body : noBody());
+        }
+        final HttpRequest req = builder.build();
+        if (operationClass == null) {
+            operationClass = AsyncLdpClientImpl.classify(req);
+        }
+        return req;
+    }
+
+    BodyHandler<T> getHandler() {
+        return handler;
+    }
+
+    String getOperation() {
+        return operation;
+    }
+
+    OperationClass getOperationClass() {
+        return operationClass;
+    }
+
+    /**
+     * The resource the request is addressed to, as logged, once it is built.
+     */
+    URI getTarget() {
+        return uri;
+    }
+
+    boolean isOnce() {
+        return once;
+    }
+
+    boolean isShared() {
+        return shared;
+    }
+}
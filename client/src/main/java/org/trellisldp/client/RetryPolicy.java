@@ -0,0 +1,256 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RetryPolicy.
+ *
+ * <p>Decides whether and when a failed request is sent again. Requests are retried after a transport failure or a
+ * 429, 502, 503 or 504 response, with exponential backoff and random jitter, honouring a {@code Retry-After}
+ * header that does not exceed the maximum backoff. Only idempotent requests are retried: GET, HEAD, OPTIONS, PUT
+ * and DELETE, and POST when it carries a {@code Slug}. Requests rejected by the client itself or cancelled are
+ * never retried. Retries are capped at a percentage of all requests plus a small allowance, so a failing server
+ * sees at most that much extra load. Request bodies are made replayable while a retry policy is in use.
+ *
+ * @author christopher-johnson
+ */
+public final class RetryPolicy {
+
+    static final long MIN_RETRIES = 10;
+    private static final Set<String> IDEMPOTENT = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    private static final Set<Integer> RETRYABLE = Set.of(429, 502, 503, 504);
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final double jitter;
+    private final double budgetPercent;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+
+    private RetryPolicy(final int maxAttempts, final long initialBackoffNanos, final long maxBackoffNanos,
+            final double jitter, final double budgetPercent) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoffNanos;
+        this.maxBackoffNanos = maxBackoffNanos;
+        this.jitter = jitter;
+        this.budgetPercent = budgetPercent;
+    }
+
+    /**
+     * newBuilder.
+     *
+     * @return a new {@link Builder} making up to 3 attempts with a 10% budget
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * getRequests.
+     *
+     * @return the number of retryable requests seen
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * getRetries.
+     *
+     * @return the number of requests sent again
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * getBudgetExhausted.
+     *
+     * @return the number of retries refused because the budget was spent
+     */
+    public long getBudgetExhausted() {
+        return exhausted.get();
+    }
+
+    /**
+     * Whether a request may be sent more than once.
+     */
+    static boolean isIdempotent(final HttpRequest req) {
+        return IDEMPOTENT.contains(req.method())
+                || ("POST".equals(req.method()) && req.headers().firstValue("Slug").isPresent());
+    }
+
+    /**
+     * Count a retryable request.
+     */
+    void onRequest() {
+        requests.incrementAndGet();
+    }
+
+    /**
+     * Decide whether to retry after an attempt, returning the delay before the next attempt in nanoseconds or -1
+     * to give up.
+     *
+     * @param attempt  the number of attempts made so far
+     * @param response the response of the attempt, or null
+     * @param failure  the failure of the attempt, or null
+     */
+    long backoff(final int attempt, final HttpResponse<?> response, final Throwable failure) {
+        if (attempt >= maxAttempts) {
+            return -1;
+        }
+        final long retryAfter;
+        if (response != null) {
+            if (!RETRYABLE.contains(response.statusCode())) {
+                return -1;
+            }
+            retryAfter = LdpResponse.retryAfter(response.headers()).map(Duration::toNanos).orElse(-1L);
+            if (retryAfter > maxBackoffNanos) {
+                return -1;
+            }
+        } else if (isRetryable(failure)) {
+            retryAfter = -1;
+        } else {
+            return -1;
+        }
+        if (!tryRetry()) {
+            exhausted.incrementAndGet();
+            return -1;
+        }
+        final long ceiling = Math.min(maxBackoffNanos, (long) (initialBackoffNanos * Math.pow(2, attempt - 1)));
+        final long delay = (long) (ceiling * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+        return Math.max(delay, retryAfter);
+    }
+
+    private static boolean isRetryable(final Throwable throwable) {
+        final Throwable ex = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        if (ex instanceof LdpClientTimeoutException) {
+            return ex.getCause() instanceof HttpConnectTimeoutException;
+        }
+        return !(ex instanceof LdpClientRejectedException || ex instanceof CancellationException);
+    }
+
+    private boolean tryRetry() {
+        while (true) {
+            final long sent = retries.get();
+            if (sent + 1 > MIN_RETRIES + requests.get() * budgetPercent / 100) {
+                return false;
+            }
+            if (retries.compareAndSet(sent, sent + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static final class Builder {
+
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(5);
+        private double jitter = 1;
+        private double budgetPercent = 10;
+
+        private Builder() {
+        }
+
+        /**
+         * maxAttempts.
+         *
+         * @param maxAttempts the number of attempts, including the first, 3 by default
+         * @return this builder
+         */
+        public Builder maxAttempts(final int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("At least one attempt must be allowed!");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * backoff.
+         *
+         * @param initial the backoff ceiling after the first attempt, 100ms by default, doubled for each attempt
+         * @param max     the largest backoff, 5s by default; a longer {@code Retry-After} is not waited for
+         * @return this builder
+         */
+        public Builder backoff(final Duration initial, final Duration max) {
+            requireNonNull(initial, "Initial backoff may not be null!");
+            requireNonNull(max, "Maximum backoff may not be null!");
+            if (initial.isNegative() || max.compareTo(initial) < 0) {
+                throw new IllegalArgumentException("Backoff must be non-negative and at most the maximum!");
+            }
+            this.initialBackoff = initial;
+            this.maxBackoff = max;
+            return this;
+        }
+
+        /**
+         * jitter.
+         *
+         * @param jitter the fraction of each backoff that is randomised, from 0 (none) to 1 (full jitter, default)
+         * @return this builder
+         */
+        public Builder jitter(final double jitter) {
+            if (!(jitter >= 0 && jitter <= 1)) {
+                throw new IllegalArgumentException("Jitter must be between 0 and 1!");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * budget.
+         *
+         * @param budgetPercent the maximum number of retries as a percentage of retryable requests
+         * @return this builder
+         */
+        public Builder budget(final double budgetPercent) {
+            if (!(budgetPercent >= 0 && budgetPercent <= 100)) {
+                throw new IllegalArgumentException("Budget must be between 0 and 100 percent!");
+            }
+            this.budgetPercent = budgetPercent;
+            return this;
+        }
+
+        /**
+         * build.
+         *
+         * @return a new {@link RetryPolicy}
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(maxAttempts, initialBackoff.toNanos(), maxBackoff.toNanos(), jitter,
+                    budgetPercent);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+/**
+ * ShardStrategy.
+ *
+ * <p>How requests to a host are spread over the HTTP client shards configured with
+ * {@link LdpClientBuilder#shards(int, ShardStrategy)}.
+ *
+ * @author christopher-johnson
+ */
+public enum ShardStrategy {
+
+    /** Each request to a host goes to the next shard in turn. */
+    ROUND_ROBIN,
+
+    /** Each request to a host goes to the shard with the fewest requests to that host in flight. */
+    LEAST_LOADED
+}
@@ -0,0 +1,308 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.PushPromiseHandler;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+import org.slf4j.Logger;
+
+/**
+ * An {@link HttpClient} that spreads requests over several independent clients, each with its own connection pool.
+ * With HTTP/2 every client multiplexes its requests to a host over one connection, so throughput to the host is
+ * capped by the server's concurrent stream limit and a single TCP window, and one lost packet stalls every stream;
+ * N shards give N connections per host. The shards must share their configuration, which is reported from the
+ * first. Closing or shutting down the client does the same to every shard.
+ *
+ * @author christopher-johnson
+ */
+final class ShardedHttpClient extends HttpClient implements AutoCloseable {
+
+    private static final Logger log = getLogger(ShardedHttpClient.class);
+    private static final Method SHUTDOWN = lifecycle("shutdown");
+    private static final Method SHUTDOWN_NOW = lifecycle("shutdownNow");
+    private static final Method AWAIT_TERMINATION = lifecycle("awaitTermination", Duration.class);
+    private static final Method IS_TERMINATED = lifecycle("isTerminated");
+
+    private final List<HttpClient> shards;
+    private final ShardStrategy strategy;
+    private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+    ShardedHttpClient(final List<HttpClient> shards, final ShardStrategy strategy) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required!");
+        }
+        this.shards = List.copyOf(shards);
+        this.strategy = strategy;
+    }
+
+    List<HttpClient> getShards() {
+        return shards;
+    }
+
+    /**
+     * The number of requests to a host in flight on a shard.
+     */
+    int getInFlight(final URI host, final int shard) {
+        final Host state = hosts.get(key(host));
+        return state == null ? 0 : state.inFlight.get(shard);
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest req, final BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        final Host host = host(req.uri());
+        final int shard = host.select();
+        try {
+            return shards.get(shard).send(req, handler);
+        } finally {
+            host.inFlight.decrementAndGet(shard);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest req, final BodyHandler<T> handler) {
+        return sendAsync(req, handler, null);
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest req, final BodyHandler<T> handler,
+            final PushPromiseHandler<T> pushPromiseHandler) {
+        final Host host = host(req.uri());
+        final int shard = host.select();
+        final CompletableFuture<HttpResponse<T>> future;
+        try {
+            future = shards.get(shard).sendAsync(req, handler, pushPromiseHandler);
+        } catch (RuntimeException ex) {
+            host.inFlight.decrementAndGet(shard);
+            throw ex;
+        }
+        final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        future.whenComplete((response, ex) -> {
+            host.inFlight.decrementAndGet(shard);
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(response);
+            }
+        });
+        result.whenComplete((response, ex) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * shutdown.
+     *
+     * <p>Starts an orderly shutdown of every shard. The lifecycle methods of {@link HttpClient} were added in Java
+     * 21, so these are not marked as overrides and reach the shards reflectively; before Java 21 they do nothing.
+     */
+    public void shutdown() {
+        shards.forEach(shard -> invoke(SHUTDOWN, shard));
+    }
+
+    /**
+     * shutdownNow.
+     */
+    public void shutdownNow() {
+        shards.forEach(shard -> invoke(SHUTDOWN_NOW, shard));
+    }
+
+    /**
+     * awaitTermination.
+     *
+     * @param duration how long to wait for every shard
+     * @return true if every shard terminated in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(final Duration duration) throws InterruptedException {
+        final long deadline = System.nanoTime() + duration.toNanos();
+        boolean terminated = true;
+        for (final HttpClient shard : shards) {
+            final Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+            try {
+                terminated &= Boolean.TRUE.equals(lifecycleCall(AWAIT_TERMINATION, shard, remaining));
+            } catch (InvocationTargetException ex) {
+                if (ex.getCause() instanceof InterruptedException) {
+                    throw (InterruptedException) ex.getCause();
+                }
+                throw new IllegalStateException(ex.getCause());
+            }
+        }
+        return terminated;
+    }
+
+    /**
+     * isTerminated.
+     *
+     * @return true if every shard has terminated
+     */
+    public boolean isTerminated() {
+        return shards.stream().allMatch(shard -> Boolean.TRUE.equals(invoke(IS_TERMINATED, shard)));
+    }
+
+    /**
+     * close.
+     *
+     * <p>Closes every shard that can be closed, which every {@link HttpClient} can from Java 21.
+     */
+    @Override
+    public void close() {
+        for (final HttpClient shard : shards) {
+            if (shard instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) shard).close();
+                } catch (Exception ex) {
+                    log.warn("Unable to close HTTP client shard: {}", ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private static Method lifecycle(final String name, final Class<?>... types) {
+        try {
+            return HttpClient.class.getMethod(name, types);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
+
+    private static Object invoke(final Method method, final HttpClient shard) {
+        try {
+            return lifecycleCall(method, shard);
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static Object lifecycleCall(final Method method, final HttpClient shard, final Object... args)
+            throws InvocationTargetException {
+        if (method == null) {
+            return null;
+        }
+        try {
+            return method.invoke(shard, args);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private Host host(final URI uri) {
+        return hosts.computeIfAbsent(key(uri), k -> new Host());
+    }
+
+    private static String key(final URI uri) {
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return shards.get(0).cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return shards.get(0).connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return shards.get(0).followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return shards.get(0).proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return shards.get(0).sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return shards.get(0).sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return shards.get(0).authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return shards.get(0).version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return shards.get(0).executor();
+    }
+
+    /**
+     * The shard load of one host.
+     */
+    private final class Host {
+
+        private final AtomicIntegerArray inFlight = new AtomicIntegerArray(shards.size());
+        private final AtomicInteger next = new AtomicInteger();
+
+        /**
+         * Choose a shard and count the request against it.
+         */
+        private int select() {
+            final int start = Math.floorMod(next.getAndIncrement(), shards.size());
+            int shard = start;
+            if (strategy == ShardStrategy.LEAST_LOADED) {
+                for (int i = 1; i < shards.size(); i++) {
+                    final int candidate = (start + i) % shards.size();
+                    if (inFlight.get(candidate) < inFlight.get(shard)) {
+                        shard = candidate;
+                    }
+                }
+            }
+            inFlight.incrementAndGet(shard);
+            return shard;
+        }
+    }
+}
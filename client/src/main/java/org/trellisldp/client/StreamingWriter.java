@@ -0,0 +1,311 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A {@link Flow.Publisher} of write results fed by a publisher of {@link WriteCommand}s.
+ *
+ * <p>Commands are requested from upstream only while a request slot is free and the downstream subscriber has
+ * outstanding demand for the result, so a slow server or a slow consumer propagates back to the producer rather
+ * than into a queue. Results are emitted in completion order. The publisher accepts a single subscriber.
+ *
+ * @author christopher-johnson
+ */
+final class StreamingWriter implements Flow.Publisher<BulkWriteResult> {
+
+    private final Flow.Publisher<? extends WriteCommand> commands;
+    private final Function<WriteCommand, CompletableFuture<BulkWriteResult>> writer;
+    private final int maxInFlight;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Create a streaming writer.
+     *
+     * @param commands    the upstream commands
+     * @param writer      issues one write; the returned future must not complete exceptionally
+     * @param maxInFlight the maximum number of concurrent requests
+     */
+    StreamingWriter(final Flow.Publisher<? extends WriteCommand> commands,
+            final Function<WriteCommand, CompletableFuture<BulkWriteResult>> writer, final int maxInFlight) {
+        this.commands = requireNonNull(commands, "Commands may not be null!");
+        this.writer = requireNonNull(writer, "Writer may not be null!");
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super BulkWriteResult> subscriber) {
+        requireNonNull(subscriber, "Subscriber may not be null!");
+        if (maxInFlight < 1) {
+            reject(subscriber, new IllegalArgumentException("At least one request must be allowed in flight!"));
+            return;
+        }
+        if (!subscribed.compareAndSet(false, true)) {
+            reject(subscriber, new IllegalStateException("A bulk write publisher accepts only one subscriber"));
+            return;
+        }
+        final Relay relay = new Relay(subscriber);
+        subscriber.onSubscribe(relay);
+        commands.subscribe(relay);
+    }
+
+    private static void reject(final Flow.Subscriber<?> subscriber, final Throwable error) {
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        subscriber.onError(error);
+    }
+
+    /**
+     * Subscribes to the commands and serves the results. All state is guarded by {@code lock}; signals to the
+     * downstream subscriber are serialized by the work-in-progress counter in {@link #drain()}.
+     */
+    private final class Relay implements Flow.Subscriber<WriteCommand>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super BulkWriteResult> downstream;
+        private final Lock lock = new ReentrantLock();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Deque<BulkWriteResult> ready = new ArrayDeque<>();
+        private final Set<CompletableFuture<BulkWriteResult>> pending = ConcurrentHashMap.newKeySet();
+        private Flow.Subscription upstream;
+        private long demand;
+        private long requested;
+        private int inFlight;
+        private boolean upstreamDone;
+        private Throwable error;
+        private boolean aborted;
+        private boolean cancelled;
+        private boolean terminated;
+
+        private Relay(final Flow.Subscriber<? super BulkWriteResult> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            final boolean accept;
+            lock.lock();
+            try {
+                accept = upstream == null && !cancelled && !terminated;
+                if (accept) {
+                    upstream = subscription;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (accept) {
+                drain();
+            } else {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(final WriteCommand command) {
+            requireNonNull(command, "Command may not be null!");
+            lock.lock();
+            try {
+                if (cancelled || terminated) {
+                    return;
+                }
+                requested = Math.max(0, requested - 1);
+                inFlight++;
+            } finally {
+                lock.unlock();
+            }
+            final CompletableFuture<BulkWriteResult> future = writer.apply(command);
+            pending.add(future);
+            if (isStopped()) {
+                // stopUpstream may have cancelled the pending writes before this one was added
+                future.cancel(true);
+            }
+            future.whenComplete((result, ex) -> {
+                pending.remove(future);
+                lock.lock();
+                try {
+                    inFlight--;
+                    if (result != null && !cancelled) {
+                        ready.add(result);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                drain();
+            });
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            lock.lock();
+            try {
+                if (!upstreamDone) {
+                    upstreamDone = true;
+                    error = throwable;
+                }
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            lock.lock();
+            try {
+                upstreamDone = true;
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        @Override
+        public void request(final long n) {
+            lock.lock();
+            try {
+                if (n <= 0) {
+                    ready.clear();
+                    upstreamDone = true;
+                    error = new IllegalArgumentException("Demand must be positive, got " + n);
+                    aborted = true;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (n <= 0) {
+                stopUpstream();
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                ready.clear();
+            } finally {
+                lock.unlock();
+            }
+            stopUpstream();
+        }
+
+        private void stopUpstream() {
+            final Flow.Subscription subscription;
+            lock.lock();
+            try {
+                subscription = upstream;
+                upstreamDone = true;
+            } finally {
+                lock.unlock();
+            }
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            pending.forEach(future -> future.cancel(true));
+        }
+
+        private boolean isStopped() {
+            lock.lock();
+            try {
+                return cancelled || aborted;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                emit();
+                boolean complete = false;
+                Throwable failure = null;
+                long credit = 0;
+                final Flow.Subscription subscription;
+                lock.lock();
+                try {
+                    subscription = upstream;
+                    if (!cancelled && !terminated) {
+                        if (aborted || upstreamDone && inFlight == 0 && ready.isEmpty()) {
+                            terminated = true;
+                            complete = error == null;
+                            failure = error;
+                        } else if (subscription != null && !upstreamDone) {
+                            final long slots = maxInFlight - inFlight - requested;
+                            final long wanted = demand - requested - inFlight - ready.size();
+                            credit = Math.min(slots, wanted);
+                            if (credit > 0) {
+                                requested += credit;
+                            }
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (complete) {
+                    downstream.onComplete();
+                } else if (failure != null) {
+                    downstream.onError(failure);
+                } else if (credit > 0) {
+                    subscription.request(credit);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            while (true) {
+                final BulkWriteResult next;
+                lock.lock();
+                try {
+                    if (cancelled || terminated || demand == 0 || ready.isEmpty()) {
+                        return;
+                    }
+                    next = ready.poll();
+                    if (demand != Long.MAX_VALUE) {
+                        demand--;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                downstream.onNext(next);
+            }
+        }
+    }
+}
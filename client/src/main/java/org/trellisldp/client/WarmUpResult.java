@@ -0,0 +1,110 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * WarmUpResult.
+ *
+ * <p>The outcome of warming up connections to a set of hosts.
+ *
+ * @author christopher-johnson
+ */
+public final class WarmUpResult {
+
+    private final Map<URI, Integer> validated;
+    private final Map<URI, LdpClientException> failures;
+    private final Duration duration;
+
+    private WarmUpResult(final Map<URI, Integer> validated, final Map<URI, LdpClientException> failures,
+            final Duration duration) {
+        this.validated = validated;
+        this.failures = failures;
+        this.duration = duration;
+    }
+
+    /**
+     * Summarise the outcomes of each host's warm-up exchanges, where a null outcome is a success.
+     */
+    static WarmUpResult of(final Map<URI, List<LdpClientException>> outcomes, final Duration duration) {
+        final Map<URI, Integer> validated = new LinkedHashMap<>();
+        final Map<URI, LdpClientException> failures = new LinkedHashMap<>();
+        outcomes.forEach((host, results) -> {
+            validated.put(host, (int) results.stream().filter(Objects::isNull).count());
+            results.stream().filter(Objects::nonNull).findFirst().ifPresent(ex -> failures.put(host, ex));
+        });
+        return new WarmUpResult(validated, failures, duration);
+    }
+
+    /**
+     * getHosts.
+     *
+     * @return the hosts warmed up, in the order given
+     */
+    public List<URI> getHosts() {
+        return List.copyOf(validated.keySet());
+    }
+
+    /**
+     * getValidated.
+     *
+     * @param host a host
+     * @return the number of warm-up requests to the host that were answered with a status below 500
+     */
+    public int getValidated(final URI host) {
+        return validated.getOrDefault(host, 0);
+    }
+
+    /**
+     * getError.
+     *
+     * @param host a host
+     * @return the first failure of a warm-up request to the host, if any failed
+     */
+    public Optional<LdpClientException> getError(final URI host) {
+        return Optional.ofNullable(failures.get(host));
+    }
+
+    /**
+     * getDuration.
+     *
+     * @return the time taken to warm up every host
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * isSuccess.
+     *
+     * @return true if every warm-up request succeeded
+     */
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpResult{" + validated + (failures.isEmpty() ? "" : ", failed=" + failures.keySet())
+                + ", duration=" + duration.toMillis() + "ms}";
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.commons.rdf.api.IRI;
+
+/**
+ * WriteCommand.
+ *
+ * <p>An immutable description of a single write for {@link AsyncLdpClient#bulkWrite}. The body supplier is only
+ * invoked when the request is dispatched.
+ *
+ * @author christopher-johnson
+ */
+public final class WriteCommand {
+
+    private final String method;
+    private final URI identifier;
+    private final Supplier<? extends InputStream> body;
+    private final Map<String, String> headers;
+
+    private WriteCommand(final String method, final URI identifier, final Supplier<? extends InputStream> body,
+            final Map<String, String> headers) {
+        this.method = method;
+        this.identifier = identifier;
+        this.body = body;
+        this.headers = unmodifiableMap(headers);
+    }
+
+    private static WriteCommand of(final String method, final IRI identifier,
+            final Supplier<? extends InputStream> body, final String contentType) {
+        requireNonNull(identifier, "Identifier may not be null!");
+        final Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(CONTENT_TYPE, requireNonNull(contentType, "Content type may not be null!"));
+        return new WriteCommand(method, URI.create(identifier.getIRIString()),
+                requireNonNull(body, "Body may not be null!"), headers);
+    }
+
+    /**
+     * put.
+     *
+     * @param identifier  a resource identifier
+     * @param body        a {@link Supplier} of the request body
+     * @param contentType a content type
+     * @return a PUT command
+     */
+    public static WriteCommand put(final IRI identifier, final Supplier<? extends InputStream> body,
+            final String contentType) {
+        return of("PUT", identifier, body, contentType);
+    }
+
+    /**
+     * post.
+     *
+     * @param identifier  a container identifier
+     * @param body        a {@link Supplier} of the request body
+     * @param contentType a content type
+     * @return a POST command
+     */
+    public static WriteCommand post(final IRI identifier, final Supplier<? extends InputStream> body,
+            final String contentType) {
+        return of("POST", identifier, body, contentType);
+    }
+
+    /**
+     * withHeader.
+     *
+     * @param name  a header name
+     * @param value a header value
+     * @return a copy of this command with the header set
+     */
+    public WriteCommand withHeader(final String name, final String value) {
+        final Map<String, String> copy = new LinkedHashMap<>(headers);
+        copy.put(requireNonNull(name, "Header name may not be null!"),
+                requireNonNull(value, "Header value may not be null!"));
+        return new WriteCommand(method, identifier, body, copy);
+    }
+
+    /**
+     * getMethod.
+     *
+     * @return the HTTP method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * getIdentifier.
+     *
+     * @return the target resource
+     */
+    public URI getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * getBody.
+     *
+     * @return the body supplier
+     */
+    public Supplier<? extends InputStream> getBody() {
+        return body;
+    }
+
+    /**
+     * getHeaders.
+     *
+     * @return the request headers, including Content-Type
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + identifier;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * AdaptiveLimiterTest.
+ *
+ * @author christopher-johnson
+ */
+class AdaptiveLimiterTest {
+
+    private static final URI uri = URI.create("http://localhost:8080/resource");
+    private static final String host = "http://localhost:8080";
+    private static final long RTT = 10_000_000L;
+
+    private static List<AdaptiveLimiter.Permit> acquireAll(final AdaptiveLimiter limiter, final int count) {
+        final List<AdaptiveLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.acquire(uri).join());
+        }
+        return permits;
+    }
+
+    @Test
+    void testQueueing() {
+        final AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10);
+        final List<AdaptiveLimiter.Permit> permits = acquireAll(limiter, 2);
+        final CompletableFuture<AdaptiveLimiter.Permit> waiting = limiter.acquire(uri);
+        assertFalse(waiting.isDone());
+        assertEquals(2, limiter.getInFlight(host));
+        assertEquals(1, limiter.getQueueDepth(host));
+        permits.get(0).onIgnore();
+        assertTrue(waiting.isDone());
+        assertEquals(0, limiter.getQueueDepth(host));
+        assertTrue(limiter.getHosts().contains(host));
+    }
+
+    @Test
+    void testCancelledWaiterLeavesQueue() {
+        final AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 10);
+        final AdaptiveLimiter.Permit permit = limiter.acquire(uri).join();
+        final CompletableFuture<AdaptiveLimiter.Permit> waiting = limiter.acquire(uri);
+        waiting.cancel(true);
+        assertEquals(0, limiter.getQueueDepth(host));
+        permit.onIgnore();
+        assertEquals(0, limiter.getInFlight(host));
+    }
+
+    @Test
+    void testOverloadHalvesLimit() {
+        final AdaptiveLimiter limiter = new AdaptiveLimiter(20, 1, 100);
+        acquireAll(limiter, 1).get(0).onResponse(503, RTT);
+        assertEquals(10, limiter.getLimit(host));
+        acquireAll(limiter, 1).get(0).onFailure();
+        assertEquals(5, limiter.getLimit(host));
+    }
+
+    @Test
+    void testLatencyDrivesLimit() {
+        final AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100);
+        for (int round = 0; round < 50; round++) {
+            acquireAll(limiter, 10).forEach(permit -> permit.onResponse(200, RTT));
+        }
+        final int grown = limiter.getLimit(host);
+        assertTrue(grown > 10);
+        acquireAll(limiter, 1).get(0).onResponse(200, RTT * 10);
+        assertTrue(limiter.getLimit(host) < grown);
+    }
+
+    @Test
+    void testIdleLimitDoesNotGrow() {
+        final AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100);
+        for (int round = 0; round < 100; round++) {
+            acquireAll(limiter, 1).get(0).onResponse(200, RTT);
+        }
+        assertEquals(10, limiter.getLimit(host));
+    }
+
+    @Test
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimiter(0, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimiter(20, 1, 10));
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static org.apache.jena.arq.riot.WebContent.contentTypeJSONLD;
+import static org.apache.jena.arq.riot.WebContent.contentTypeTurtle;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.trellisldp.http.domain.HttpConstants.ACCEPT_PATCH;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * AsyncLdpClientTest.
+ *
+ * @author christopher-johnson
+ */
+class AsyncLdpClientTest extends CommonTrellisTest {
+
+    private static final JenaRDF rdf = new JenaRDF();
+    private static String baseUrl;
+    private static String pid;
+    private final AsyncLdpClient client = new LdpClientImpl().async();
+
+    @BeforeAll
+    static void initAll() {
+        APP.before();
+        baseUrl = "http://localhost:" + APP.getLocalPort() + "/";
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        APP.after();
+    }
+
+    @BeforeEach
+    void init() {
+        pid = "ldp-test-" + UUID.randomUUID().toString();
+    }
+
+    private static InputStream getTestResource() {
+        return AsyncLdpClientTest.class.getResourceAsStream("/simpleTriple.ttl");
+    }
+
+    private static InputStream getTestJsonResource() {
+        return AsyncLdpClientTest.class.getResourceAsStream("/webanno.complete-embedded.json");
+    }
+
+    @DisplayName("AsyncHead")
+    @Test
+    void testHead() throws Exception {
+        final Map<String, List<String>> res = client.head(rdf.createIRI(baseUrl)).get();
+        assertTrue(res.containsKey(ACCEPT_PATCH));
+    }
+
+    @DisplayName("AsyncPutThenGet")
+    @Test
+    void testPutThenGet() throws Exception {
+        final IRI identifier = rdf.createIRI(baseUrl + pid);
+        final String res = client.putWithResponse(identifier, getTestResource(), contentTypeTurtle).thenCompose(
+                created -> client.getWithContentType(identifier, contentTypeTurtle)).get();
+        assertTrue(res.contains("A title"));
+    }
+
+    @DisplayName("AsyncConcurrentPut")
+    @Test
+    void testConcurrentPut() {
+        final CompletableFuture<?>[] futures = IntStream.range(0, 50).mapToObj(
+                i -> client.putWithResponse(rdf.createIRI(baseUrl + pid + "-" + i), getTestJsonResource(),
+                        contentTypeJSONLD).thenAccept(created -> assertTrue(created))).toArray(
+                CompletableFuture<?>[]::new);
+        CompletableFuture.allOf(futures).join();
+    }
+
+    @DisplayName("AsyncAdaptiveConcurrency")
+    @Test
+    void testAdaptiveConcurrency() {
+        final AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 16);
+        final AsyncLdpClient limited = LdpClientBuilder.newBuilder().adaptiveConcurrency(limiter).buildAsync();
+        final CompletableFuture<?>[] futures = IntStream.range(0, 50).mapToObj(
+                i -> limited.putWithResponse(rdf.createIRI(baseUrl + pid + "-" + i), getTestJsonResource(),
+                        contentTypeJSONLD).thenAccept(created -> assertTrue(created))).toArray(
+                CompletableFuture<?>[]::new);
+        CompletableFuture.allOf(futures).join();
+        final String host = "http://localhost:" + APP.getLocalPort();
+        assertEquals(0, limiter.getInFlight(host));
+        assertEquals(0, limiter.getQueueDepth(host));
+        assertTrue(limiter.getLimit(host) >= 1);
+    }
+
+    @DisplayName("AsyncCoalescedReads")
+    @Test
+    void testCoalescedReads() throws Exception {
+        final IRI identifier = rdf.createIRI(baseUrl + pid);
+        client.put(identifier, getTestResource(), contentTypeTurtle).get();
+        final ReadCoalescer coalescer = new ReadCoalescer();
+        final AsyncLdpClient coalescing = LdpClientBuilder.newBuilder().coalescing(coalescer).buildAsync();
+        final List<CompletableFuture<String>> reads = IntStream.range(0, 20).mapToObj(
+                i -> coalescing.getWithContentType(identifier, contentTypeTurtle)).collect(Collectors.toList());
+        for (final CompletableFuture<String> read : reads) {
+            assertTrue(read.get().contains("A title"));
+        }
+        assertEquals(20, coalescer.getRequests());
+        assertEquals(20, coalescer.getExchanges() + coalescer.getCoalesced());
+    }
+
+    @DisplayName("AsyncBulkWrite")
+    @Test
+    void testBulkWrite() throws Exception {
+        final List<BulkWriteResult> results = new CopyOnWriteArrayList<>();
+        try (SubmissionPublisher<WriteCommand> commands = new SubmissionPublisher<>()) {
+            final Flow.Publisher<BulkWriteResult> writes = client.bulkWrite(commands, 4);
+            final CompletableFuture<Void> consumed = new CompletableFuture<>();
+            writes.subscribe(new Flow.Subscriber<>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(final Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(final BulkWriteResult item) {
+                    results.add(item);
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onError(final Throwable throwable) {
+                    consumed.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    consumed.complete(null);
+                }
+            });
+            IntStream.range(0, 20).forEach(i -> commands.submit(WriteCommand.put(
+                    rdf.createIRI(baseUrl + pid + "-" + i), AsyncLdpClientTest::getTestResource,
+                    contentTypeTurtle)));
+            commands.close();
+            consumed.get();
+        }
+        assertEquals(20, results.size());
+        assertTrue(results.stream().allMatch(BulkWriteResult::isSuccess));
+    }
+
+    @DisplayName("AsyncDelete")
+    @Test
+    void testDelete() throws Exception {
+        final IRI identifier = rdf.createIRI(baseUrl + pid);
+        client.put(identifier, getTestResource(), contentTypeTurtle).thenCompose(v -> client.delete(identifier))
+                .get();
+        assertEquals(410, client.getResponse(identifier).get().statusCode());
+    }
+
+    @DisplayName("AsyncFailure")
+    @Test
+    void testFailure() {
+        final IRI identifier = rdf.createIRI("httq://some.fictitious.org");
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> client.head(identifier).get());
+        assertTrue(ex.getCause() instanceof LdpClientException);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * BatchScopeTest.
+ *
+ * @author christopher-johnson
+ */
+class BatchScopeTest {
+
+    private static final JenaRDF rdf = new JenaRDF();
+    private StubServer server;
+    private AsyncLdpClient client;
+    private IRI fast;
+    private IRI slow;
+    private IRI refused;
+
+    @BeforeEach
+    void init() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            refused = rdf.createIRI("http://localhost:" + socket.getLocalPort() + "/resource");
+        }
+        // answer requests for /slow never and every other request with a 204
+        server = StubServer.start((request, out) -> {
+            if (!request.getPath().equals("/slow")) {
+                out.write("HTTP/1.1 204 No Content\r\n\r\n".getBytes(UTF_8));
+            }
+        });
+        fast = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/fast");
+        slow = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/slow");
+        client = LdpClientBuilder.newBuilder().version(HTTP_1_1).buildAsync();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.closeAsync(Duration.ZERO);
+        server.close();
+    }
+
+    @Test
+    void testResults() throws Exception {
+        try (BatchScope<Map<String, List<String>>> scope = client.batch()) {
+            scope.fork(c -> c.head(fast));
+            scope.fork(c -> c.options(fast));
+            final List<Map<String, List<String>>> results = scope.join().get(5, SECONDS);
+            assertEquals(2, results.size());
+            assertFalse(scope.isDone());
+        }
+    }
+
+    @Test
+    void testFailureCancelsSiblings() throws Exception {
+        try (BatchScope<Object> scope = client.batch()) {
+            final CompletableFuture<Object> hanging = scope.fork(c -> c.head(slow));
+            final CompletableFuture<Object> chained = scope.fork(c -> c.head(slow).thenCompose(h -> c.head(fast)));
+            scope.fork(c -> c.head(refused));
+            final ExecutionException ex = assertThrows(ExecutionException.class, () -> scope.join().get(5,
+                    SECONDS));
+            assertTrue(ex.getCause() instanceof LdpClientException);
+            assertTrue(scope.isDone());
+            assertTrue(hanging.isCompletedExceptionally());
+            assertTrue(chained.isCompletedExceptionally());
+            assertThrows(CancellationException.class, () -> scope.fork(c -> c.head(fast)).join());
+            final CompletionException rejected = assertThrows(CompletionException.class, () -> scope.client()
+                    .head(fast).join());
+            assertTrue(rejected.getCause() instanceof LdpClientRejectedException);
+        }
+    }
+
+    @Test
+    void testDeadline() throws Exception {
+        try (BatchScope<Object> scope = client.batch(Duration.ofMillis(200))) {
+            scope.fork(c -> c.head(fast));
+            scope.fork(c -> c.head(slow));
+            final ExecutionException ex = assertThrows(ExecutionException.class, () -> scope.join().get(5,
+                    SECONDS));
+            assertTrue(ex.getCause() instanceof LdpClientTimeoutException);
+        }
+    }
+
+    @Test
+    void testJoinAfterDeadline() throws Exception {
+        try (BatchScope<Object> scope = client.batch(Duration.ofMillis(100))) {
+            scope.fork(c -> c.head(fast)).get(5, SECONDS);
+            Thread.sleep(300);
+            assertFalse(scope.isDone());
+            assertEquals(1, scope.join().get(5, SECONDS).size());
+        }
+    }
+
+    @Test
+    void testNestedScope() throws Exception {
+        final CompletableFuture<Object> inner;
+        try (BatchScope<Object> outer = client.batch()) {
+            final BatchScope<Object> nested = outer.client().batch();
+            inner = nested.fork(c -> c.head(slow));
+            assertFalse(inner.isDone());
+        }
+        assertThrows(ExecutionException.class, () -> inner.get(5, SECONDS));
+    }
+
+    @Test
+    void testCloseCancels() throws Exception {
+        final CompletableFuture<Object> task;
+        try (BatchScope<Object> scope = client.batch()) {
+            task = scope.fork(c -> c.head(slow));
+        }
+        assertTrue(task.isCancelled() || task.isCompletedExceptionally());
+        assertThrows(IllegalArgumentException.class, () -> client.batch(Duration.ZERO));
+    }
+}
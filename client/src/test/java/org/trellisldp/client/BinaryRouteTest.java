@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.trellisldp.client.OperationClass.BINARY;
+import static org.trellisldp.client.OperationClass.READ;
+import static org.trellisldp.client.OperationClass.WRITE;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * BinaryRouteTest.
+ *
+ * @author christopher-johnson
+ */
+class BinaryRouteTest {
+
+    private static final URI uri = URI.create("http://localhost:8080/resource");
+
+    @Test
+    void testMatches() {
+        final BinaryRoute route = new BinaryRoute(HttpClient.newHttpClient());
+        assertTrue(route.matches(BINARY));
+        assertFalse(route.matches(WRITE));
+        assertFalse(route.matches(READ));
+        assertEquals(BINARY, AsyncLdpClientImpl.classify(HttpRequest.newBuilder(uri).header("Content-Type",
+                "image/tiff").PUT(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(
+                new byte[100]))).build()));
+    }
+
+    @Test
+    void testSeparateConnections() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        try (StubServer server = StubServer.start((request, out) -> {
+            requests.add(request.getConnection() + " " + request.getMethod());
+            out.write("HTTP/1.1 204 No Content\r\n\r\n".getBytes(UTF_8));
+        })) {
+            final IRI identifier = new JenaRDF().createIRI("http://localhost:" + server.getLocalPort() + "/binary");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1)
+                    .binaryConnections(HTTP_1_1, executor).build()) {
+                client.head(identifier);
+                client.getBinary(identifier);
+                client.head(identifier);
+                client.getBinary(identifier);
+            }
+            assertEquals(List.of("0 HEAD", "1 GET", "0 HEAD", "1 GET"), requests);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testCloseBinaryClient() {
+        final ShardedHttpClientTest.ClosingClient binary = new ShardedHttpClientTest.ClosingClient();
+        new AsyncLdpClientImpl(HttpClient.newHttpClient(), null, null, null, null, null, null, null, null, null, null,
+                new BinaryRoute(binary), Long.MAX_VALUE, null, List.of(), null, false).close();
+        assertTrue(binary.closed);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * BinaryStreamTest.
+ *
+ * @author christopher-johnson
+ */
+class BinaryStreamTest {
+
+    private static final JenaRDF rdf = new JenaRDF();
+    private static final int CHUNK = 16 * 1024;
+    private static final byte[] BINARY = new byte[64 * CHUNK];
+
+    static {
+        new Random(42).nextBytes(BINARY);
+    }
+
+    @Test
+    void testStream() throws Exception {
+        try (StubServer server = serve()) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/binary");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).maxBinarySize(CHUNK).build();
+                    InputStream stream = client.getBinaryStream(identifier)) {
+                assertArrayEquals(BINARY, stream.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    void testVersionChannel() throws Exception {
+        try (StubServer server = serve()) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/chunked");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build();
+                    ReadableByteChannel channel = client.getBinaryVersionChannel(identifier, "1530000000000")) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                final ByteBuffer buffer = ByteBuffer.allocate(CHUNK);
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    out.write(buffer.array(), 0, buffer.limit());
+                    buffer.clear();
+                }
+                assertArrayEquals(BINARY, out.toByteArray());
+            }
+        }
+    }
+
+    @Test
+    void testRefuseByContentLength() throws Exception {
+        try (StubServer server = serve()) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/binary");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).maxBinarySize(CHUNK).build()) {
+                final LdpClientException ex = assertThrows(LdpClientException.class, () ->
+                        client.getBinary(identifier));
+                assertTrue(ex.getMessage().contains("exceeds the limit"));
+            }
+        }
+    }
+
+    @Test
+    void testRefuseWhileReading() throws Exception {
+        try (StubServer server = serve()) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/chunked");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).maxBinarySize(CHUNK).build()) {
+                final LdpClientException ex = assertThrows(LdpClientException.class, () ->
+                        client.getBinaryVersion(identifier, "1530000000000"));
+                assertTrue(ex.getMessage().contains("exceeds the limit"));
+            }
+        }
+    }
+
+    @Test
+    void testRefuseResource() throws Exception {
+        try (StubServer server = serve()) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/binary");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).maxBinarySize(CHUNK).build()) {
+                final LdpClientException ex = assertThrows(LdpClientException.class, () ->
+                        client.getResource(identifier, Map.of()));
+                assertTrue(ex.getMessage().contains("exceeds the limit"));
+            }
+        }
+    }
+
+    @Test
+    void testWithinLimit() throws Exception {
+        try (StubServer server = serve()) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/chunked");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).maxBinarySize(BINARY.length)
+                    .build()) {
+                assertArrayEquals(BINARY, client.getBinary(identifier));
+            }
+        }
+    }
+
+    @Test
+    void testSpill() throws Exception {
+        try (StubServer server = serve()) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/chunked");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build()) {
+                final LdpResponse<InputStream> response = client.getResource(identifier, Map.of(),
+                        LdpBodyHandlers.ofSpooledInputStream(CHUNK));
+                try (InputStream stream = response.getBody()) {
+                    assertArrayEquals(BINARY, stream.readAllBytes());
+                }
+            }
+        }
+    }
+
+    /**
+     * Answer requests for paths starting with /chunked with the binary in chunks of unknown total length, and any
+     * other path with the binary and its Content-Length.
+     */
+    private static StubServer serve() throws IOException {
+        return StubServer.start((request, out) -> {
+            if (request.getPath().startsWith("/chunked")) {
+                out.write("HTTP/1.1 200 OK\r\nContent-Type: image/tiff\r\nTransfer-Encoding: chunked\r\n\r\n"
+                        .getBytes(UTF_8));
+                for (int offset = 0; offset < BINARY.length; offset += CHUNK) {
+                    out.write((Integer.toHexString(CHUNK) + "\r\n").getBytes(UTF_8));
+                    out.write(BINARY, offset, CHUNK);
+                    out.write("\r\n".getBytes(UTF_8));
+                    out.flush();
+                }
+                out.write("0\r\n\r\n".getBytes(UTF_8));
+            } else {
+                out.write(("HTTP/1.1 200 OK\r\nContent-Type: image/tiff\r\nContent-Length: " + BINARY.length
+                        + "\r\n\r\n").getBytes(UTF_8));
+                out.write(BINARY);
+            }
+        });
+    }
+}
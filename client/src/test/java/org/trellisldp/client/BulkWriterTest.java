@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * BulkWriterTest.
+ *
+ * @author christopher-johnson
+ */
+class BulkWriterTest {
+
+    private static List<URI> uris(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> URI.create("http://localhost/" + i)).collect(
+                Collectors.toList());
+    }
+
+    private static BulkWriteResult created(final URI uri) {
+        return BulkWriteResult.response(uri, 201, "\"etag\"", uri.toString(), Duration.ZERO);
+    }
+
+    @Test
+    void testBoundedConcurrency() throws Exception {
+        final ExecutorService exec = Executors.newFixedThreadPool(16);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxSeen = new AtomicInteger();
+        final AtomicInteger progress = new AtomicInteger();
+        try {
+            final List<BulkWriteResult> results = new BulkWriter<URI>(uris(500), uri -> {
+                maxSeen.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return CompletableFuture.supplyAsync(() -> {
+                    inFlight.decrementAndGet();
+                    return created(uri);
+                }, exec);
+            }, (result, completed, total) -> progress.incrementAndGet()).start(8).get(30, TimeUnit.SECONDS);
+            assertEquals(500, results.size());
+            assertEquals(500, progress.get());
+            assertTrue(maxSeen.get() <= 8);
+            assertEquals(uris(500), results.stream().map(BulkWriteResult::getIdentifier).collect(
+                    Collectors.toList()));
+        } finally {
+            exec.shutdown();
+        }
+    }
+
+    @Test
+    void testSynchronousCompletionDoesNotRecurse() {
+        final List<BulkWriteResult> results = new BulkWriter<URI>(uris(100_000), uri -> completedFuture(
+                created(uri)), BulkWriteListener.NONE).start(4).join();
+        assertEquals(100_000, results.size());
+        assertTrue(results.stream().allMatch(BulkWriteResult::isSuccess));
+    }
+
+    @Test
+    void testFailuresAreReported() {
+        final List<BulkWriteResult> results = new BulkWriter<URI>(uris(3), uri -> completedFuture(
+                BulkWriteResult.failure(uri, new LdpClientException("refused"), Duration.ZERO)),
+                BulkWriteListener.NONE).start(2).join();
+        assertTrue(results.stream().noneMatch(BulkWriteResult::isSuccess));
+        assertEquals("refused", results.get(0).getError().map(Throwable::getMessage).orElse(""));
+    }
+
+    @Test
+    void testWriteIssuedDuringCancellationIsCancelled() {
+        final CompletableFuture<BulkWriteResult> first = new CompletableFuture<>();
+        final CompletableFuture<BulkWriteResult> second = new CompletableFuture<>();
+        final List<CompletableFuture<List<BulkWriteResult>>> batch = new ArrayList<>();
+        // the batch is cancelled while the second write is being issued, after the in-flight writes were swept
+        batch.add(new BulkWriter<URI>(uris(2), uri -> {
+            if (batch.isEmpty()) {
+                return first;
+            }
+            batch.get(0).cancel(true);
+            return second;
+        }, BulkWriteListener.NONE).start(1));
+        first.complete(created(uris(1).get(0)));
+        assertTrue(batch.get(0).isCancelled());
+        assertTrue(second.isCancelled());
+    }
+
+    @Test
+    void testEmptyBatch() {
+        assertTrue(new BulkWriter<URI>(new ArrayList<>(), uri -> completedFuture(created(uri)),
+                BulkWriteListener.NONE).start(4).join().isEmpty());
+        final CompletableFuture<List<BulkWriteResult>> invalid = new BulkWriter<URI>(uris(1),
+                uri -> completedFuture(created(uri)), BulkWriteListener.NONE).start(0);
+        final CompletionException ex = assertThrows(CompletionException.class, invalid::join);
+        assertTrue(ex.getCause().getCause() instanceof IllegalArgumentException);
+    }
+}
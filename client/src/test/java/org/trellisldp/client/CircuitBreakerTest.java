@@ -0,0 +1,125 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.trellisldp.client.CircuitBreaker.State.CLOSED;
+import static org.trellisldp.client.CircuitBreaker.State.HALF_OPEN;
+import static org.trellisldp.client.CircuitBreaker.State.OPEN;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * CircuitBreakerTest.
+ *
+ * @author christopher-johnson
+ */
+class CircuitBreakerTest {
+
+    private static final String host = "http://localhost:8080";
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testOpensOnFailureRate() {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CircuitBreaker breaker = CircuitBreaker.newBuilder().window(10, 4).failureRate(50)
+                .listener((h, from, to) -> events.add(from + ">" + to)).build();
+        breaker.onResult(host, false, MS);
+        breaker.onResult(host, false, MS);
+        breaker.onResult(host, false, MS);
+        breaker.onResult(host, true, MS);
+        assertEquals(CLOSED, breaker.getState(host));
+        assertTrue(breaker.allows(host));
+        breaker.onResult(host, true, MS);
+        assertEquals(CLOSED, breaker.getState(host));
+        breaker.onResult(host, true, MS);
+        assertEquals(OPEN, breaker.getState(host));
+        assertEquals(50, breaker.getFailureRate(host));
+        assertFalse(breaker.allows(host));
+        assertEquals(1, breaker.getRejected());
+        assertEquals(List.of("CLOSED>OPEN"), events);
+    }
+
+    @Test
+    void testOpensOnSlowCalls() {
+        final CircuitBreaker breaker = CircuitBreaker.newBuilder().window(4, 4)
+                .slowCalls(Duration.ofMillis(100), 75).build();
+        breaker.onResult(host, false, 200 * MS);
+        breaker.onResult(host, false, 10 * MS);
+        breaker.onCancel(host, 10 * MS);
+        breaker.onCancel(host, 500 * MS);
+        assertEquals(CLOSED, breaker.getState(host));
+        assertEquals(2 * 100.0 / 3, breaker.getSlowCallRate(host), 0.001);
+        breaker.onResult(host, false, 300 * MS);
+        assertEquals(OPEN, breaker.getState(host));
+    }
+
+    @Test
+    void testHalfOpenProbe() {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CircuitBreaker breaker = CircuitBreaker.newBuilder().window(1, 1).openDuration(Duration.ZERO)
+                .listener((h, from, to) -> events.add(from + ">" + to)).build();
+        assertFalse(breaker.shouldProbe(host));
+        breaker.onResult(host, true, MS);
+        assertTrue(breaker.shouldProbe(host));
+        assertFalse(breaker.shouldProbe(host));
+        assertEquals(HALF_OPEN, breaker.getState(host));
+        assertFalse(breaker.allows(host));
+        breaker.onProbe(host, false);
+        assertEquals(OPEN, breaker.getState(host));
+        assertTrue(breaker.shouldProbe(host));
+        breaker.onProbe(host, true);
+        assertEquals(CLOSED, breaker.getState(host));
+        assertEquals(0, breaker.getFailureRate(host));
+        assertEquals(List.of("CLOSED>OPEN", "OPEN>HALF_OPEN", "HALF_OPEN>OPEN", "OPEN>HALF_OPEN",
+                "HALF_OPEN>CLOSED"), events);
+        assertEquals(5, breaker.getTransitions());
+    }
+
+    @Test
+    void testClientFailsFast() throws Exception {
+        final int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        final CircuitBreaker breaker = CircuitBreaker.newBuilder().window(2, 2).build();
+        final IRI identifier = new JenaRDF().createIRI("http://localhost:" + port + "/resource");
+        try (LdpClient client = LdpClientBuilder.newBuilder().circuitBreaker(breaker).build()) {
+            for (int i = 0; i < 2; i++) {
+                final LdpClientException ex = assertThrows(LdpClientException.class, () -> client.head(identifier));
+                assertFalse(ex instanceof LdpClientCircuitOpenException);
+            }
+            assertEquals(OPEN, breaker.getState("http://localhost:" + port));
+            assertThrows(LdpClientCircuitOpenException.class, () -> client.head(identifier));
+        }
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> CircuitBreaker.newBuilder().window(5, 6));
+        assertThrows(IllegalArgumentException.class, () -> CircuitBreaker.newBuilder().failureRate(0));
+        assertThrows(IllegalArgumentException.class, () -> CircuitBreaker.newBuilder().probeMethod("GET"));
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.net.http.HttpResponse.BodyHandlers.discarding;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+
+/**
+ * DispatchBenchmarkTest.
+ *
+ * <p>Measures the cost of the dispatch pipeline against an HTTP client that answers every request at once, so that
+ * only the client's own work is timed: a HEAD sent directly, building its request, logging its status and reading
+ * its headers the way operations did before they shared a pipeline, then HEAD operations with no interceptors and
+ * with one and four pass-through interceptors. Every configuration is warmed up, then timed in alternating rounds
+ * and the best round kept, so that the order of the runs does not favour any of them. The pipeline must add no
+ * more than {@link #MAX_OVERHEAD} to the direct send, and four interceptors no more than twice the cost of none.
+ * Enable with {@code -Dtrellis.benchmark=true}.
+ *
+ * @author christopher-johnson
+ */
+@EnabledIfSystemProperty(named = "trellis.benchmark", matches = "true")
+class DispatchBenchmarkTest {
+
+    private static final Logger log = getLogger(DispatchBenchmarkTest.class);
+    private static final String DIRECT = "direct";
+    private static final int WARM_UP = 20_000;
+    private static final int ITERATIONS = 100_000;
+    private static final int ROUNDS = 5;
+    private static final int[] INTERCEPTORS = {0, 1, 4};
+    private static final Duration MAX_OVERHEAD = Duration.ofNanos(2_000);
+    private static final IRI identifier = new JenaRDF().createIRI("http://localhost:8080/resource");
+    private static final Interceptor PASS = new Interceptor() {
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> intercept(final Chain<T> chain) {
+            return chain.proceed(chain.request());
+        }
+    };
+
+    @DisplayName("DispatchOverhead")
+    @Test
+    void testDispatchOverhead() {
+        final StubClient stub = new StubClient();
+        final Map<String, Supplier<CompletableFuture<?>>> operations = new LinkedHashMap<>();
+        operations.put(DIRECT, () -> stub.sendAsync(HttpRequest.newBuilder(URI.create(identifier.getIRIString()))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody()).build(), discarding())
+                .thenApply(response -> {
+                    log.info("{} {} request to {} returned {}", response.version(), "HEAD", identifier,
+                            response.statusCode());
+                    return response.headers().map();
+                }));
+        for (final int count : INTERCEPTORS) {
+            final AsyncLdpClient client = new AsyncLdpClientImpl(stub, null, null, null, null, null, null, null, null,
+                    null, null, null, Long.MAX_VALUE, null, Collections.nCopies(count, PASS), null, false);
+            operations.put(label(count), () -> client.head(identifier));
+        }
+        operations.values().forEach(operation -> time(operation, WARM_UP));
+        final Map<String, Long> best = new LinkedHashMap<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            operations.forEach((label, operation) -> best.merge(label, time(operation, ITERATIONS), Math::min));
+        }
+        final double direct = (double) best.get(DIRECT) / ITERATIONS;
+        best.forEach((label, nanos) -> log.info("{}: {} ns/op, {} ns/op over the direct send", label,
+                String.format("%.1f", (double) nanos / ITERATIONS), String.format("%.1f",
+                        (double) nanos / ITERATIONS - direct)));
+        assertEquals((long) operations.size() * (WARM_UP + ROUNDS * ITERATIONS), stub.sent);
+        final double pipeline = (double) best.get(label(0)) / ITERATIONS;
+        assertTrue(pipeline - direct <= MAX_OVERHEAD.toNanos(), "Pipeline overhead of " + (pipeline - direct)
+                + " ns/op exceeds " + MAX_OVERHEAD.toNanos());
+        assertTrue(best.get(label(4)) <= 2 * best.get(label(0)), "Four interceptors cost more than twice none");
+    }
+
+    private static String label(final int interceptors) {
+        return interceptors + " interceptor(s)";
+    }
+
+    private static long time(final Supplier<CompletableFuture<?>> operation, final int iterations) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.get().join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * An HTTP client answering every request with an empty 204 as soon as it is sent.
+     */
+    private static final class StubClient extends HttpClient {
+
+        private long sent;
+
+        @Override
+        public Optional<CookieHandler> cookieHandler() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Duration> connectTimeout() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Redirect followRedirects() {
+            return Redirect.NEVER;
+        }
+
+        @Override
+        public Optional<ProxySelector> proxy() {
+            return Optional.empty();
+        }
+
+        @Override
+        public SSLContext sslContext() {
+            return null;
+        }
+
+        @Override
+        public SSLParameters sslParameters() {
+            return null;
+        }
+
+        @Override
+        public Optional<Authenticator> authenticator() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Version version() {
+            return HTTP_1_1;
+        }
+
+        @Override
+        public Optional<Executor> executor() {
+            return Optional.empty();
+        }
+
+        @Override
+        public <T> HttpResponse<T> send(final HttpRequest req, final HttpResponse.BodyHandler<T> handler)
+                throws IOException, InterruptedException {
+            return sendAsync(req, handler).join();
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest req,
+                final HttpResponse.BodyHandler<T> handler) {
+            return sendAsync(req, handler, null);
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest req,
+                final HttpResponse.BodyHandler<T> handler, final HttpResponse.PushPromiseHandler<T> push) {
+            sent++;
+            return CompletableFuture.completedFuture(new StubResponse<>(req));
+        }
+    }
+
+    private static final class StubResponse<T> implements HttpResponse<T> {
+
+        private static final HttpHeaders HEADERS = HttpHeaders.of(Map.of(), (name, value) -> true);
+
+        private final HttpRequest req;
+
+        private StubResponse(final HttpRequest req) {
+            this.req = req;
+        }
+
+        @Override
+        public int statusCode() {
+            return 204;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return req;
+        }
+
+        @Override
+        public Optional<HttpResponse<T>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return HEADERS;
+        }
+
+        @Override
+        public T body() {
+            return null;
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return req.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HTTP_1_1;
+        }
+    }
+}
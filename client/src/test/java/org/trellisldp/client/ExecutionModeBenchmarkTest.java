@@ -0,0 +1,143 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static org.apache.jena.arq.riot.WebContent.contentTypeJSONLD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+
+/**
+ * ExecutionModeBenchmarkTest.
+ *
+ * <p>Runs the {@link RepeatedTest} PUT workload from many concurrent callers, once on platform threads with
+ * cached pools and once on virtual threads, and reports peak thread count, resident set size and throughput.
+ * Enable with {@code -Dtrellis.benchmark=true}.
+ *
+ * @author christopher-johnson
+ */
+@EnabledIfSystemProperty(named = "trellis.benchmark", matches = "true")
+class ExecutionModeBenchmarkTest extends CommonTrellisTest {
+
+    private static final Logger log = getLogger(ExecutionModeBenchmarkTest.class);
+    private static final JenaRDF rdf = new JenaRDF();
+    private static final int CALLERS = 200;
+    private static final int REQUESTS_PER_CALLER = 20;
+    private static String baseUrl;
+
+    @BeforeAll
+    static void initAll() {
+        APP.before();
+        baseUrl = "http://localhost:" + APP.getLocalPort() + "/";
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        APP.after();
+    }
+
+    private static InputStream getTestJsonResource() {
+        return ExecutionModeBenchmarkTest.class.getResourceAsStream("/webanno.complete-embedded.json");
+    }
+
+    @DisplayName("CachedPoolMode")
+    @Test
+    void testCachedPool() throws Exception {
+        final ExecutorService clientExec = Executors.newCachedThreadPool();
+        final ExecutorService callers = Executors.newCachedThreadPool();
+        try {
+            run("cached-pool", LdpClientBuilder.newBuilder().executor(clientExec).build(), callers);
+        } finally {
+            callers.shutdown();
+            clientExec.shutdown();
+        }
+    }
+
+    @DisplayName("VirtualThreadMode")
+    @Test
+    void testVirtualThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21");
+        final ExecutorService callers = LdpClientBuilder.newVirtualThreadExecutor();
+        try {
+            run("virtual-threads", LdpClientBuilder.newBuilder().virtualThreads(true).build(), callers);
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    private void run(final String mode, final LdpClient client, final ExecutorService callers) throws Exception {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final String pid = "ldp-bench-" + UUID.randomUUID().toString();
+        final AtomicInteger created = new AtomicInteger();
+        System.gc();
+        threads.resetPeakThreadCount();
+        final long start = System.nanoTime();
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < CALLERS; c++) {
+            final int caller = c;
+            futures.add(callers.submit(() -> {
+                for (int i = 0; i < REQUESTS_PER_CALLER; i++) {
+                    final IRI identifier = rdf.createIRI(baseUrl + pid + "-" + caller + "-" + i);
+                    if (client.putWithResponse(identifier, getTestJsonResource(), contentTypeJSONLD)) {
+                        created.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        final int total = CALLERS * REQUESTS_PER_CALLER;
+        log.info("{}: {} PUTs in {} s ({} req/s), peak threads {}, RSS {} kB", mode, total,
+                String.format("%.2f", seconds), String.format("%.0f", total / seconds), threads.getPeakThreadCount(),
+                residentSetKb());
+        assertEquals(total, created.get());
+    }
+
+    private static long residentSetKb() throws IOException {
+        if (Files.isReadable(Paths.get("/proc/self/status"))) {
+            return Files.readAllLines(Paths.get("/proc/self/status")).stream().filter(l -> l.startsWith("VmRSS:"))
+                    .map(l -> l.replaceAll("\\D", "")).mapToLong(Long::parseLong).findFirst().orElse(-1L);
+        }
+        final Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) / 1024;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * HedgingPolicyTest.
+ *
+ * @author christopher-johnson
+ */
+class HedgingPolicyTest {
+
+    private static final String host = "http://localhost:8080";
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testNoHedgeUntilWarm() {
+        final HedgingPolicy policy = HedgingPolicy.newBuilder().build();
+        for (int i = 1; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            policy.onResponse(host, i * MS, false);
+        }
+        assertFalse(policy.getHedgeDelay(host).isPresent());
+        policy.onResponse(host, 20 * MS, false);
+        assertEquals(Duration.ofMillis(19), policy.getHedgeDelay(host).orElse(null));
+    }
+
+    @Test
+    void testPercentileAndMinimumDelay() {
+        final HedgingPolicy policy = HedgingPolicy.newBuilder().percentile(50).minDelay(Duration.ofMillis(30))
+                .build();
+        for (int i = 1; i <= 96; i++) {
+            policy.onResponse(host, i * MS, false);
+        }
+        assertEquals(Duration.ofMillis(48), policy.getHedgeDelay(host).orElse(null));
+        final HedgingPolicy fast = HedgingPolicy.newBuilder().minDelay(Duration.ofMillis(500)).build();
+        for (int i = 1; i <= 100; i++) {
+            fast.onResponse(host, MS, false);
+        }
+        assertEquals(Duration.ofMillis(500), fast.getHedgeDelay(host).orElse(null));
+    }
+
+    @Test
+    void testBudget() {
+        final HedgingPolicy policy = HedgingPolicy.newBuilder().budget(10).build();
+        for (int i = 0; i < 100; i++) {
+            policy.onRequest(host);
+        }
+        int sent = 0;
+        while (policy.tryHedge()) {
+            sent++;
+        }
+        assertEquals(10, sent);
+        assertEquals(10, policy.getHedges());
+    }
+
+    @Test
+    void testHedgedRead() throws Exception {
+        final AtomicBoolean stalled = new AtomicBoolean();
+        // serve {} to every GET, stalling the first request for /slow
+        try (StubServer server = StubServer.start((request, out) -> {
+            if (request.getPath().equals("/slow") && stalled.compareAndSet(false, true)) {
+                Thread.sleep(5000);
+            }
+            out.write("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: 2\r\n\r\n{}"
+                    .getBytes(UTF_8));
+        })) {
+            final HedgingPolicy policy = HedgingPolicy.newBuilder().minDelay(Duration.ofMillis(500)).build();
+            final LdpClient client = LdpClientBuilder.newBuilder().hedging(policy).version(HTTP_1_1).build();
+            final String base = "http://localhost:" + server.getLocalPort();
+            final JenaRDF rdf = new JenaRDF();
+            for (int i = 0; i < 40; i++) {
+                client.getJson(rdf.createIRI(base + "/fast"));
+            }
+            assertEquals(0, policy.getHedges());
+            final long start = System.nanoTime();
+            assertEquals("{}", client.getJson(rdf.createIRI(base + "/slow")));
+            assertTrue(System.nanoTime() - start < 4000 * MS);
+            assertEquals(1, policy.getHedges());
+            assertEquals(1, policy.getHedgesWon());
+        }
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.newBuilder().percentile(100));
+        assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.newBuilder().budget(0));
+    }
+}
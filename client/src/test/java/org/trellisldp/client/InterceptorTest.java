@@ -0,0 +1,133 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.trellisldp.client.OperationClass.READ;
+import static org.trellisldp.client.OperationClass.WRITE;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * InterceptorTest.
+ *
+ * @author christopher-johnson
+ */
+class InterceptorTest {
+
+    private static final JenaRDF rdf = new JenaRDF();
+
+    @Test
+    void testChainOrder() throws Exception {
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        try (StubServer server = serve(requests, new AtomicInteger())) {
+            final IRI identifier = rdf.createIRI(server.uri("/resource").toString());
+            final List<String> seen = new CopyOnWriteArrayList<>();
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1)
+                    .interceptor(new Interceptor() {
+                        @Override
+                        public <T> CompletableFuture<HttpResponse<T>> intercept(final Chain<T> chain) {
+                            seen.add("first " + chain.operation() + " " + chain.operationClass());
+                            return chain.proceed(trace(chain.request(), "abc"));
+                        }
+                    }).interceptor(new Interceptor() {
+                        @Override
+                        public <T> CompletableFuture<HttpResponse<T>> intercept(final Chain<T> chain) {
+                            seen.add("second " + chain.request().headers().firstValue("X-Trace").orElse(""));
+                            return chain.proceed(chain.request());
+                        }
+                    }).build()) {
+                client.head(identifier);
+                client.delete(identifier);
+            }
+            assertEquals(List.of("first HEAD " + READ, "second abc", "first DELETE " + WRITE, "second abc"), seen);
+            assertEquals(List.of("HEAD abc", "DELETE abc"), requests);
+        }
+    }
+
+    @Test
+    void testShortCircuit() throws Exception {
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        try (StubServer server = serve(requests, new AtomicInteger())) {
+            final IRI identifier = rdf.createIRI(server.uri("/resource").toString());
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1)
+                    .interceptor(new Interceptor() {
+                        @Override
+                        public <T> CompletableFuture<HttpResponse<T>> intercept(final Chain<T> chain) {
+                            return CompletableFuture.failedFuture(new LdpClientRejectedException("Blocked"));
+                        }
+                    }).build()) {
+                assertThrows(LdpClientRejectedException.class, () -> client.head(identifier));
+            }
+            assertTrue(requests.isEmpty());
+        }
+    }
+
+    @Test
+    void testOncePerOperation() throws Exception {
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        try (StubServer server = serve(requests, new AtomicInteger(1))) {
+            final IRI identifier = rdf.createIRI(server.uri("/resource").toString());
+            final AtomicInteger intercepted = new AtomicInteger();
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1)
+                    .retry(RetryPolicy.newBuilder().backoff(Duration.ZERO, Duration.ofMillis(10)).build())
+                    .interceptor(new Interceptor() {
+                        @Override
+                        public <T> CompletableFuture<HttpResponse<T>> intercept(final Chain<T> chain) {
+                            intercepted.incrementAndGet();
+                            return chain.proceed(chain.request());
+                        }
+                    }).build()) {
+                client.head(identifier);
+            }
+            assertEquals(1, intercepted.get());
+            assertEquals(2, requests.size());
+        }
+    }
+
+    private static HttpRequest trace(final HttpRequest req, final String trace) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(req.uri()).method(req.method(),
+                req.bodyPublisher().orElseGet(HttpRequest.BodyPublishers::noBody)).header("X-Trace", trace);
+        req.headers().map().forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+        return builder.build();
+    }
+
+    /**
+     * Answer the first {@code failures} requests with a 503 and the rest with a 204, recording the method and
+     * {@code X-Trace} header of each request.
+     */
+    private static StubServer serve(final List<String> requests, final AtomicInteger failures) throws IOException {
+        return StubServer.start((request, out) -> {
+            requests.add(request.getMethod() + request.getHeader("X-Trace").map(trace -> " " + trace).orElse(""));
+            out.write((failures.getAndDecrement() > 0 ? "HTTP/1.1 503 Service Unavailable\r\n"
+                    + "Content-Length: 0\r\n\r\n" : "HTTP/1.1 204 No Content\r\n\r\n").getBytes(UTF_8));
+        });
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * LdpBodyHandlersTest.
+ *
+ * @author christopher-johnson
+ */
+class LdpBodyHandlersTest {
+
+    private static final JenaRDF rdf = new JenaRDF();
+    private static final String BODY = "<http://example.com/s> <http://example.com/p> \"o\" .\n";
+    private static final int CHUNKS = 64;
+
+    @Test
+    void testByteBuffers() throws Exception {
+        try (StubServer server = serve(new AtomicInteger())) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/resource");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build()) {
+                final LdpResponse<List<ByteBuffer>> response = client.getResource(identifier,
+                        Map.of("Accept", "application/n-triples"), LdpBodyHandlers.ofByteBuffers());
+                assertEquals(200, response.getStatus());
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                for (final ByteBuffer buffer : response.getBody()) {
+                    final byte[] bytes = new byte[buffer.remaining()];
+                    buffer.get(bytes);
+                    out.write(bytes);
+                }
+                assertEquals(BODY.repeat(CHUNKS), out.toString(UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void testPublisher() throws Exception {
+        try (StubServer server = serve(new AtomicInteger())) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/resource");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build()) {
+                final LdpResponse<Flow.Publisher<List<ByteBuffer>>> response = client.getResource(identifier,
+                        Map.of(), LdpBodyHandlers.ofPublisher());
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                final CompletableFuture<Void> done = new CompletableFuture<>();
+                response.getBody().subscribe(new Flow.Subscriber<List<ByteBuffer>>() {
+                    @Override
+                    public void onSubscribe(final Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(final List<ByteBuffer> buffers) {
+                        buffers.forEach(buffer -> {
+                            final byte[] bytes = new byte[buffer.remaining()];
+                            buffer.get(bytes);
+                            out.write(bytes, 0, bytes.length);
+                        });
+                    }
+
+                    @Override
+                    public void onError(final Throwable throwable) {
+                        done.completeExceptionally(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        done.complete(null);
+                    }
+                });
+                done.get();
+                assertEquals(BODY.repeat(CHUNKS), out.toString(UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void testInputStreamAfterRetry() throws Exception {
+        final AtomicInteger failures = new AtomicInteger(1);
+        try (StubServer server = serve(failures)) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/resource");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1)
+                    .retry(RetryPolicy.newBuilder().backoff(Duration.ZERO, Duration.ofMillis(10)).build()).build()) {
+                final LdpResponse<InputStream> response = client.getResource(identifier, Map.of(),
+                        LdpBodyHandlers.ofInputStream());
+                assertEquals(200, response.getStatus());
+                try (InputStream body = response.getBody()) {
+                    assertEquals(BODY.repeat(CHUNKS), new String(body.readAllBytes(), UTF_8));
+                }
+            }
+        }
+    }
+
+    /**
+     * Answer the first {@code failures} requests with a 503 whose body must be discarded, and the rest with a body
+     * written in many chunks.
+     */
+    private static StubServer serve(final AtomicInteger failures) throws IOException {
+        return StubServer.start((request, out) -> {
+            if (failures.getAndDecrement() > 0) {
+                out.write("HTTP/1.1 503 Service Unavailable\r\nContent-Length: 5\r\n\r\nbusy!".getBytes(UTF_8));
+            } else {
+                final byte[] chunk = BODY.getBytes(UTF_8);
+                out.write(("HTTP/1.1 200 OK\r\nContent-Type: application/n-triples\r\n"
+                        + "Content-Length: " + chunk.length * CHUNKS + "\r\n\r\n").getBytes(UTF_8));
+                for (int i = 0; i < CHUNKS; i++) {
+                    out.write(chunk);
+                    out.flush();
+                }
+            }
+        });
+    }
+}
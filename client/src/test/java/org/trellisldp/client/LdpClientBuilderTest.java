@@ -0,0 +1,313 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Redirect.ALWAYS;
+import static java.net.http.HttpClient.Redirect.NEVER;
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.net.http.HttpClient.Version.HTTP_2;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * LdpClientBuilderTest.
+ *
+ * @author christopher-johnson
+ */
+class LdpClientBuilderTest {
+
+    @Test
+    void testIndependentInstances() {
+        final ExecutorService exec = Executors.newFixedThreadPool(2);
+        try {
+            final HttpClient ingest = ((AsyncLdpClientImpl) LdpClientBuilder.newBuilder().executor(exec)
+                    .version(HTTP_1_1).connectTimeout(Duration.ofSeconds(2)).buildAsync()).getHttpClient();
+            final HttpClient read = ((AsyncLdpClientImpl) LdpClientBuilder.newBuilder().version(HTTP_2)
+                    .followRedirects(NEVER).buildAsync()).getHttpClient();
+            assertNotSame(ingest, read);
+            assertSame(exec, ingest.executor().orElse(null));
+            assertEquals(HTTP_1_1, ingest.version());
+            assertEquals(Duration.ofSeconds(2), ingest.connectTimeout().orElse(null));
+            assertEquals(ALWAYS, ingest.followRedirects());
+            assertEquals(HTTP_2, read.version());
+            assertEquals(NEVER, read.followRedirects());
+            assertFalse(read.connectTimeout().isPresent());
+        } finally {
+            exec.shutdown();
+        }
+    }
+
+    @Test
+    void testBlockingClientsDoNotShareTransport() {
+        final LdpClient first = new LdpClientImpl();
+        final LdpClient second = new LdpClientImpl();
+        assertNotSame(((AsyncLdpClientImpl) first.async()).getHttpClient(),
+                ((AsyncLdpClientImpl) second.async()).getHttpClient());
+    }
+
+    @Test
+    void testConflictingPoolPropertiesFail() {
+        final String previous = System.getProperty(LdpClientBuilder.KEEP_ALIVE_TIMEOUT);
+        final String poolSize = System.getProperty(LdpClientBuilder.CONNECTION_POOL_SIZE);
+        try {
+            System.setProperty(LdpClientBuilder.KEEP_ALIVE_TIMEOUT, "30");
+            System.clearProperty(LdpClientBuilder.CONNECTION_POOL_SIZE);
+            assertThrows(IllegalStateException.class, () -> LdpClientBuilder.newBuilder().connectionPoolSize(8)
+                    .keepAlive(Duration.ofSeconds(90)).buildAsync());
+            assertEquals("30", System.getProperty(LdpClientBuilder.KEEP_ALIVE_TIMEOUT));
+            assertNull(System.getProperty(LdpClientBuilder.CONNECTION_POOL_SIZE));
+            LdpClientBuilder.newBuilder().keepAlive(Duration.ofSeconds(30)).buildAsync().close();
+            LdpClientBuilder.newBuilder().keepAlive(Duration.ofMillis(29_500)).buildAsync().close();
+        } finally {
+            restore(LdpClientBuilder.KEEP_ALIVE_TIMEOUT, previous);
+            restore(LdpClientBuilder.CONNECTION_POOL_SIZE, poolSize);
+        }
+    }
+
+    @Test
+    void testPoolPropertiesAfterBuildFail() {
+        final String poolSize = System.getProperty(LdpClientBuilder.CONNECTION_POOL_SIZE);
+        try {
+            System.clearProperty(LdpClientBuilder.CONNECTION_POOL_SIZE);
+            LdpClientBuilder.newBuilder().buildAsync().close();
+            assertThrows(IllegalStateException.class, () -> LdpClientBuilder.newBuilder().connectionPoolSize(8)
+                    .buildAsync());
+            assertNull(System.getProperty(LdpClientBuilder.CONNECTION_POOL_SIZE));
+        } finally {
+            restore(LdpClientBuilder.CONNECTION_POOL_SIZE, poolSize);
+        }
+    }
+
+    private static void restore(final String key, final String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+
+    @Test
+    void testVirtualThreads() {
+        final LdpClientBuilder builder = LdpClientBuilder.newBuilder().virtualThreads(true);
+        if (Runtime.version().feature() >= 21) {
+            assertTrue(((AsyncLdpClientImpl) builder.buildAsync()).getHttpClient().executor().isPresent());
+        } else {
+            assertThrows(IllegalStateException.class, builder::buildAsync);
+        }
+        assertThrows(IllegalStateException.class, () -> LdpClientBuilder.newBuilder().virtualThreads(true)
+                .executor(Executors.newSingleThreadExecutor()).buildAsync());
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> LdpClientBuilder.newBuilder().connectionPoolSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> LdpClientBuilder.newBuilder()
+                .keepAlive(Duration.ofMillis(500)));
+        assertThrows(IllegalArgumentException.class, () -> LdpClientBuilder.newBuilder().keepAlive(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> LdpClientBuilder.newBuilder()
+                .keepAlive(Duration.ofSeconds(-1)));
+        assertThrows(NullPointerException.class, () -> LdpClientBuilder.newBuilder().executor(null));
+        assertTrue(LdpClientBuilder.newBuilder().build() instanceof LdpClientImpl);
+    }
+
+    @Test
+    void testRateLimiterShedsLoad() {
+        final RateLimiter budget = RateLimiter.newBuilder().rate(OperationClass.READ, 0.001, 1).maxQueued(0)
+                .build();
+        final LdpClient client = LdpClientBuilder.newBuilder().rateLimiter(budget).build();
+        final IRI identifier = new JenaRDF().createIRI("http://localhost:1/resource");
+        final LdpClientException refused = assertThrows(LdpClientException.class, () -> client.head(identifier));
+        assertFalse(refused instanceof LdpClientRejectedException);
+        assertThrows(LdpClientRejectedException.class, () -> client.head(identifier));
+        assertEquals(1, budget.getRejected("http://localhost:1", OperationClass.READ));
+    }
+
+    @Test
+    void testCloseReleasesOwnedExecutor() throws Exception {
+        final AsyncLdpClient client = LdpClientBuilder.newBuilder().buildAsync();
+        final ExecutorService owned = (ExecutorService) ((AsyncLdpClientImpl) client).getHttpClient().executor()
+                .orElseThrow();
+        client.close();
+        assertTrue(owned.isShutdown());
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> client.head(
+                new JenaRDF().createIRI("http://localhost:1/resource")).get());
+        assertTrue(ex.getCause() instanceof LdpClientRejectedException);
+
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            LdpClientBuilder.newBuilder().executor(exec).build().close();
+            assertFalse(exec.isShutdown());
+        } finally {
+            exec.shutdown();
+        }
+    }
+
+    @Test
+    void testCloseLeavesSuppliedClientOpen() {
+        final ShardedHttpClientTest.ClosingClient supplied = new ShardedHttpClientTest.ClosingClient();
+        new AsyncLdpClientImpl(supplied).close();
+        assertFalse(supplied.closed);
+    }
+
+    @Test
+    void testCloseCancelsStalledRequests() throws Exception {
+        try (ServerSocket stalled = new ServerSocket(0)) {
+            final AsyncLdpClient client = LdpClientBuilder.newBuilder().buildAsync();
+            final CompletableFuture<?> pending = client.head(new JenaRDF().createIRI("http://localhost:"
+                    + stalled.getLocalPort() + "/resource"));
+            client.closeAsync(Duration.ofMillis(200)).get(10, TimeUnit.SECONDS);
+            assertTrue(pending.isCompletedExceptionally());
+            assertSame(client.closeAsync(Duration.ZERO), client.closeAsync(Duration.ZERO));
+        }
+    }
+
+    @Test
+    void testPriorityLanes() throws Exception {
+        final PriorityLanes lanes = PriorityLanes.newBuilder().lane(Lane.BACKGROUND, 1, 0).build();
+        try (ServerSocket stalled = new ServerSocket(0)) {
+            final IRI identifier = new JenaRDF().createIRI("http://localhost:" + stalled.getLocalPort()
+                    + "/resource");
+            final AsyncLdpClient ingest = LdpClientBuilder.newBuilder().priorityLanes(lanes).lane(Lane.BACKGROUND)
+                    .buildAsync();
+            ingest.head(identifier);
+            assertEquals(1, lanes.getInFlight(Lane.BACKGROUND));
+            final ExecutionException ex = assertThrows(ExecutionException.class, () -> ingest.head(identifier)
+                    .get());
+            assertTrue(ex.getCause() instanceof LdpClientRejectedException);
+
+            final AsyncLdpClient reader = LdpClientBuilder.newBuilder().priorityLanes(lanes).buildAsync();
+            reader.head(identifier);
+            assertEquals(1, lanes.getInFlight(Lane.INTERACTIVE));
+            reader.closeAsync(Duration.ZERO).get(10, TimeUnit.SECONDS);
+            ingest.closeAsync(Duration.ZERO).get(10, TimeUnit.SECONDS);
+            assertEquals(0, lanes.getInFlight(Lane.BACKGROUND));
+            assertEquals(0, lanes.getInFlight(Lane.INTERACTIVE));
+        }
+    }
+
+    @Test
+    void testInterruptReleasesExchange() throws Exception {
+        final PriorityLanes lanes = PriorityLanes.newBuilder().lane(Lane.INTERACTIVE, 1, 0).build();
+        try (ServerSocket stalled = new ServerSocket(0)) {
+            final IRI identifier = new JenaRDF().createIRI("http://localhost:" + stalled.getLocalPort()
+                    + "/resource");
+            final LdpClient client = LdpClientBuilder.newBuilder().priorityLanes(lanes).build();
+            Thread.currentThread().interrupt();
+            assertThrows(LdpClientException.class, () -> client.head(identifier));
+            assertTrue(Thread.interrupted());
+            assertEquals(0, lanes.getInFlight(Lane.INTERACTIVE));
+            client.close(Duration.ZERO);
+        }
+    }
+
+    @Test
+    void testRequestTimeout() throws Exception {
+        try (ServerSocket stalled = new ServerSocket(0)) {
+            final IRI identifier = new JenaRDF().createIRI("http://localhost:" + stalled.getLocalPort()
+                    + "/resource");
+            final LdpClient client = LdpClientBuilder.newBuilder().requestTimeout(Duration.ofMillis(200)).build();
+            assertThrows(LdpClientTimeoutException.class, () -> client.head(identifier));
+
+            final LdpClient patient = LdpClientBuilder.newBuilder().build();
+            assertThrows(LdpClientTimeoutException.class, () -> patient.withTimeout(Duration.ofMillis(200))
+                    .getJson(identifier));
+            assertThrows(IllegalArgumentException.class, () -> patient.withTimeout(Duration.ZERO));
+            client.close(Duration.ZERO);
+            patient.close(Duration.ZERO);
+        }
+    }
+
+    @Test
+    void testBatchDeadline() throws Exception {
+        try (ServerSocket stalled = new ServerSocket(0)) {
+            final Map<URI, Supplier<InputStream>> bodies = new LinkedHashMap<>();
+            for (int i = 0; i < 3; i++) {
+                bodies.put(URI.create("http://localhost:" + stalled.getLocalPort() + "/" + i),
+                        () -> new ByteArrayInputStream(new byte[0]));
+            }
+            final LdpClient client = LdpClientBuilder.newBuilder().build();
+            final List<BulkWriteResult> results = client.bulkPut(bodies, "text/turtle", 1, BulkWriteListener.NONE,
+                    Duration.ofMillis(300));
+            assertEquals(3, results.size());
+            results.forEach(r -> assertTrue(r.getError().orElse(null) instanceof LdpClientTimeoutException));
+            client.close(Duration.ZERO);
+            final AsyncLdpClient async = LdpClientBuilder.newBuilder().buildAsync();
+            assertTrue(async.bulkPut(bodies, "text/turtle", 1, BulkWriteListener.NONE, Duration.ZERO)
+                    .isCompletedExceptionally());
+            assertTrue(async.bulkPut(bodies, "text/turtle", 0, BulkWriteListener.NONE, Duration.ofSeconds(1))
+                    .isCompletedExceptionally());
+            async.closeAsync(Duration.ZERO).get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testCancelledBulkPutReleasesExchanges() throws Exception {
+        final PriorityLanes lanes = PriorityLanes.newBuilder().lane(Lane.BACKGROUND, 2, 0).build();
+        try (ServerSocket stalled = new ServerSocket(0)) {
+            final Map<URI, Supplier<InputStream>> bodies = new LinkedHashMap<>();
+            for (int i = 0; i < 4; i++) {
+                bodies.put(URI.create("http://localhost:" + stalled.getLocalPort() + "/" + i),
+                        () -> new ByteArrayInputStream(new byte[0]));
+            }
+            final AsyncLdpClient client = LdpClientBuilder.newBuilder().priorityLanes(lanes).lane(Lane.BACKGROUND)
+                    .buildAsync();
+            final CompletableFuture<List<BulkWriteResult>> results = client.bulkPut(bodies, "text/turtle", 2,
+                    BulkWriteListener.NONE);
+            assertEquals(2, lanes.getInFlight(Lane.BACKGROUND));
+            results.cancel(true);
+            assertEquals(0, lanes.getInFlight(Lane.BACKGROUND));
+            client.closeAsync(Duration.ZERO).get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testTimedRequestKeepsHeaders() {
+        final HttpRequest req = HttpRequest.newBuilder(URI.create("http://localhost/resource"))
+                .header("Accept", "text/turtle").header("Prefer", "a").header("Prefer", "b").version(HTTP_1_1)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody()).build();
+        final HttpRequest timed = AsyncLdpClientImpl.timed(req, Duration.ofSeconds(5));
+        assertEquals(Duration.ofSeconds(5), timed.timeout().orElse(null));
+        assertEquals(req.method(), timed.method());
+        assertEquals(req.headers().map(), timed.headers().map());
+        assertEquals(HTTP_1_1, timed.version().orElse(null));
+        assertSame(req, AsyncLdpClientImpl.timed(req, null));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * LdpOutcomeTest.
+ *
+ * @author christopher-johnson
+ */
+class LdpOutcomeTest {
+
+    private static final JenaRDF rdf = new JenaRDF();
+
+    @Test
+    void testOf() {
+        assertEquals(LdpOutcome.SUCCESS, LdpOutcome.of(204));
+        assertEquals(LdpOutcome.NOT_FOUND, LdpOutcome.of(404));
+        assertEquals(LdpOutcome.NOT_FOUND, LdpOutcome.of(410));
+        assertEquals(LdpOutcome.CONFLICT, LdpOutcome.of(409));
+        assertEquals(LdpOutcome.PRECONDITION_FAILED, LdpOutcome.of(412));
+        assertEquals(LdpOutcome.TOO_MANY_REQUESTS, LdpOutcome.of(429));
+        assertEquals(LdpOutcome.OTHER, LdpOutcome.of(304));
+        assertEquals(LdpOutcome.OTHER, LdpOutcome.of(500));
+    }
+
+    @Test
+    void testExists() throws Exception {
+        try (StubServer server = serve()) {
+            final String base = "http://localhost:" + server.getLocalPort();
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build()) {
+                assertTrue(client.exists(rdf.createIRI(base + "/present")));
+                assertFalse(client.exists(rdf.createIRI(base + "/missing")));
+                assertFalse(client.exists(rdf.createIRI(base + "/gone")));
+                assertThrows(LdpClientException.class, () -> client.exists(rdf.createIRI(base + "/broken")));
+            }
+        }
+    }
+
+    @Test
+    void testExpectedOutcomes() throws Exception {
+        try (StubServer server = serve()) {
+            final String base = "http://localhost:" + server.getLocalPort();
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build()) {
+                final LdpResponse<String> busy = client.getResource(rdf.createIRI(base + "/busy"), Map.of());
+                assertEquals(LdpOutcome.TOO_MANY_REQUESTS, busy.getOutcome());
+                assertEquals(Optional.of(Duration.ofSeconds(7)), busy.getRetryAfter());
+                final LdpResponse<Void> conflict = client.deleteResource(rdf.createIRI(base + "/conflict"),
+                        Map.of());
+                assertEquals(LdpOutcome.CONFLICT, conflict.getOutcome());
+                assertFalse(conflict.getRetryAfter().isPresent());
+            }
+        }
+    }
+
+    @Test
+    void testStacklessFailures() throws Exception {
+        final int port;
+        try (ServerSocket server = new ServerSocket(0)) {
+            port = server.getLocalPort();
+        }
+        final IRI identifier = rdf.createIRI("http://localhost:" + port + "/resource");
+        final LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build();
+        final LdpClientException refused = assertThrows(LdpClientException.class, () -> client.exists(identifier));
+        assertEquals(0, refused.getStackTrace().length);
+        assertNotNull(refused.getCause());
+        client.close();
+        final LdpClientException first = assertThrows(LdpClientRejectedException.class, () ->
+                client.exists(identifier));
+        final LdpClientException second = assertThrows(LdpClientRejectedException.class, () ->
+                client.exists(identifier));
+        assertSame(first, second);
+        assertEquals(0, first.getStackTrace().length);
+    }
+
+    @Test
+    void testStacklessInterrupt() throws Exception {
+        try (ServerSocket server = new ServerSocket(0);
+                LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build()) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/silent");
+            Thread.currentThread().interrupt();
+            final LdpClientException ex = assertThrows(LdpClientException.class, () -> client.exists(identifier));
+            assertTrue(Thread.interrupted());
+            assertTrue(ex.getCause() instanceof InterruptedException);
+            assertEquals(0, ex.getStackTrace().length);
+        }
+    }
+
+    /**
+     * Answer each request by its path: 204 for /present, 404 for /missing, 410 for /gone, 409 for /conflict, 429
+     * with a Retry-After for /busy and 500 for anything else.
+     */
+    private static StubServer serve() throws IOException {
+        return StubServer.start((request, out) -> {
+            final String status;
+            switch (request.getPath()) {
+                case "/present":
+                    status = "204 No Content";
+                    break;
+                case "/missing":
+                    status = "404 Not Found";
+                    break;
+                case "/gone":
+                    status = "410 Gone";
+                    break;
+                case "/conflict":
+                    status = "409 Conflict";
+                    break;
+                case "/busy":
+                    status = "429 Too Many Requests\r\nRetry-After: 7";
+                    break;
+                default:
+                    status = "500 Internal Server Error";
+            }
+            out.write(("HTTP/1.1 " + status + "\r\nContent-Length: 0\r\n\r\n").getBytes(UTF_8));
+        });
+    }
+}
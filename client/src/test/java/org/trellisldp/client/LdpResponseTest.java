@@ -0,0 +1,128 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * LdpResponseTest.
+ *
+ * @author christopher-johnson
+ */
+class LdpResponseTest {
+
+    private static final JenaRDF rdf = new JenaRDF();
+
+    @Test
+    void testPostResource() throws Exception {
+        try (StubServer server = serve()) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/container/");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build()) {
+                final LdpResponse<Void> response = client.postResource(identifier,
+                        new ByteArrayInputStream("<> <> <> .".getBytes(UTF_8)), Map.of("Content-Type", "text/turtle"));
+                assertEquals(201, response.getStatus());
+                assertTrue(response.isSuccess());
+                assertEquals(Optional.of("\"abc\""), response.getEtag());
+                assertEquals(Optional.of(URI.create(identifier.getIRIString() + "child")), response.getLocation());
+                assertNull(response.getBody());
+            }
+        }
+    }
+
+    @Test
+    void testGetResource() throws Exception {
+        try (StubServer server = serve()) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/resource");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build()) {
+                final LdpResponse<String> response = client.getResource(identifier, Map.of("Accept", "text/plain"));
+                assertEquals(200, response.getStatus());
+                assertEquals("caf\u00e9", response.getBody());
+                assertEquals(List.of("<http://www.w3.org/ns/ldp#Resource>; rel=\"type\"",
+                        "<http://www.w3.org/ns/ldp#RDFSource>; rel=\"type\"", "<?ext=timemap>; rel=\"timemap\""),
+                        response.getLinks());
+                assertEquals(List.of("http://www.w3.org/ns/ldp#Resource", "http://www.w3.org/ns/ldp#RDFSource"),
+                        response.getLinks("type"));
+                assertEquals(Optional.of(Instant.parse("2018-01-01T00:00:00Z")), response.getMementoDatetime());
+            }
+        }
+    }
+
+    @Test
+    void testDeleteResourceFailure() throws Exception {
+        try (StubServer server = serve()) {
+            final IRI identifier = rdf.createIRI("http://localhost:" + server.getLocalPort() + "/resource");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build()) {
+                final LdpResponse<Void> response = client.deleteResource(identifier, Map.of("If-Match", "\"xyz\""));
+                assertEquals(412, response.getStatus());
+                assertFalse(response.isSuccess());
+                assertFalse(response.getEtag().isPresent());
+                assertFalse(response.getMementoDatetime().isPresent());
+            }
+        }
+    }
+
+    @Test
+    void testCharset() {
+        assertEquals(ISO_8859_1, LdpResponse.charset(headers("text/plain; charset=\"ISO-8859-1\"")));
+        assertEquals(UTF_8, LdpResponse.charset(headers("text/plain")));
+        assertEquals(UTF_8, LdpResponse.charset(headers("text/plain; charset=unknown-charset")));
+    }
+
+    private static HttpHeaders headers(final String contentType) {
+        return HttpHeaders.of(Map.of("Content-Type", List.of(contentType)), (name, value) -> true);
+    }
+
+    /**
+     * Answer a POST with a 201 and a relative Location, a GET with an ISO-8859-1 body and Link and Memento-Datetime
+     * headers, and a DELETE with a 412 whose body the client discards.
+     */
+    private static StubServer serve() throws IOException {
+        return StubServer.start((request, out) -> {
+            if ("POST".equals(request.getMethod())) {
+                out.write(("HTTP/1.1 201 Created\r\nLocation: child\r\nETag: \"abc\"\r\n"
+                        + "Content-Length: 0\r\n\r\n").getBytes(UTF_8));
+            } else if ("GET".equals(request.getMethod())) {
+                out.write(("HTTP/1.1 200 OK\r\nContent-Type: text/plain; charset=ISO-8859-1\r\n"
+                        + "Link: <http://www.w3.org/ns/ldp#Resource>; rel=\"type\", "
+                        + "<http://www.w3.org/ns/ldp#RDFSource>; rel=\"type\"\r\n"
+                        + "Link: <?ext=timemap>; rel=\"timemap\"\r\n"
+                        + "Memento-Datetime: Mon, 1 Jan 2018 00:00:00 GMT\r\n"
+                        + "Content-Length: 4\r\n\r\n").getBytes(UTF_8));
+                out.write("caf\u00e9".getBytes(ISO_8859_1));
+            } else {
+                out.write("HTTP/1.1 412 Precondition Failed\r\nContent-Length: 7\r\n\r\nfailed!".getBytes(UTF_8));
+            }
+        });
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * LoadBalancerTest.
+ *
+ * @author christopher-johnson
+ */
+class LoadBalancerTest {
+
+    private static final URI base = URI.create("http://trellis.example/");
+    private static final URI node1 = URI.create("http://node1:8080");
+    private static final URI node2 = URI.create("http://node2:8080");
+    private static final URI node3 = URI.create("http://node3:8080");
+
+    @Test
+    void testSpreadsRequests() {
+        final LoadBalancer balancer = LoadBalancer.newBuilder(base).node(node1).node(node2).node(node3)
+                .healthCheck(null, "/").build();
+        for (int i = 0; i < 30; i++) {
+            balancer.select(URI.create("http://trellis.example/resource"), false);
+        }
+        final int total = balancer.getOutstanding(node1) + balancer.getOutstanding(node2)
+                + balancer.getOutstanding(node3);
+        assertEquals(30, total);
+        for (final URI node : balancer.getNodes()) {
+            assertEquals(10, balancer.getOutstanding(node), 5);
+        }
+    }
+
+    @Test
+    void testRewrite() {
+        final LoadBalancer balancer = LoadBalancer.newBuilder(base).node(node1).healthCheck(null, "/").build();
+        final LoadBalancer.Node node = balancer.select(URI.create("http://trellis.example/a%20b?ext=acl"), false);
+        assertEquals(URI.create("http://node1:8080/a%20b?ext=acl"),
+                node.rewrite(URI.create("http://trellis.example/a%20b?ext=acl")));
+        assertNull(balancer.select(URI.create("http://other.example/resource"), false));
+        assertNull(balancer.select(URI.create("https://trellis.example/resource"), false));
+        assertEquals(1, balancer.getSelected(node1));
+    }
+
+    @Test
+    void testPinnedWrites() {
+        final LoadBalancer balancer = LoadBalancer.newBuilder(base).node(node1).node(node2).pinWrites(true)
+                .healthCheck(null, "/").build();
+        for (int i = 0; i < 5; i++) {
+            balancer.select(URI.create("http://trellis.example/resource"), true).complete(1000, false);
+        }
+        assertEquals(5, balancer.getSelected(node1));
+        assertEquals(0, balancer.getSelected(node2));
+        assertTrue(balancer.getLatency(node1).isPresent());
+        assertFalse(balancer.getLatency(node2).isPresent());
+    }
+
+    @Test
+    void testEjection() {
+        final LoadBalancer balancer = LoadBalancer.newBuilder(base).node(node1).node(node2).pinWrites(true)
+                .ejection(2, Duration.ofMinutes(1)).healthCheck(null, "/").build();
+        final URI uri = URI.create("http://trellis.example/resource");
+        balancer.select(uri, true).complete(1000, true);
+        assertFalse(balancer.isEjected(node1));
+        balancer.select(uri, true).complete(1000, true);
+        assertTrue(balancer.isEjected(node1));
+        for (int i = 0; i < 10; i++) {
+            balancer.select(uri, i % 2 == 0).abandon();
+        }
+        assertEquals(2, balancer.getSelected(node1));
+        assertEquals(10, balancer.getSelected(node2));
+        assertEquals(0, balancer.getOutstanding(node2));
+    }
+
+    @Test
+    void testEjectionExpires() throws Exception {
+        final LoadBalancer balancer = LoadBalancer.newBuilder(base).node(node1).node(node2).pinWrites(true)
+                .ejection(1, Duration.ofMillis(50)).healthCheck(null, "/").build();
+        final URI uri = URI.create("http://trellis.example/resource");
+        balancer.select(uri, true).complete(1000, true);
+        assertTrue(balancer.isEjected(node1));
+        assertEquals(1, balancer.getEjections(node1));
+        Thread.sleep(100);
+        assertFalse(balancer.isEjected(node1));
+        balancer.select(uri, true).complete(1000, true);
+        assertTrue(balancer.isEjected(node1));
+        assertEquals(2, balancer.getEjections(node1));
+    }
+
+    @Test
+    void testClientUsesNodes() throws Exception {
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        try (StubServer server = StubServer.start((request, out) -> {
+            requests.add(request.getLine());
+            out.write("HTTP/1.1 204 No Content\r\n\r\n".getBytes(UTF_8));
+        })) {
+            final URI node = server.uri("");
+            final LoadBalancer balancer = LoadBalancer.newBuilder(base).node(node).healthCheck(null, "/").build();
+            try (LdpClient client = LdpClientBuilder.newBuilder().loadBalancer(balancer).version(HTTP_1_1)
+                    .build()) {
+                client.head(new JenaRDF().createIRI("http://trellis.example/resource?ext=acl"));
+            }
+            assertEquals(List.of("HEAD /resource?ext=acl"), requests);
+            assertEquals(1, balancer.getSelected(node));
+            assertEquals(0, balancer.getOutstanding(node));
+            assertTrue(balancer.getLatency(node).isPresent());
+        }
+    }
+
+    @Test
+    void testPinnedWritesSpreadBinaryReads() throws Exception {
+        final StubServer.Handler handler = (request, out) -> out.write(("HTTP/1.1 200 OK\r\n"
+                + "Content-Type: image/tiff\r\nContent-Length: 4\r\n\r\ntiff").getBytes(UTF_8));
+        try (StubServer first = StubServer.start(handler); StubServer second = StubServer.start(handler)) {
+            final LoadBalancer balancer = LoadBalancer.newBuilder(base).node(first.uri("")).node(second.uri(""))
+                    .pinWrites(true).healthCheck(null, "/").build();
+            try (LdpClient client = LdpClientBuilder.newBuilder().loadBalancer(balancer).version(HTTP_1_1)
+                    .build()) {
+                for (int i = 0; i < 10; i++) {
+                    client.getBinary(new JenaRDF().createIRI("http://trellis.example/binary"));
+                }
+            }
+            assertTrue(balancer.getSelected(first.uri("")) > 0);
+            assertTrue(balancer.getSelected(second.uri("")) > 0);
+        }
+    }
+
+    @Test
+    void testProbingResumesAfterDetach() throws Exception {
+        final List<String> probes = new CopyOnWriteArrayList<>();
+        try (StubServer server = StubServer.start((request, out) -> {
+            probes.add(request.getLine());
+            out.write("HTTP/1.1 204 No Content\r\n\r\n".getBytes(UTF_8));
+        })) {
+            final LoadBalancer balancer = LoadBalancer.newBuilder(base).node(server.uri(""))
+                    .healthCheck(Duration.ofMillis(20), "/health").build();
+            LdpClientBuilder.newBuilder().loadBalancer(balancer).version(HTTP_1_1).build().close();
+            Thread.sleep(100);
+            probes.clear();
+            try (LdpClient client = LdpClientBuilder.newBuilder().loadBalancer(balancer).version(HTTP_1_1)
+                    .build()) {
+                final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+                while (probes.size() < 2 && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+            }
+            assertTrue(probes.size() >= 2);
+            assertEquals("HEAD /health", probes.get(0));
+        }
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalStateException.class, () -> LoadBalancer.newBuilder(base).build());
+        assertThrows(IllegalArgumentException.class, () -> LoadBalancer.newBuilder(URI.create("/relative")));
+        assertThrows(IllegalArgumentException.class, () -> LoadBalancer.newBuilder(base).ejection(0,
+                Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> LoadBalancer.newBuilder(base).healthCheck(Duration.ZERO,
+                "/"));
+        final LoadBalancer balancer = LoadBalancer.newBuilder(base).node(node1).build();
+        assertThrows(IllegalArgumentException.class, () -> balancer.getOutstanding(node2));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.trellisldp.client.Lane.BACKGROUND;
+import static org.trellisldp.client.Lane.BINARY;
+import static org.trellisldp.client.Lane.INTERACTIVE;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * PriorityLanesTest.
+ *
+ * @author christopher-johnson
+ */
+class PriorityLanesTest {
+
+    @Test
+    void testInteractivePreemptsQueuedBackground() throws Exception {
+        final PriorityLanes lanes = PriorityLanes.newBuilder().maxConcurrent(1).build();
+        final PriorityLanes.Permit first = lanes.acquire(BACKGROUND).get();
+        final CompletableFuture<PriorityLanes.Permit> background = lanes.acquire(BACKGROUND);
+        final CompletableFuture<PriorityLanes.Permit> interactive = lanes.acquire(INTERACTIVE);
+        assertFalse(background.isDone());
+        assertFalse(interactive.isDone());
+        assertEquals(1, lanes.getQueueDepth(BACKGROUND));
+        assertEquals(1, lanes.getQueueDepth(INTERACTIVE));
+
+        first.release();
+        assertTrue(interactive.isDone());
+        assertFalse(background.isDone());
+        assertEquals(1, lanes.getInFlight(INTERACTIVE));
+
+        interactive.get().release();
+        assertTrue(background.isDone());
+        assertEquals(0, lanes.getQueueDepth(BACKGROUND));
+    }
+
+    @Test
+    void testLaneBudgetIsolation() throws Exception {
+        final PriorityLanes lanes = PriorityLanes.newBuilder().maxConcurrent(4).lane(BINARY, 1, 10).build();
+        final PriorityLanes.Permit upload = lanes.acquire(BINARY).get();
+        final CompletableFuture<PriorityLanes.Permit> second = lanes.acquire(BINARY);
+        assertFalse(second.isDone());
+        assertTrue(lanes.acquire(INTERACTIVE).isDone());
+        assertTrue(lanes.acquire(BACKGROUND).isDone());
+
+        upload.release();
+        assertTrue(second.isDone());
+        assertEquals(1, lanes.getInFlight(BINARY));
+    }
+
+    @Test
+    void testFullQueueRejects() throws Exception {
+        final PriorityLanes lanes = PriorityLanes.newBuilder().lane(BACKGROUND, 1, 1).build();
+        lanes.acquire(BACKGROUND).get();
+        lanes.acquire(BACKGROUND);
+        final CompletableFuture<PriorityLanes.Permit> rejected = lanes.acquire(BACKGROUND);
+        assertTrue(assertThrows(ExecutionException.class, rejected::get).getCause()
+                instanceof LdpClientRejectedException);
+        assertEquals(1, lanes.getRejected(BACKGROUND));
+        assertTrue(lanes.acquire(INTERACTIVE).isDone());
+    }
+
+    @Test
+    void testCancelledWaiterLeavesQueue() throws Exception {
+        final PriorityLanes lanes = PriorityLanes.newBuilder().maxConcurrent(1).build();
+        final PriorityLanes.Permit first = lanes.acquire(INTERACTIVE).get();
+        final CompletableFuture<PriorityLanes.Permit> cancelled = lanes.acquire(BACKGROUND);
+        final CompletableFuture<PriorityLanes.Permit> waiting = lanes.acquire(BACKGROUND);
+        cancelled.cancel(true);
+        assertEquals(1, lanes.getQueueDepth(BACKGROUND));
+
+        first.release();
+        assertTrue(waiting.isDone());
+        assertEquals(1, lanes.getInFlight(BACKGROUND));
+    }
+
+    @Test
+    void testLatencyPerLane() throws Exception {
+        final PriorityLanes lanes = PriorityLanes.newBuilder().build();
+        assertFalse(lanes.getLatency(INTERACTIVE, 99).isPresent());
+        final PriorityLanes.Permit permit = lanes.acquire(INTERACTIVE).get();
+        Thread.sleep(5);
+        permit.release();
+        permit.release();
+        assertEquals(1, lanes.getCompleted(INTERACTIVE));
+        assertEquals(0, lanes.getInFlight(INTERACTIVE));
+        assertTrue(lanes.getLatency(INTERACTIVE, 99).get().toMillis() >= 5);
+        assertEquals(0, lanes.getCompleted(BACKGROUND));
+
+        lanes.acquire(BACKGROUND).get().abandon();
+        assertEquals(0, lanes.getCompleted(BACKGROUND));
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> PriorityLanes.newBuilder().maxConcurrent(0));
+        assertThrows(IllegalArgumentException.class, () -> PriorityLanes.newBuilder().lane(BINARY, 0, 1));
+        assertThrows(NullPointerException.class, () -> PriorityLanes.newBuilder().lane(null, 1, 1));
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_2;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.trellisldp.client.ProtocolTracker.State.UNKNOWN;
+
+import java.io.ByteArrayInputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.net.ssl.SSLSession;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ProtocolTrackerTest.
+ *
+ * @author christopher-johnson
+ */
+class ProtocolTrackerTest {
+
+    private static final String host = "http://localhost:8080";
+    private static final URI uri = URI.create(host + "/resource");
+
+    @Test
+    void testFallbackToHttp11() throws Exception {
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        // answer every request over HTTP/1.1, ignoring upgrade requests but recording whether each asked for one
+        try (StubServer server = StubServer.start((request, out) -> {
+            requests.add(request.getLine() + (request.getHeader("Upgrade").filter(value -> value.startsWith("h2c"))
+                    .isPresent() ? " upgrade" : ""));
+            out.write("HTTP/1.1 204 No Content\r\n\r\n".getBytes(UTF_8));
+        })) {
+            final String base = "http://localhost:" + server.getLocalPort();
+            final IRI identifier = new JenaRDF().createIRI(base + "/resource");
+            final ProtocolTracker tracker = ProtocolTracker.newBuilder().build();
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_2).protocolTracker(tracker).build()) {
+                client.put(identifier, new ByteArrayInputStream("<s> <p> <o> .".getBytes(UTF_8)), "text/turtle");
+                assertEquals(ProtocolTracker.State.HTTP_1_1, tracker.getState(base));
+                client.put(identifier, new ByteArrayInputStream("<s> <p> <o> .".getBytes(UTF_8)), "text/turtle");
+                client.head(identifier);
+            }
+            assertEquals(1, tracker.getUpgrades());
+            assertEquals(1, tracker.getFallbacks());
+            assertEquals(List.of("OPTIONS /resource upgrade", "PUT /resource", "PUT /resource", "HEAD /resource"),
+                    requests);
+        }
+    }
+
+    @Test
+    void testConnectionLoss() {
+        final ProtocolTracker tracker = ProtocolTracker.newBuilder().build();
+        final HttpClient client = HttpClient.newBuilder().version(HTTP_2).build();
+        final HttpRequest get = HttpRequest.newBuilder(uri).GET().build();
+        final HttpRequest put = HttpRequest.newBuilder(uri).PUT(HttpRequest.BodyPublishers.ofString("body")).build();
+        assertSame(put, tracker.prepare(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), put)
+                .join());
+        tracker.onResult(client, get, response(HTTP_2), null);
+        assertEquals(ProtocolTracker.State.HTTP_2, tracker.getState(host));
+        assertSame(put, tracker.prepare(client, put).join());
+        tracker.onResult(client, put, response(HttpClient.Version.HTTP_1_1), null);
+        assertEquals(UNKNOWN, tracker.getState(host));
+        tracker.onResult(client, get, response(HTTP_2), null);
+        tracker.onResult(client, get, null, new LdpClientException("closed", new ConnectException("reset")));
+        assertEquals(UNKNOWN, tracker.getState(host));
+        assertEquals(2, tracker.getConnectionLosses());
+        assertEquals(0, tracker.getFallbacks());
+    }
+
+    @Test
+    void testRecheck() throws Exception {
+        final ProtocolTracker tracker = ProtocolTracker.newBuilder().recheck(Duration.ofMillis(20)).build();
+        final HttpClient client = HttpClient.newBuilder().version(HTTP_2).build();
+        tracker.onResult(client, HttpRequest.newBuilder(uri).GET().build(), response(HttpClient.Version.HTTP_1_1),
+                null);
+        assertEquals(ProtocolTracker.State.HTTP_1_1, tracker.getState(host));
+        final HttpRequest pinned = tracker.prepare(client, HttpRequest.newBuilder(uri).GET().build()).join();
+        assertEquals(Optional.of(HttpClient.Version.HTTP_1_1), pinned.version());
+        Thread.sleep(50);
+        assertEquals(UNKNOWN, tracker.getState(host));
+        assertFalse(tracker.prepare(client, HttpRequest.newBuilder(uri).GET().build()).join().version()
+                .isPresent());
+        assertTrue(tracker.getHosts().contains(host));
+    }
+
+    @Test
+    void testFailedUpgradeFallsBack() throws Exception {
+        final URI closed;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closed = URI.create("http://localhost:" + socket.getLocalPort() + "/resource");
+        }
+        final ProtocolTracker tracker = ProtocolTracker.newBuilder().build();
+        final HttpClient client = HttpClient.newBuilder().version(HTTP_2).build();
+        final HttpRequest put = HttpRequest.newBuilder(closed).PUT(HttpRequest.BodyPublishers.ofString("body"))
+                .build();
+        assertEquals(Optional.of(HttpClient.Version.HTTP_1_1), tracker.prepare(client, put).join().version());
+        assertEquals(ProtocolTracker.State.HTTP_1_1, tracker.getState("http://" + closed.getAuthority()));
+        assertEquals(Optional.of(HttpClient.Version.HTTP_1_1), tracker.prepare(client, put).join().version());
+        assertEquals(1, tracker.getUpgrades());
+        assertEquals(1, tracker.getFallbacks());
+    }
+
+    @Test
+    void testUpgradeFailingToStartIsRetried() throws Exception {
+        final ProtocolTracker tracker = ProtocolTracker.newBuilder().recheck(Duration.ofMillis(20)).build();
+        final HttpClient client = new ShardedHttpClientTest.ClosingClient(HTTP_2);
+        final HttpRequest put = HttpRequest.newBuilder(uri).PUT(HttpRequest.BodyPublishers.ofString("body")).build();
+        assertEquals(Optional.of(HttpClient.Version.HTTP_1_1), tracker.prepare(client, put).join().version());
+        Thread.sleep(50);
+        assertEquals(Optional.of(HttpClient.Version.HTTP_1_1), tracker.prepare(client, put).join().version());
+        assertEquals(2, tracker.getUpgrades());
+    }
+
+    @Test
+    void testShardsRefused() {
+        final LdpClientBuilder builder = LdpClientBuilder.newBuilder().shards(2, ShardStrategy.ROUND_ROBIN)
+                .protocolTracker(ProtocolTracker.newBuilder().build());
+        assertThrows(IllegalStateException.class, builder::buildAsync);
+    }
+
+    @Test
+    void testHttp2BinaryConnectionsRefused() {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            final ProtocolTracker tracker = ProtocolTracker.newBuilder().build();
+            assertThrows(IllegalStateException.class, () -> LdpClientBuilder.newBuilder().protocolTracker(tracker)
+                    .binaryConnections(HTTP_2, exec).buildAsync());
+            LdpClientBuilder.newBuilder().protocolTracker(tracker).binaryConnections(HttpClient.Version.HTTP_1_1, exec)
+                    .build().close();
+        } finally {
+            exec.shutdown();
+        }
+    }
+
+    private static HttpResponse<Void> response(final HttpClient.Version version) {
+        return new HttpResponse<>() {
+            @Override
+            public int statusCode() {
+                return 204;
+            }
+
+            @Override
+            public HttpRequest request() {
+                return null;
+            }
+
+            @Override
+            public Optional<HttpResponse<Void>> previousResponse() {
+                return Optional.empty();
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return HttpHeaders.of(Map.of(), (name, value) -> true);
+            }
+
+            @Override
+            public Void body() {
+                return null;
+            }
+
+            @Override
+            public Optional<SSLSession> sslSession() {
+                return Optional.empty();
+            }
+
+            @Override
+            public URI uri() {
+                return uri;
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return version;
+            }
+        };
+    }
+}
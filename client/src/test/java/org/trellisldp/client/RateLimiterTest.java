@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpRequest.BodyPublishers.noBody;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.trellisldp.client.OperationClass.BINARY;
+import static org.trellisldp.client.OperationClass.READ;
+import static org.trellisldp.client.OperationClass.WRITE;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RateLimiterTest.
+ *
+ * @author christopher-johnson
+ */
+class RateLimiterTest {
+
+    private static final URI uri = URI.create("http://localhost:8080/resource");
+    private static final String host = "http://localhost:8080";
+
+    @Test
+    void testBurstQueueAndReject() {
+        final RateLimiter limiter = RateLimiter.newBuilder().rate(WRITE, 0.001, 2).maxQueued(1).build();
+        assertTrue(limiter.acquire(uri, WRITE).isDone());
+        assertTrue(limiter.acquire(uri, WRITE).isDone());
+        final CompletableFuture<Void> queued = limiter.acquire(uri, WRITE);
+        assertFalse(queued.isDone());
+        assertEquals(1, limiter.getQueueDepth(host, WRITE));
+        final CompletionException ex = assertThrows(CompletionException.class,
+                () -> limiter.acquire(uri, WRITE).join());
+        assertTrue(ex.getCause() instanceof LdpClientRejectedException);
+        assertEquals(2, limiter.getAdmitted(host, WRITE));
+        assertEquals(1, limiter.getRejected(host, WRITE));
+        queued.cancel(true);
+        assertEquals(0, limiter.getQueueDepth(host, WRITE));
+    }
+
+    @Test
+    void testQueuedRequestIsAdmitted() throws Exception {
+        final RateLimiter limiter = RateLimiter.newBuilder().rate(READ, 50, 1).build();
+        limiter.acquire(uri, READ).join();
+        final CompletableFuture<Void> queued = limiter.acquire(uri, READ);
+        queued.get(5, TimeUnit.SECONDS);
+        assertEquals(2, limiter.getAdmitted(host, READ));
+        assertTrue(limiter.getWaitTime(host, READ).toNanos() > 0);
+    }
+
+    @Test
+    void testUnconfiguredClassIsUnlimited() {
+        final RateLimiter limiter = RateLimiter.newBuilder().rate(BINARY, 0.001, 1).maxQueued(0).build();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.acquire(uri, READ).isDone());
+        }
+        assertEquals(0, limiter.getAdmitted(host, READ));
+    }
+
+    @Test
+    void testClassify() {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        assertEquals(READ, AsyncLdpClientImpl.classify(builder.copy().GET().build()));
+        assertEquals(WRITE, AsyncLdpClientImpl.classify(builder.copy().DELETE().build()));
+        assertEquals(WRITE, AsyncLdpClientImpl.classify(builder.copy().header("Content-Type",
+                "text/turtle; charset=utf-8").PUT(noBody()).build()));
+        assertEquals(BINARY, AsyncLdpClientImpl.classify(builder.copy().header("Content-Type", "image/png")
+                .PUT(noBody()).build()));
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.newBuilder().rate(READ, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.newBuilder().rate(READ, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.newBuilder().maxQueued(-1));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ReadCoalescerTest.
+ *
+ * @author christopher-johnson
+ */
+class ReadCoalescerTest {
+
+    private static final URI uri = URI.create("http://localhost:8080/resource");
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> response(final String body) {
+        return (HttpResponse<String>) Proxy.newProxyInstance(ReadCoalescerTest.class.getClassLoader(),
+                new Class<?>[] {HttpResponse.class}, (proxy, method, args) -> "body".equals(method.getName())
+                        ? body : null);
+    }
+
+    private static HttpRequest get(final String accept) {
+        return HttpRequest.newBuilder(uri).header("Accept", accept).GET().build();
+    }
+
+    @Test
+    void testIdenticalReadsShareExchange() throws Exception {
+        final ReadCoalescer coalescer = new ReadCoalescer();
+        final CompletableFuture<HttpResponse<String>> exchange = new CompletableFuture<>();
+        final AtomicInteger sent = new AtomicInteger();
+        final CompletableFuture<HttpResponse<String>> first = coalescer.join(get("text/turtle"), () -> {
+            sent.incrementAndGet();
+            return exchange;
+        });
+        final CompletableFuture<HttpResponse<String>> second = coalescer.join(get("text/turtle"), () -> {
+            sent.incrementAndGet();
+            return exchange;
+        });
+        assertEquals(1, sent.get());
+        assertEquals(1, coalescer.getInFlight());
+        final HttpResponse<String> res = response("body");
+        exchange.complete(res);
+        assertSame(res, first.get());
+        assertSame(res, second.get());
+        assertEquals(2, coalescer.getRequests());
+        assertEquals(1, coalescer.getExchanges());
+        assertEquals(1, coalescer.getCoalesced());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    void testDifferentHeadersAreNotShared() {
+        final ReadCoalescer coalescer = new ReadCoalescer();
+        coalescer.join(get("text/turtle"), CompletableFuture::new);
+        coalescer.join(get("application/ld+json"), CompletableFuture::new);
+        assertEquals(2, coalescer.getExchanges());
+        assertNotEquals(ReadCoalescer.key(get("text/turtle")), ReadCoalescer.key(get("application/ld+json")));
+    }
+
+    @Test
+    void testCompletedReadIsNotReused() {
+        final ReadCoalescer coalescer = new ReadCoalescer();
+        coalescer.join(get("text/turtle"), () -> CompletableFuture.completedFuture(response("old"))).join();
+        assertEquals("new", coalescer.join(get("text/turtle"), () -> CompletableFuture.completedFuture(
+                response("new"))).join().body());
+        assertEquals(2, coalescer.getExchanges());
+    }
+
+    @Test
+    void testCancellation() {
+        final ReadCoalescer coalescer = new ReadCoalescer();
+        final CompletableFuture<HttpResponse<String>> exchange = new CompletableFuture<>();
+        final CompletableFuture<HttpResponse<String>> first = coalescer.join(get("text/turtle"), () -> exchange);
+        final CompletableFuture<HttpResponse<String>> second = coalescer.join(get("text/turtle"), () -> exchange);
+        first.cancel(true);
+        assertFalse(exchange.isCancelled());
+        assertFalse(second.isDone());
+        second.cancel(true);
+        assertTrue(exchange.isCancelled());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    void testFailureIsShared() {
+        final ReadCoalescer coalescer = new ReadCoalescer();
+        final CompletableFuture<HttpResponse<String>> exchange = new CompletableFuture<>();
+        final CompletableFuture<HttpResponse<String>> first = coalescer.join(get("text/turtle"), () -> exchange);
+        final CompletableFuture<HttpResponse<String>> second = coalescer.join(get("text/turtle"), () -> exchange);
+        exchange.completeExceptionally(new LdpClientException("gone"));
+        assertTrue(assertThrows(ExecutionException.class, first::get).getCause() instanceof LdpClientException);
+        assertTrue(assertThrows(ExecutionException.class, second::get).getCause() instanceof LdpClientException);
+    }
+}
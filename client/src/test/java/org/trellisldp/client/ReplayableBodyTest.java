@@ -0,0 +1,82 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ReplayableBodyTest.
+ *
+ * @author christopher-johnson
+ */
+class ReplayableBodyTest {
+
+    private static final byte[] DATA = "<s> <p> \"a body that is replayed\" .".getBytes(UTF_8);
+
+    @Test
+    void testSmallBodyReplaysFromMemory() throws IOException {
+        final AtomicInteger opened = new AtomicInteger();
+        try (ReplayableBody body = new ReplayableBody(() -> {
+            opened.incrementAndGet();
+            return new ByteArrayInputStream(DATA);
+        }, 1024)) {
+            assertArrayEquals(DATA, body.open().readAllBytes());
+            assertArrayEquals(DATA, body.open().readAllBytes());
+            assertEquals(1, opened.get());
+            assertFalse(body.isSpooled());
+            assertEquals(-1, body.contentLength());
+        }
+    }
+
+    @Test
+    void testLargeBodySpoolsToFile() throws IOException {
+        try (ReplayableBody body = new ReplayableBody(() -> new ByteArrayInputStream(DATA), 8)) {
+            assertArrayEquals(DATA, body.open().readAllBytes());
+            assertTrue(body.isSpooled());
+            assertArrayEquals(DATA, body.open().readAllBytes());
+        }
+    }
+
+    @Test
+    void testPartialReadIsCompletedOnReplay() throws IOException {
+        try (ReplayableBody body = new ReplayableBody(() -> new ByteArrayInputStream(DATA), 8)) {
+            final InputStream first = body.open();
+            assertEquals(DATA[0], first.read());
+            first.readNBytes(new byte[12], 0, 12);
+            assertArrayEquals(DATA, body.open().readAllBytes());
+        }
+    }
+
+    @Test
+    void testClosedBodyCannotBeRead() throws IOException {
+        final ReplayableBody body = new ReplayableBody(() -> new ByteArrayInputStream(DATA), 8);
+        body.open().readAllBytes();
+        body.close();
+        body.close();
+        assertThrows(IOException.class, () -> body.open().read());
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.net.http.HttpRequest.BodyPublishers.noBody;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * RetryPolicyTest.
+ *
+ * @author christopher-johnson
+ */
+class RetryPolicyTest {
+
+    private static final URI uri = URI.create("http://localhost:8080/resource");
+    private static final long MS = 1_000_000L;
+
+    private static HttpResponse<?> response(final int status, final Map<String, List<String>> headers) {
+        return (HttpResponse<?>) Proxy.newProxyInstance(RetryPolicyTest.class.getClassLoader(),
+                new Class<?>[] {HttpResponse.class}, (proxy, method, args) -> {
+                    if ("statusCode".equals(method.getName())) {
+                        return status;
+                    }
+                    return "headers".equals(method.getName()) ? HttpHeaders.of(headers, (k, v) -> true) : null;
+                });
+    }
+
+    private static HttpRequest request(final String method, final String... headers) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(uri).method(method, noBody());
+        return headers.length > 0 ? builder.headers(headers).build() : builder.build();
+    }
+
+    @Test
+    void testIdempotency() {
+        assertTrue(RetryPolicy.isIdempotent(request("GET")));
+        assertTrue(RetryPolicy.isIdempotent(request("PUT")));
+        assertTrue(RetryPolicy.isIdempotent(request("DELETE")));
+        assertFalse(RetryPolicy.isIdempotent(request("POST")));
+        assertTrue(RetryPolicy.isIdempotent(request("POST", "Slug", "child")));
+        assertFalse(RetryPolicy.isIdempotent(request("PATCH")));
+    }
+
+    @Test
+    void testBackoff() {
+        final RetryPolicy policy = RetryPolicy.newBuilder().maxAttempts(3)
+                .backoff(Duration.ofMillis(100), Duration.ofSeconds(1)).jitter(0).build();
+        assertEquals(100 * MS, policy.backoff(1, response(503, Map.of()), null));
+        assertEquals(200 * MS, policy.backoff(2, response(503, Map.of()), null));
+        assertEquals(-1, policy.backoff(3, response(503, Map.of()), null));
+        assertEquals(-1, policy.backoff(1, response(500, Map.of()), null));
+        assertEquals(-1, policy.backoff(1, response(201, Map.of()), null));
+        assertEquals(100 * MS, policy.backoff(1, response(429, Map.of("Retry-After", List.of("soon"))), null));
+        assertEquals(Duration.ofSeconds(1).toNanos(), policy.backoff(1, response(429, Map.of("Retry-After",
+                List.of("1"))), null));
+        assertEquals(-1, policy.backoff(1, response(503, Map.of("Retry-After", List.of("60"))), null));
+        assertEquals(-1, policy.backoff(1, response(503, Map.of("Retry-After",
+                List.of("Thu, 01 Jan 2099 00:00:00 GMT"))), null));
+        assertEquals(100 * MS, policy.backoff(1, response(503, Map.of("Retry-After",
+                List.of("Sat, 01 Jan 2000 00:00:00 GMT"))), null));
+        assertEquals(100 * MS, policy.backoff(1, null, new LdpClientException("Connection reset")));
+        assertEquals(-1, policy.backoff(1, null, new LdpClientRejectedException("full")));
+        assertEquals(-1, policy.backoff(1, null, new LdpClientTimeoutException("late")));
+        assertEquals(-1, policy.backoff(1, null, new CancellationException()));
+        assertEquals(6, policy.getRetries());
+    }
+
+    @Test
+    void testBudget() {
+        final RetryPolicy policy = RetryPolicy.newBuilder().budget(10).build();
+        for (int i = 0; i < 100; i++) {
+            policy.onRequest();
+        }
+        int sent = 0;
+        while (policy.backoff(1, response(503, Map.of()), null) >= 0) {
+            sent++;
+        }
+        assertEquals(RetryPolicy.MIN_RETRIES + 10, sent);
+        assertEquals(1, policy.getBudgetExhausted());
+    }
+
+    @Test
+    void testRetriedWriteResendsBody() throws Exception {
+        final List<String> bodies = new CopyOnWriteArrayList<>();
+        final AtomicInteger count = new AtomicInteger();
+        // answer the first request with a 503 and later ones with a 204
+        try (StubServer server = StubServer.start((request, out) -> {
+            bodies.add(request.getBody());
+            out.write((count.getAndIncrement() == 0
+                    ? "HTTP/1.1 503 Service Unavailable\r\nContent-Length: 0\r\n\r\n"
+                    : "HTTP/1.1 204 No Content\r\n\r\n").getBytes(UTF_8));
+        })) {
+            final RetryPolicy policy = RetryPolicy.newBuilder().backoff(Duration.ZERO, Duration.ofMillis(10))
+                    .build();
+            final LdpClient client = LdpClientBuilder.newBuilder().retry(policy).version(HTTP_1_1).build();
+            final String body = "<s> <p> \"o\" .";
+            client.put(new JenaRDF().createIRI("http://localhost:" + server.getLocalPort() + "/resource"),
+                    new ByteArrayInputStream(body.getBytes(UTF_8)), "text/turtle");
+            assertEquals(List.of(body, body), bodies);
+            assertEquals(1, policy.getRequests());
+            assertEquals(1, policy.getRetries());
+            client.close();
+        }
+    }
+
+    @Test
+    void testRedirectedWriteResendsBody() throws Exception {
+        final List<String> bodies = new CopyOnWriteArrayList<>();
+        // redirect the first request to another path with a 307, without any retry policy configured
+        try (StubServer server = StubServer.start((request, out) -> {
+            bodies.add(request.getBody());
+            out.write((request.getPath().equals("/resource")
+                    ? "HTTP/1.1 307 Temporary Redirect\r\nLocation: /moved\r\nContent-Length: 0\r\n\r\n"
+                    : "HTTP/1.1 204 No Content\r\n\r\n").getBytes(UTF_8));
+        })) {
+            final LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1).build();
+            final String body = "<s> <p> \"o\" .";
+            client.put(new JenaRDF().createIRI("http://localhost:" + server.getLocalPort() + "/resource"),
+                    new ByteArrayInputStream(body.getBytes(UTF_8)), "text/turtle");
+            assertEquals(List.of(body, body), bodies);
+            client.close();
+        }
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.newBuilder().maxAttempts(0));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.newBuilder().jitter(2));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.newBuilder().budget(-1));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.newBuilder()
+                .backoff(Duration.ofSeconds(2), Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ShardedHttpClientTest.
+ *
+ * @author christopher-johnson
+ */
+class ShardedHttpClientTest {
+
+    @Test
+    void testRoundRobin() throws Exception {
+        final List<Integer> connections = new CopyOnWriteArrayList<>();
+        try (StubServer server = serve(connections)) {
+            final IRI identifier = new JenaRDF().createIRI("http://localhost:" + server.getLocalPort() + "/");
+            final AsyncLdpClientImpl async = (AsyncLdpClientImpl) LdpClientBuilder.newBuilder().version(HTTP_1_1)
+                    .shards(3, ShardStrategy.ROUND_ROBIN).buildAsync();
+            final ShardedHttpClient sharded = (ShardedHttpClient) async.getHttpClient();
+            assertEquals(3, sharded.getShards().size());
+            try (LdpClient client = new LdpClientImpl(async)) {
+                for (int i = 0; i < 6; i++) {
+                    client.head(identifier);
+                }
+            }
+            assertEquals(List.of(2, 2, 2), counts(connections));
+            for (int shard = 0; shard < 3; shard++) {
+                assertEquals(0, sharded.getInFlight(URI.create(identifier.getIRIString()), shard));
+            }
+        }
+    }
+
+    @Test
+    void testLeastLoaded() throws Exception {
+        final List<Integer> connections = new CopyOnWriteArrayList<>();
+        try (StubServer server = serve(connections)) {
+            final IRI identifier = new JenaRDF().createIRI("http://localhost:" + server.getLocalPort() + "/");
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1)
+                    .shards(2, ShardStrategy.LEAST_LOADED).build()) {
+                for (int i = 0; i < 4; i++) {
+                    client.head(identifier);
+                }
+            }
+            assertEquals(List.of(2, 2), counts(connections));
+        }
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> LdpClientBuilder.newBuilder()
+                .shards(0, ShardStrategy.ROUND_ROBIN));
+        assertThrows(IllegalArgumentException.class, () -> LdpClientBuilder.newBuilder().windowSize(1024, 2048));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedHttpClient(List.of(),
+                ShardStrategy.ROUND_ROBIN));
+        assertTrue(LdpClientBuilder.newBuilder().shards(1, ShardStrategy.ROUND_ROBIN).buildAsync()
+                instanceof AsyncLdpClientImpl);
+    }
+
+    @Test
+    void testClose() {
+        final List<ClosingClient> shards = List.of(new ClosingClient(), new ClosingClient());
+        new ShardedHttpClient(List.copyOf(shards), ShardStrategy.ROUND_ROBIN).close();
+        assertTrue(shards.stream().allMatch(shard -> shard.closed));
+    }
+
+    @Test
+    void testShutdown() throws Exception {
+        final AsyncLdpClientImpl async = (AsyncLdpClientImpl) LdpClientBuilder.newBuilder()
+                .shards(2, ShardStrategy.ROUND_ROBIN).buildAsync();
+        final ShardedHttpClient sharded = (ShardedHttpClient) async.getHttpClient();
+        sharded.shutdown();
+        final boolean lifecycle = Runtime.version().feature() >= 21;
+        assertEquals(lifecycle, sharded.awaitTermination(Duration.ofSeconds(5)));
+        assertEquals(lifecycle, sharded.isTerminated());
+        sharded.shutdownNow();
+        async.close();
+    }
+
+    /**
+     * Count the requests served on each connection, in the order the connections were accepted.
+     */
+    private static List<Integer> counts(final List<Integer> connections) {
+        final Map<Integer, Integer> counts = new TreeMap<>();
+        connections.forEach(connection -> counts.merge(connection, 1, Integer::sum));
+        return List.copyOf(counts.values());
+    }
+
+    /**
+     * Answer every request with a 204, recording the connection each request arrived on.
+     */
+    private static StubServer serve(final List<Integer> connections) throws IOException {
+        return StubServer.start((request, out) -> {
+            connections.add(request.getConnection());
+            out.write("HTTP/1.1 204 No Content\r\n\r\n".getBytes(UTF_8));
+        });
+    }
+
+    /**
+     * An HTTP client that fails every request as it is sent and records whether it was closed.
+     */
+    static final class ClosingClient extends HttpClient implements AutoCloseable {
+
+        private final Version version;
+        volatile boolean closed;
+
+        ClosingClient() {
+            this(HTTP_1_1);
+        }
+
+        ClosingClient(final Version version) {
+            this.version = version;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public Optional<CookieHandler> cookieHandler() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Duration> connectTimeout() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Redirect followRedirects() {
+            return Redirect.NEVER;
+        }
+
+        @Override
+        public Optional<ProxySelector> proxy() {
+            return Optional.empty();
+        }
+
+        @Override
+        public SSLContext sslContext() {
+            return null;
+        }
+
+        @Override
+        public SSLParameters sslParameters() {
+            return null;
+        }
+
+        @Override
+        public Optional<Authenticator> authenticator() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Version version() {
+            return version;
+        }
+
+        @Override
+        public Optional<Executor> executor() {
+            return Optional.empty();
+        }
+
+        @Override
+        public <T> HttpResponse<T> send(final HttpRequest req, final HttpResponse.BodyHandler<T> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest req,
+                final HttpResponse.BodyHandler<T> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest req,
+                final HttpResponse.BodyHandler<T> handler, final HttpResponse.PushPromiseHandler<T> push) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_2;
+import static org.apache.jena.arq.riot.WebContent.contentTypeNTriples;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+
+/**
+ * ShardingBenchmarkTest.
+ *
+ * <p>Writes small RDF resources and large binaries over h2c with 1, 2 and 4 client shards, and reports throughput
+ * for each shard count. Enable with {@code -Dtrellis.benchmark=true}.
+ *
+ * @author christopher-johnson
+ */
+@EnabledIfSystemProperty(named = "trellis.benchmark", matches = "true")
+class ShardingBenchmarkTest extends CommonTrellisTest {
+
+    private static final Logger log = getLogger(ShardingBenchmarkTest.class);
+    private static final int[] SHARDS = {1, 2, 4};
+    private static final int SMALL_PUTS = 2000;
+    private static final int SMALL_IN_FLIGHT = 128;
+    private static final int BINARY_PUTS = 32;
+    private static final int BINARY_SIZE = 8 * 1024 * 1024;
+    private static final int BINARY_IN_FLIGHT = 16;
+    private static final String baseUrl = "http://localhost:8446/";
+    private static byte[] triples;
+    private static byte[] binary;
+
+    @BeforeAll
+    static void initAll() throws IOException {
+        APP.before();
+        try (InputStream in = ShardingBenchmarkTest.class.getResourceAsStream("/webanno.complete.nt")) {
+            triples = in.readAllBytes();
+        }
+        binary = new byte[BINARY_SIZE];
+        ThreadLocalRandom.current().nextBytes(binary);
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        APP.after();
+    }
+
+    @DisplayName("SmallRdfPuts")
+    @Test
+    void testSmallPuts() throws Exception {
+        for (final int shards : SHARDS) {
+            run("rdf", shards, SMALL_PUTS, SMALL_IN_FLIGHT, triples, contentTypeNTriples);
+        }
+    }
+
+    @DisplayName("LargeBinaryPuts")
+    @Test
+    void testBinaryPuts() throws Exception {
+        for (final int shards : SHARDS) {
+            run("binary", shards, BINARY_PUTS, BINARY_IN_FLIGHT, binary, "application/octet-stream");
+        }
+    }
+
+    private void run(final String workload, final int shards, final int count, final int maxInFlight,
+            final byte[] body, final String contentType) throws Exception {
+        final String pid = "ldp-shard-" + UUID.randomUUID().toString();
+        final Map<URI, Supplier<InputStream>> bodies = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            bodies.put(URI.create(baseUrl + pid + "-" + i), () -> new ByteArrayInputStream(body));
+        }
+        try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_2)
+                .shards(shards, ShardStrategy.LEAST_LOADED).build()) {
+            final WarmUpResult warmUp = client.warmUp(List.of(URI.create(baseUrl)), shards);
+            assertTrue(warmUp.isSuccess(), () -> "Warm-up failed: " + warmUp);
+            final long start = System.nanoTime();
+            final List<BulkWriteResult> results = client.bulkPut(bodies, contentType, maxInFlight,
+                    BulkWriteListener.NONE);
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            log.info("{} with {} shard(s): {} PUTs in {} s ({} req/s, {} MB/s)", workload, shards, count,
+                    String.format("%.2f", seconds), String.format("%.0f", count / seconds),
+                    String.format("%.1f", (double) count * body.length / seconds / 1e6));
+            assertTrue(results.stream().allMatch(BulkWriteResult::isSuccess), "Not every PUT succeeded");
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * StreamingWriterTest.
+ *
+ * @author christopher-johnson
+ */
+class StreamingWriterTest {
+
+    private static final JenaRDF rdf = new JenaRDF();
+
+    private static BulkWriteResult created(final WriteCommand command) {
+        return BulkWriteResult.response(command.getIdentifier(), 201, null, null, Duration.ZERO);
+    }
+
+    /**
+     * A synchronous publisher of {@code count} commands that records how many were requested.
+     */
+    private static final class CommandSource implements Flow.Publisher<WriteCommand> {
+        private final int count;
+        private final AtomicInteger emitted = new AtomicInteger();
+        private final Throwable failure;
+        private final String base;
+
+        private CommandSource(final int count, final Throwable failure) {
+            this(count, failure, "http://localhost/");
+        }
+
+        private CommandSource(final int count, final Throwable failure, final String base) {
+            this.count = count;
+            this.failure = failure;
+            this.base = base;
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super WriteCommand> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private long requested;
+                private boolean emitting;
+                private boolean done;
+
+                @Override
+                public void request(final long n) {
+                    requested += n;
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (requested > 0 && !done && emitted.get() < count) {
+                        requested--;
+                        final int i = emitted.getAndIncrement();
+                        subscriber.onNext(WriteCommand.put(rdf.createIRI(base + i),
+                                () -> new ByteArrayInputStream(new byte[0]), "text/turtle"));
+                    }
+                    if (!done && emitted.get() == count) {
+                        done = true;
+                        if (failure != null) {
+                            subscriber.onError(failure);
+                        } else {
+                            subscriber.onComplete();
+                        }
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    done = true;
+                }
+            });
+        }
+    }
+
+    /**
+     * A subscriber that collects results, requesting {@code batch} at a time.
+     */
+    private static final class Collector implements Flow.Subscriber<BulkWriteResult> {
+        private final List<BulkWriteResult> results = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<List<BulkWriteResult>> done = new CompletableFuture<>();
+        private final long initial;
+        private final boolean more;
+        private Flow.Subscription subscription;
+
+        private Collector(final long initial, final boolean more) {
+            this.initial = initial;
+            this.more = more;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initial);
+        }
+
+        @Override
+        public void onNext(final BulkWriteResult item) {
+            results.add(item);
+            if (more) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(results);
+        }
+    }
+
+    @Test
+    void testDemandLimitsUpstream() {
+        final CommandSource source = new CommandSource(1000, null);
+        final Collector collector = new Collector(3, false);
+        new StreamingWriter(source, command -> completedFuture(created(command)), 16).subscribe(collector);
+        assertEquals(3, collector.results.size());
+        assertEquals(3, source.emitted.get());
+        assertTrue(!collector.done.isDone());
+        collector.subscription.cancel();
+    }
+
+    @Test
+    void testBoundedConcurrency() throws Exception {
+        final ExecutorService exec = Executors.newFixedThreadPool(16);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxSeen = new AtomicInteger();
+        try {
+            final CommandSource source = new CommandSource(300, null);
+            final Collector collector = new Collector(Long.MAX_VALUE, false);
+            new StreamingWriter(source, command -> {
+                maxSeen.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return CompletableFuture.supplyAsync(() -> {
+                    inFlight.decrementAndGet();
+                    return created(command);
+                }, exec);
+            }, 8).subscribe(collector);
+            assertEquals(300, collector.done.get(30, TimeUnit.SECONDS).size());
+            assertTrue(maxSeen.get() <= 8);
+        } finally {
+            exec.shutdown();
+        }
+    }
+
+    @Test
+    void testCancelAbortsWrites() throws Exception {
+        final PriorityLanes lanes = PriorityLanes.newBuilder().lane(Lane.BACKGROUND, 2, 0).build();
+        try (ServerSocket stalled = new ServerSocket(0)) {
+            final AsyncLdpClient client = LdpClientBuilder.newBuilder().priorityLanes(lanes).lane(Lane.BACKGROUND)
+                    .buildAsync();
+            final CommandSource source = new CommandSource(10, null, "http://localhost:" + stalled.getLocalPort()
+                    + "/");
+            final Collector collector = new Collector(Long.MAX_VALUE, false);
+            client.bulkWrite(source, 2).subscribe(collector);
+            assertEquals(2, source.emitted.get());
+            assertEquals(2, lanes.getInFlight(Lane.BACKGROUND));
+            collector.subscription.cancel();
+            assertEquals(0, lanes.getInFlight(Lane.BACKGROUND));
+            assertTrue(collector.results.isEmpty());
+            client.closeAsync(Duration.ZERO).get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testUpstreamErrorAfterResults() {
+        final CommandSource source = new CommandSource(5, new IllegalStateException("source failed"));
+        final Collector collector = new Collector(1, true);
+        new StreamingWriter(source, command -> completedFuture(created(command)), 2).subscribe(collector);
+        assertTrue(collector.done.isCompletedExceptionally());
+        assertEquals(5, collector.results.size());
+    }
+
+    @Test
+    void testSingleSubscriber() {
+        final StreamingWriter writer = new StreamingWriter(new CommandSource(1, null),
+                command -> completedFuture(created(command)), 1);
+        final Collector first = new Collector(Long.MAX_VALUE, false);
+        final Collector second = new Collector(Long.MAX_VALUE, false);
+        writer.subscribe(first);
+        writer.subscribe(second);
+        assertEquals(1, first.done.join().size());
+        assertTrue(second.done.isCompletedExceptionally());
+    }
+
+    @Test
+    void testInvalidDemand() {
+        final Collector collector = new Collector(0, false);
+        new StreamingWriter(new CommandSource(1, null), command -> completedFuture(created(command)), 1)
+                .subscribe(collector);
+        assertTrue(collector.done.isCompletedExceptionally());
+    }
+
+    @Test
+    void testInvalidMaxInFlight() {
+        final CommandSource source = new CommandSource(1, null);
+        final Collector collector = new Collector(Long.MAX_VALUE, false);
+        new StreamingWriter(source, command -> completedFuture(created(command)), 0).subscribe(collector);
+        assertTrue(collector.done.isCompletedExceptionally());
+        assertEquals(0, source.emitted.get());
+    }
+}
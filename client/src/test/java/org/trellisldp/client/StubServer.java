@@ -0,0 +1,244 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A raw-socket HTTP/1.1 server for tests that need to see exactly what the client sends, or to answer in ways a
+ * real server would not: every request on every connection is read, body included, and handed to a
+ * {@link Handler} that writes the raw response.
+ *
+ * @author christopher-johnson
+ */
+final class StubServer implements AutoCloseable {
+
+    private final ServerSocket server;
+    private final Handler handler;
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private StubServer(final Handler handler) throws IOException {
+        this.server = new ServerSocket(0);
+        this.handler = handler;
+    }
+
+    /**
+     * start.
+     *
+     * @param handler the handler that answers each request
+     * @return a server accepting connections on a free local port
+     * @throws IOException if the server socket cannot be opened
+     */
+    static StubServer start(final Handler handler) throws IOException {
+        final StubServer stub = new StubServer(handler);
+        new Thread(stub::accept).start();
+        return stub;
+    }
+
+    /**
+     * getLocalPort.
+     *
+     * @return the local port
+     */
+    int getLocalPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * uri.
+     *
+     * @param path an absolute path
+     * @return the URL of the path on this server
+     */
+    URI uri(final String path) {
+        return URI.create("http://localhost:" + getLocalPort() + path);
+    }
+
+    /**
+     * getConnections.
+     *
+     * @return the number of connections accepted so far
+     */
+    int getConnections() {
+        return connections.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                final Socket socket = server.accept();
+                final int connection = connections.getAndIncrement();
+                new Thread(() -> serve(socket, connection)).start();
+            } catch (IOException ex) {
+                // server closed
+            }
+        }
+    }
+
+    private void serve(final Socket socket, final int connection) {
+        try (Socket s = socket; InputStream in = new BufferedInputStream(s.getInputStream());
+                OutputStream out = s.getOutputStream()) {
+            String line;
+            while ((line = readLine(in)) != null) {
+                final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                String header;
+                while ((header = readLine(in)) != null && !header.isEmpty()) {
+                    final int colon = header.indexOf(':');
+                    headers.putIfAbsent(header.substring(0, colon).trim(), header.substring(colon + 1).trim());
+                }
+                handler.handle(new Request(line, headers, readBody(in, headers), connection), out);
+                out.flush();
+            }
+        } catch (IOException | InterruptedException ex) {
+            // connection closed or test finished
+        }
+    }
+
+    private static byte[] readBody(final InputStream in, final Map<String, String> headers) throws IOException {
+        if ("chunked".equalsIgnoreCase(headers.get("Transfer-Encoding"))) {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            for (int size = Integer.parseInt(readLine(in).trim(), 16); size > 0;
+                    size = Integer.parseInt(readLine(in).trim(), 16)) {
+                body.write(in.readNBytes(size));
+                readLine(in);
+            }
+            readLine(in);
+            return body.toByteArray();
+        }
+        return in.readNBytes(Integer.parseInt(headers.getOrDefault("Content-Length", "0")));
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return b == -1 && line.size() == 0 ? null : line.toString(ISO_8859_1);
+    }
+
+    /**
+     * Answers one request by writing a raw HTTP/1.1 response, status line included. Writing nothing leaves the
+     * request unanswered.
+     */
+    @FunctionalInterface
+    interface Handler {
+
+        /**
+         * handle.
+         *
+         * @param request the request
+         * @param out     the stream of the connection
+         * @throws IOException          if the response cannot be written
+         * @throws InterruptedException if interrupted while delaying the response
+         */
+        void handle(Request request, OutputStream out) throws IOException, InterruptedException;
+    }
+
+    /**
+     * A request as it was read from the connection.
+     */
+    static final class Request {
+
+        private final String line;
+        private final Map<String, String> headers;
+        private final byte[] body;
+        private final int connection;
+
+        private Request(final String line, final Map<String, String> headers, final byte[] body,
+                final int connection) {
+            this.line = line;
+            this.headers = headers;
+            this.body = body;
+            this.connection = connection;
+        }
+
+        /**
+         * getLine.
+         *
+         * @return the request line without the protocol version, such as {@code GET /resource}
+         */
+        String getLine() {
+            return line.substring(0, line.lastIndexOf(' '));
+        }
+
+        /**
+         * getMethod.
+         *
+         * @return the request method
+         */
+        String getMethod() {
+            return line.substring(0, line.indexOf(' '));
+        }
+
+        /**
+         * getPath.
+         *
+         * @return the request target
+         */
+        String getPath() {
+            return line.split(" ")[1];
+        }
+
+        /**
+         * getHeader.
+         *
+         * @param name a header name, matched ignoring case
+         * @return the first value of the header, if present
+         */
+        Optional<String> getHeader(final String name) {
+            return Optional.ofNullable(headers.get(name));
+        }
+
+        /**
+         * getBody.
+         *
+         * @return the request body, decoded as UTF-8
+         */
+        String getBody() {
+            return new String(body, UTF_8);
+        }
+
+        /**
+         * getConnection.
+         *
+         * @return the index of the connection the request arrived on, in the order connections were accepted
+         */
+        int getConnection() {
+            return connection;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trellisldp.client;
+
+import static java.net.http.HttpClient.Version.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * WarmUpTest.
+ *
+ * @author christopher-johnson
+ */
+class WarmUpTest {
+
+    @Test
+    void testWarmUp() throws Exception {
+        final int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        // answer every request with a 204 after a short delay, so that concurrent requests overlap
+        try (StubServer server = StubServer.start((request, out) -> {
+            requests.add(request.getLine());
+            Thread.sleep(50);
+            out.write("HTTP/1.1 204 No Content\r\n\r\n".getBytes(UTF_8));
+        })) {
+            final URI live = server.uri("/");
+            final URI dead = URI.create("http://localhost:" + closedPort + "/");
+            final List<String> intercepted = new CopyOnWriteArrayList<>();
+            try (LdpClient client = LdpClientBuilder.newBuilder().version(HTTP_1_1)
+                    .interceptor(new Interceptor() {
+                        @Override
+                        public <T> CompletableFuture<HttpResponse<T>> intercept(final Chain<T> chain) {
+                            intercepted.add(chain.request().method());
+                            return chain.proceed(chain.request());
+                        }
+                    }).build()) {
+                final WarmUpResult result = client.warmUp(List.of(live, dead), 3);
+                assertEquals(List.of(live, dead), result.getHosts());
+                assertEquals(3, result.getValidated(live));
+                assertFalse(result.getError(live).isPresent());
+                assertEquals(0, result.getValidated(dead));
+                assertTrue(result.getError(dead).isPresent());
+                assertFalse(result.isSuccess());
+                assertFalse(result.getDuration().isNegative());
+                assertEquals(List.of("OPTIONS /", "OPTIONS /", "OPTIONS /"), requests);
+                assertEquals(2, server.getConnections());
+                assertEquals(List.of("OPTIONS", "OPTIONS", "OPTIONS", "OPTIONS"), intercepted);
+            }
+        }
+    }
+
+    @Test
+    void testClosedClient() throws Exception {
+        final LdpClient client = LdpClientBuilder.newBuilder().build();
+        client.close();
+        final WarmUpResult result = client.warmUp(List.of(URI.create("http://localhost/")), 1);
+        assertTrue(result.getError(URI.create("http://localhost/")).get() instanceof LdpClientRejectedException);
+        final LdpClientException ex = assertThrows(LdpClientException.class, () -> client.warmUp(List.of(), 0));
+        assertTrue(ex.getCause() instanceof IllegalArgumentException);
+        assertTrue(client.async().warmUp(List.of(), 0).isCompletedExceptionally());
+    }
+}